@@ -1,11 +1,12 @@
 # app.py  (LEAN + YOLO fallback only when bbox missing)
-import os, io, time
+import os, io, time, base64
 from typing import Dict, List, Optional
 
 import numpy as np
 from PIL import Image
 from fastapi import FastAPI, UploadFile, File, Form, Header, HTTPException
 from fastapi.responses import JSONResponse
+from pydantic import BaseModel
 
 import torch
 import faiss
@@ -81,6 +82,23 @@ def embed_pil(pil: Image.Image) -> np.ndarray:
     e = e / e.norm(dim=-1, keepdim=True)
     return e.squeeze(0).detach().cpu().numpy().astype("float32")  # (512,)
 
+EMBED_BATCH = int(os.getenv("EMBED_BATCH", "32"))  # 배치 임베딩 한 번의 forward 크기
+
+@torch.no_grad()
+def embed_pils(pils: List[Image.Image]) -> np.ndarray:
+    # 여러 크롭을 forward 묶음으로 임베딩 → (N, 512)
+    out = []
+    for i in range(0, len(pils), EMBED_BATCH):
+        t = torch.stack([clip_preprocess(p) for p in pils[i:i + EMBED_BATCH]]).to(device)
+        e = clip_model.encode_image(t)
+        e = e / e.norm(dim=-1, keepdim=True)
+        out.append(e.detach().cpu().numpy().astype("float32"))
+    return np.concatenate(out, axis=0) if out else np.zeros((0, DIM), "float32")
+
+def vec_b64(v: np.ndarray) -> str:
+    # float32 little-endian 바이트 → base64 (백엔드 로컬 임베딩 저장소/검색용)
+    return base64.b64encode(np.asarray(v, dtype="<f4").tobytes()).decode("ascii")
+
 # =========================
 # 크롭 & 보안 유틸
 # =========================
@@ -224,6 +242,62 @@ async def index_add_path(
 
     return {"ok": True, "id": image_id, "w_face": w_face}
 
+# ---------- 인덱싱 (경로, 배치) ----------
+class IndexBatchItem(BaseModel):
+    image_id: int
+    species: str                  # "dog" | "cat"
+    path: str                     # "/images/xxx.jpg" or "/data/images/xxx.jpg"
+    breed_eng: Optional[str] = None
+    xmin: Optional[int] = None
+    ymin: Optional[int] = None
+    xmax: Optional[int] = None
+    ymax: Optional[int] = None
+
+class IndexBatchReq(BaseModel):
+    items: List[IndexBatchItem]
+
+@app.post("/index/add_path_batch")
+def index_add_path_batch(req: IndexBatchReq, x_service_token: Optional[str] = Header(None)):
+    """여러 이미지를 한 번에 인덱싱 (항목별 성공/실패를 따로 반환, 한 장 실패가 전체를 막지 않음)"""
+    _check_token(x_service_token)
+
+    results, ok_items, bodies, faces = [], [], [], []
+    for it in req.items:
+        species = it.species.lower()
+        if species not in ("dog", "cat"):
+            results.append({"id": it.image_id, "ok": False, "msg": "species must be dog or cat"})
+            continue
+        if it.image_id in V_BODY:
+            # 재시도(at-least-once)로 다시 온 항목: 이미 인덱스에 있으므로 중복 추가하지 않음
+            results.append({"id": it.image_id, "ok": True, "msg": "already indexed",
+                            "body": vec_b64(V_BODY[it.image_id]), "face": vec_b64(V_FACE[it.image_id])})
+            continue
+        try:
+            img = Image.open(_resolve_path(it.path)).convert("RGB")
+            bxmin, bymin, bxmax, bymax = decide_bbox(img, species, it.xmin, it.ymin, it.xmax, it.ymax)
+            fxmin, fymin, fxmax, fymax = face_like(bxmin, bymin, bxmax, bymax, 0.65)
+            bodies.append(img.crop((bxmin, bymin, bxmax, bymax)))
+            faces.append(img.crop((fxmin, fymin, fxmax, fymax)))
+            ok_items.append((it.image_id, species))
+        except HTTPException as e:
+            results.append({"id": it.image_id, "ok": False, "msg": str(e.detail)})
+        except Exception as e:
+            results.append({"id": it.image_id, "ok": False, "msg": str(e)})
+
+    VB, VF = embed_pils(bodies), embed_pils(faces)
+    for species in ("dog", "cat"):
+        rows = [i for i, (_, sp) in enumerate(ok_items) if sp == species]
+        if not rows:
+            continue
+        ids = np.array([ok_items[i][0] for i in rows], np.int64)
+        IDX[species]["body"].add_with_ids(VB[rows], ids)
+        IDX[species]["face"].add_with_ids(VF[rows], ids)
+    for i, (image_id, _) in enumerate(ok_items):
+        V_BODY[image_id], V_FACE[image_id] = VB[i], VF[i]
+        results.append({"id": image_id, "ok": True, "body": vec_b64(VB[i]), "face": vec_b64(VF[i])})
+
+    return {"ok": True, "results": results}
+
 # ---------- 인덱싱 (바이너리) ----------
 @app.post("/index/add")
 async def index_add(
@@ -259,6 +333,23 @@ async def index_add(
 
     return {"ok": True, "id": image_id, "w_face": w_face}
 
+# ---------- 인덱스 제거 ----------
+class IndexRemoveReq(BaseModel):
+    ids: List[int]
+
+@app.post("/index/remove")
+def index_remove(req: IndexRemoveReq, x_service_token: Optional[str] = Header(None)):
+    """삭제된 이미지 제거 (없는 id 는 무시, 멱등)
+    HNSW 는 노드 삭제를 지원하지 않아 그래프에는 남지만, 검색은 V_BODY 에 없는 id 를 건너뛰므로 결과에 나오지 않음
+    (그래프는 메모리만이라 재시작 시 함께 비워짐)"""
+    _check_token(x_service_token)
+    removed = 0
+    for image_id in req.ids:
+        if V_BODY.pop(image_id, None) is not None:
+            removed += 1
+        V_FACE.pop(image_id, None)
+    return {"ok": True, "removed": removed}
+
 # ---------- 검색 (경로) ----------
 @app.post("/search_path")
 async def search_path(
@@ -272,6 +363,7 @@ async def search_path(
     ymin: Optional[int] = Form(None),
     xmax: Optional[int] = Form(None),
     ymax: Optional[int] = Form(None),
+    allow_ids: Optional[str] = Form(None),  # "1,2,3" (백엔드가 위치/기간으로 좁힌 후보), 주면 그 안에서만 정확 계산
     x_service_token: Optional[str] = Header(None),
 ):
     _check_token(x_service_token)
@@ -287,10 +379,13 @@ async def search_path(
     face = img.crop((fxmin, fymin, fxmax, fymax))
 
     vb, vf = embed_pil(body), embed_pil(face)
-    D_b, I_b = IDX[species]["body"].search(vb.reshape(1,-1), topk)
-    D_f, I_f = IDX[species]["face"].search(vf.reshape(1,-1), topk)
-
-    cand = set(I_b[0].tolist()) | set(I_f[0].tolist())
+    if allow_ids is not None:
+        # 후보가 정해져 있으면 ANN 없이 저장된 벡터로 바로 계산 (후보 밖 이미지는 보지 않음)
+        cand = {int(x) for x in allow_ids.split(",") if x.strip()}
+    else:
+        D_b, I_b = IDX[species]["body"].search(vb.reshape(1,-1), topk)
+        D_f, I_f = IDX[species]["face"].search(vf.reshape(1,-1), topk)
+        cand = set(I_b[0].tolist()) | set(I_f[0].tolist())
     fused = []
     for cid in cand:
         if cid == -1 or cid not in V_BODY:
@@ -299,7 +394,9 @@ async def search_path(
         sf = float(np.dot(vf, V_FACE[cid]))
         fused.append({"id": int(cid), "score": w_face*sf + (1-w_face)*sb})
     fused.sort(key=lambda x: x["score"], reverse=True)
-    return {"ok": True, "results": fused[:topk]}
+    # 질의 임베딩도 돌려줌 → 백엔드 로컬 인덱스 검색과 병합 (이 서비스 인덱스는 메모리만이라 재시작 시 비어 있음)
+    return {"ok": True, "results": fused[:topk], "w_face": w_face,
+            "query": {"body": vec_b64(vb), "face": vec_b64(vf)}}
 
 # ---------- 검색 (바이너리) ----------
 @app.post("/search")
@@ -0,0 +1,244 @@
+package com.minjeok4go.petplace.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minjeok4go.petplace.common.constant.NotificationType;
+import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.entity.FeedTag;
+import com.minjeok4go.petplace.feed.entity.Tag;
+import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
+import com.minjeok4go.petplace.feed.repository.TagRepository;
+import com.minjeok4go.petplace.notification.entity.Notification;
+import com.minjeok4go.petplace.notification.repository.NotificationRepository;
+import com.minjeok4go.petplace.notification.service.NotificationBatchWriter.Draft;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDENTITY 테이블 INSERT 비교: JPA saveAll (기존) vs JdbcTemplate 배치 (현재).
+ * - feed_tags: 태그 엔티티 조회 + saveAll (기존 FeedService.syncTags) vs INSERT IGNORE 배치 1번
+ * - notification: saveAll vs NotificationBatchWriter.insertAll (생성 id 반환 포함)
+ * - 결과의 rows 보조 지표가 행/초 (rewriteBatchedStatements=true 는 application.yml 과 동일)
+ *
+ * 실제 MySQL 이 필요합니다. 스키마(data/DB_SQL/table list.sql)를 올린 벤치마크용 DB 를 쓰고,
+ * 접속 정보는 애플리케이션과 같은 환경 변수(DB_HOST, DB_PORT, DB_NAME, DB_USER, DB_PASSWORD)로 줍니다.
+ * users / regions 에 행이 하나 이상 있어야 하며, 벤치마크용 피드/태그/알림은 종료 시 지웁니다.
+ * - 실행: DB_HOST=... ./gradlew jmh -PjmhIncludes=IdentityBatchInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdentityBatchInsertBenchmark {
+
+    private static final String MARKER = "jmh-batch-insert";
+    private static final String FEED_TAG_INSERT_SQL =
+            "INSERT IGNORE INTO feed_tags (feed_id, tag_id, feed_created_at) VALUES (?, ?, ?)";
+
+    @Param({"20", "200"})
+    int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate tx;
+    private TagRepository tagRepository;
+    private FeedTagRepository feedTagRepository;
+    private NotificationRepository notificationRepository;
+    private NotificationBatchWriter notificationBatchWriter;
+
+    private long userId;
+    private long feedId;
+    private LocalDateTime feedCreatedAt;
+    private List<Long> tagIds;
+
+    /** 호출마다 넣은 행 수 → JMH 가 초당 값(rows/s)으로 보고 */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BenchConfig.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tagRepository = context.getBean(TagRepository.class);
+        feedTagRepository = context.getBean(FeedTagRepository.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        notificationBatchWriter = context.getBean(NotificationBatchWriter.class);
+
+        Long uid = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        Long regionId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM regions", Long.class);
+        if (uid == null || regionId == null) {
+            throw new IllegalStateException("벤치마크 DB 의 users / regions 에 행이 필요합니다.");
+        }
+        userId = uid;
+
+        jdbcTemplate.update(
+                "INSERT INTO feeds (content, user_id, user_nick, region_id, category) VALUES (?, ?, ?, ?, 'ANY')",
+                MARKER, userId, MARKER, regionId);
+        feedId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM feeds WHERE content = ? AND user_id = ?", Long.class, MARKER, userId);
+        feedCreatedAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM feeds WHERE id = ?", LocalDateTime.class, feedId);
+
+        List<Object[]> tagNames = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) tagNames.add(new Object[]{MARKER + "-" + i});
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO tags (name) VALUES (?)", tagNames);
+        tagIds = jdbcTemplate.queryForList(
+                "SELECT id FROM tags WHERE name LIKE ? ORDER BY id LIMIT ?", Long.class, MARKER + "-%", rows);
+    }
+
+    /** 매 호출 전 벤치마크 피드의 태그를 비워 두 경로 모두 같은 빈 상태에서 rows 개를 넣음 */
+    @Setup(Level.Invocation)
+    public void clearFeedTags() {
+        jdbcTemplate.update("DELETE FROM feed_tags WHERE feed_id = ?", feedId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            jdbcTemplate.update("DELETE FROM notification WHERE target_user_id = ? AND title = ?", userId, MARKER);
+            jdbcTemplate.update("DELETE FROM feeds WHERE id = ?", feedId);
+            jdbcTemplate.update("DELETE FROM tags WHERE name LIKE ?", MARKER + "-%");
+        } finally {
+            context.close();
+        }
+    }
+
+    /** 기존 syncTags: 태그 엔티티 조회 후 FeedTag 를 saveAll (복합키라 행마다 merge SELECT + INSERT) */
+    @Benchmark
+    public void feedTagsSaveAll(RowCounter counter) {
+        tx.executeWithoutResult(s -> {
+            List<Tag> tags = tagRepository.findByIdIn(tagIds);
+            List<FeedTag> feedTags = tags.stream()
+                    .map(tag -> new FeedTag(new Feed(feedId), tag, feedCreatedAt))
+                    .toList();
+            feedTagRepository.saveAll(feedTags);
+        });
+        counter.rows += tagIds.size();
+    }
+
+    /** 현재 syncTags: INSERT IGNORE JDBC 배치 1번 */
+    @Benchmark
+    public void feedTagsJdbcBatch(RowCounter counter) {
+        Timestamp createdAt = Timestamp.valueOf(feedCreatedAt);
+        tx.executeWithoutResult(s -> jdbcTemplate.batchUpdate(FEED_TAG_INSERT_SQL, tagIds, tagIds.size(),
+                (ps, tagId) -> {
+                    ps.setLong(1, feedId);
+                    ps.setLong(2, tagId);
+                    ps.setTimestamp(3, createdAt);
+                }));
+        counter.rows += tagIds.size();
+    }
+
+    /** 기존 알림 저장: IDENTITY 라 Hibernate 배치가 꺼져 행마다 INSERT */
+    @Benchmark
+    public void notificationSaveAll(RowCounter counter) {
+        List<Notification> notifications = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            notifications.add(new Notification(userId, NotificationType.COMMENT, RefType.FEED, feedId,
+                    MARKER, "body-" + i, Map.of("feedId", String.valueOf(feedId))));
+        }
+        tx.executeWithoutResult(s -> notificationRepository.saveAll(notifications));
+        counter.rows += rows;
+    }
+
+    /** 현재 알림 저장: NotificationBatchWriter (JDBC 배치 + 생성 id 회수) */
+    @Benchmark
+    public List<Long> notificationJdbcBatch(RowCounter counter) {
+        List<Draft> drafts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            drafts.add(new Draft(userId, NotificationType.COMMENT, RefType.FEED, feedId,
+                    MARKER, "body-" + i, Map.of("feedId", String.valueOf(feedId))));
+        }
+        List<Long> ids = notificationBatchWriter.insertAll(drafts);
+        counter.rows += ids.size();
+        return ids;
+    }
+
+    /** 애플리케이션 전체 대신 JPA/JDBC 만 올리는 최소 컨텍스트 (application.yml 의 datasource / hibernate 설정과 동일) */
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaAuditing
+    @EnableJpaRepositories(
+            basePackageClasses = {TagRepository.class, NotificationRepository.class},
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {TagRepository.class, FeedTagRepository.class, NotificationRepository.class}))
+    @Import(NotificationBatchWriter.class)
+    static class BenchConfig {
+
+        @Bean(destroyMethod = "close")
+        DataSource dataSource() {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setJdbcUrl("jdbc:mysql://" + env("DB_HOST", "localhost") + ":" + env("DB_PORT", "3306") + "/"
+                    + env("DB_NAME", "petplace")
+                    + "?useSSL=false&serverTimezone=Asia/Seoul&characterEncoding=UTF-8"
+                    + "&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true");
+            ds.setUsername(env("DB_USER", "root"));
+            ds.setPassword(env("DB_PASSWORD", ""));
+            ds.setMaximumPoolSize(4);
+            return ds;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+            emf.setDataSource(dataSource);
+            emf.setPackagesToScan("com.minjeok4go.petplace");
+            emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            Properties props = new Properties();
+            props.setProperty("hibernate.hbm2ddl.auto", "none");
+            props.setProperty("hibernate.jdbc.batch_size", "100");
+            props.setProperty("hibernate.order_inserts", "true");
+            props.setProperty("hibernate.order_updates", "true");
+            emf.setJpaProperties(props);
+            return emf;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
+            return new JpaTransactionManager(emf);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        private static String env(String name, String def) {
+            String v = System.getenv(name);
+            return (v == null || v.isBlank()) ? def : v;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.minjeok4go.petplace.user.service;
+
+import com.minjeok4go.petplace.common.constant.Animal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.minjeok4go.petplace.user.service.CBFRecommendationService.*;
+
+/**
+ * 그룹 점수 계산 비교: 기존 경로(그룹마다 HashMap + Period + Set/String 비교) vs FeedScoringKernel.
+ * - 후보 200개 × 그룹 N개, 같은 난수 시드로 생성한 동일 입력
+ * - 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FeedScoringKernelBenchmark {
+
+    private static final String[] REGIONS = {"역삼동", "삼성동", "대치동", "논현동", "서초동", "방배동"};
+    private static final Animal[] ANIMALS = Animal.values();
+
+    @Param({"200"})
+    int candidates;
+
+    @Param({"500"})
+    int groups;
+
+    private LocalDate today;
+
+    // 기존 경로 입력 (엔티티에서 바로 꺼내던 값들)
+    private long[] feedIds;
+    private int[] likes;
+    private int[] comments;
+    private LocalDateTime[] createdAt;
+    private LocalDate[] writerBirthday;
+    private String[] writerRegionName;
+    private List<Set<Animal>> writerAnimals;
+
+    private Set<Animal>[] groupAnimals;
+    private int[] groupAgeGroup;
+    private String[] groupRegionName;
+
+    // 커널 경로 입력
+    private FeedScoringKernel.Encoded encoded;
+    private int[] groupAnimalMask;
+    private long[] groupRegionCode;
+    private int newSinceEpochDay;
+    private double[] scoreBuffer;
+    private int[] topBuffer;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random rnd = new Random(42);
+        today = LocalDate.now();
+
+        feedIds = new long[candidates];
+        likes = new int[candidates];
+        comments = new int[candidates];
+        createdAt = new LocalDateTime[candidates];
+        writerBirthday = new LocalDate[candidates];
+        writerRegionName = new String[candidates];
+        writerAnimals = new ArrayList<>(candidates);
+
+        encoded = new FeedScoringKernel.Encoded(candidates);
+        for (int i = 0; i < candidates; i++) {
+            feedIds[i] = 10_000L + i;
+            likes[i] = rnd.nextInt(500);
+            comments[i] = rnd.nextInt(80);
+            createdAt[i] = today.atStartOfDay().minusHours(rnd.nextInt(24 * 7));
+            writerBirthday[i] = today.minusYears(15 + rnd.nextInt(50)).minusDays(rnd.nextInt(365));
+            int region = rnd.nextInt(REGIONS.length);
+            writerRegionName[i] = REGIONS[region];
+            Set<Animal> animals = randomAnimals(rnd);
+            writerAnimals.add(animals);
+
+            int ageGroup = (Period.between(writerBirthday[i], today).getYears() / 10) * 10;
+            encoded.add(feedIds[i], likes[i], comments[i], ageGroup, region,
+                    FeedFeature.animalMask(animals), (int) createdAt[i].toLocalDate().toEpochDay());
+        }
+
+        groupAnimals = new Set[groups];
+        groupAgeGroup = new int[groups];
+        groupRegionName = new String[groups];
+        groupAnimalMask = new int[groups];
+        groupRegionCode = new long[groups];
+        for (int g = 0; g < groups; g++) {
+            groupAnimals[g] = randomAnimals(rnd);
+            groupAgeGroup[g] = 10 + rnd.nextInt(6) * 10;
+            int region = rnd.nextInt(REGIONS.length);
+            groupRegionName[g] = REGIONS[region];
+            groupAnimalMask[g] = FeedFeature.animalMask(groupAnimals[g]);
+            groupRegionCode[g] = region;
+        }
+
+        newSinceEpochDay = (int) today.minusDays(2).toEpochDay();
+        scoreBuffer = new double[candidates];
+        topBuffer = new int[candidates];
+    }
+
+    private static Set<Animal> randomAnimals(Random rnd) {
+        Set<Animal> s = EnumSet.noneOf(Animal.class);
+        int n = rnd.nextInt(3);
+        for (int k = 0; k < n; k++) s.add(ANIMALS[rnd.nextInt(ANIMALS.length)]);
+        return s;
+    }
+
+    /** 기존 computeScoresForGroup + calculateScore 와 동일한 연산 */
+    @Benchmark
+    public void legacyMapPath(Blackhole bh) {
+        for (int g = 0; g < groups; g++) {
+            Map<Long, Double> scores = new HashMap<>(candidates);
+            for (int i = 0; i < candidates; i++) {
+                int writerAgeGroup = (Period.between(writerBirthday[i], today).getYears() / 10) * 10;
+                double score = 0;
+                score += likes[i] * WEIGHT_LIKE;
+                score += comments[i] * WEIGHT_COMMENT;
+                Set<Animal> writerSet = writerAnimals.get(i);
+                if (!groupAnimals[g].isEmpty() && !writerSet.isEmpty()
+                        && groupAnimals[g].stream().anyMatch(writerSet::contains)) {
+                    score += WEIGHT_SAME_ANIMAL_WRITER;
+                }
+                if (writerAgeGroup == groupAgeGroup[g]) score += WEIGHT_SAME_AGE;
+                if (writerRegionName[i].equals(groupRegionName[g])) score += WEIGHT_SAME_REGION;
+                if (createdAt[i].isAfter(today.minusDays(2).atStartOfDay())) score += WEIGHT_NEW_FEED;
+                scores.put(feedIds[i], score);
+            }
+            bh.consume(scores);
+        }
+    }
+
+    @Benchmark
+    public void kernelPath(Blackhole bh) {
+        for (int g = 0; g < groups; g++) {
+            FeedScoringKernel.score(encoded, groupAnimalMask[g], groupAgeGroup[g], groupRegionCode[g],
+                    newSinceEpochDay, scoreBuffer);
+            bh.consume(scoreBuffer);
+        }
+    }
+
+    /** 조회 경로: 점수 계산 + 상위 60개 선택 (기존: 박싱 Map + stream sorted) */
+    @Benchmark
+    public void kernelScoreAndTopK(Blackhole bh) {
+        FeedScoringKernel.score(encoded, groupAnimalMask[0], groupAgeGroup[0], groupRegionCode[0],
+                newSinceEpochDay, scoreBuffer);
+        bh.consume(FeedScoringKernel.topK(scoreBuffer, candidates, 60, topBuffer));
+        bh.consume(topBuffer);
+    }
+}
@@ -60,6 +60,9 @@ public class SecurityConfig {
                                 // 추천 API
                                 "/api/recommend/group", "/api/recommend/batch",
 
+                                // 내부 운영 API (컨트롤러에서 X-Service-Token 검증)
+                                "/api/internal/ai-jobs/**",
+
                                 // 파일 업로드 및 조회
                                 "/api/upload/images",
                                 "/images/**",
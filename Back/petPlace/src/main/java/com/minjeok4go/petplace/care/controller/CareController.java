@@ -53,9 +53,11 @@ public class CareController {
     @GetMapping("/{id}")
     @Operation(summary = "돌봄/산책 요청 상세 조회", description = "특정 돌봄/산책 요청의 상세 정보를 조회합니다.")
     public ApiResponse<CareResponseDto> getCare(
-            @Parameter(description = "돌봄/산책 요청 ID") @PathVariable Long id) {
+            @Parameter(description = "돌봄/산책 요청 ID") @PathVariable Long id,
+            Authentication authentication) {
 
-        CareResponseDto response = careService.getCare(id);
+        Long userId = getUserIdFromAuthentication(authentication);
+        CareResponseDto response = careService.getCare(id, userId);
         return ApiResponse.success(response);
     }
 
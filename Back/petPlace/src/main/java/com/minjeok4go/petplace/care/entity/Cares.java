@@ -101,10 +101,6 @@ public class Cares {
         this.deletedAt = LocalDateTime.now();
     }
 
-    public void increaseViews() {
-        this.views++;
-    }
-
     public enum CareCategory {
         WALK_WANT("산책 구인"),     // 산책시켜줄 사람 구함
         WALK_REQ("산책견 구인"),    // 산책시킬 강아지 구함
@@ -17,9 +17,8 @@ import com.minjeok4go.petplace.user.repository.UserRepository;
 import com.minjeok4go.petplace.image.service.ImageService;
 import com.minjeok4go.petplace.image.dto.ImageRequest;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
-import com.minjeok4go.petplace.image.entity.Image;
-import com.minjeok4go.petplace.image.repository.ImageRepository;
 import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.common.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -41,7 +40,7 @@ public class CareService {
     private final PetRepository petRepository;
     private final RegionRepository regionRepository;
     private final ImageService imageService;
-    private final ImageRepository imageRepository; // 이미지 업데이트용
+    private final ViewCountService viewCountService;
 
     /**
      * 돌봄/산책 요청 등록
@@ -94,19 +93,21 @@ public class CareService {
     }
 
     /**
-     * 돌봄/산책 요청 상세 조회
+     * 돌봄/산책 요청 상세 조회 (읽기 전용)
+     * - 조회수는 ViewCountService 버퍼에 기록하고 주기적으로 일괄 반영
      */
-    @Transactional
-    public CareResponseDto getCare(Long careId) {
+    public CareResponseDto getCare(Long careId, Long viewerId) {
         Cares care = getCareById(careId);
 
-        // 조회수 증가
-        care.increaseViews();
+        // 조회수 기록 (같은 사용자 재조회는 dedup)
+        viewCountService.record(RefType.CARE, careId, viewerId);
 
         // 이미지 정보 조회
         List<ImageResponse> images = imageService.getImages(RefType.CARE, careId);
 
-        return CareResponseDto.from(care, images);
+        return CareResponseDto.from(care, images).toBuilder()
+                .views(viewCountService.approximate(RefType.CARE, careId, care.getViews()))
+                .build();
     }
 
     /**
@@ -318,32 +319,22 @@ public class CareService {
             return;
         }
 
-        for (CareImageRequest imgReq : imageRequests) {
-            ImageRequest imageRequest = ImageRequest.builder()
-                    .refId(refId)
-                    .refType(refType)
-                    .src(imgReq.getSrc())
-                    .sort(imgReq.getSort())
-                    .build();
-
-            imageService.createImages(imageRequest);
-            log.debug("이미지 저장 완료 - refId: {}, refType: {}, src: {}", refId, refType, imgReq.getSrc());
-        }
+        // 한 번의 배치 INSERT 로 저장
+        List<Long> ids = imageService.createImages(toImageRequests(imageRequests, refId, refType));
+        log.debug("이미지 저장 완료 - refId: {}, refType: {}, count: {}", refId, refType, ids.size());
     }
 
     /**
-     * 이미지 업데이트 (Feed 패키지와 동일한 방식)
+     * 이미지 업데이트 (기존 이미지와 비교해 추가/정렬 변경/삭제만 반영)
      */
     private void updateImages(Long refId, RefType refType, List<CareImageRequest> newImages) {
-        // 기존 이미지 모두 삭제
-        imageRepository.deleteAllByRef(refType, refId);
-
-        // 새 이미지 저장
-        if (newImages != null && !newImages.isEmpty()) {
-            List<Image> toAdd = newImages.stream()
-                    .map(ir -> new Image(refId, refType, ir.getSrc(), ir.getSort()))
-                    .toList();
-            imageRepository.saveAll(toAdd);
-        }
+        List<ImageRequest> wanted = newImages == null ? List.of() : toImageRequests(newImages, refId, refType);
+        imageService.syncImages(refType, refId, wanted);
+    }
+
+    private static List<ImageRequest> toImageRequests(List<CareImageRequest> imageRequests, Long refId, RefType refType) {
+        return imageRequests.stream()
+                .map(ir -> new ImageRequest(refId, refType, ir.getSrc(), ir.getSort()))
+                .toList();
     }
 }
\ No newline at end of file
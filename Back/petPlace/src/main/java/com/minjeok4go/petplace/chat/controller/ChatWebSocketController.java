@@ -2,9 +2,6 @@ package com.minjeok4go.petplace.chat.controller;
 
 import com.minjeok4go.petplace.chat.dto.ChatMessageDTO;
 import com.minjeok4go.petplace.chat.dto.ReadUpdateDTO;
-import com.minjeok4go.petplace.common.constant.RefType;
-import com.minjeok4go.petplace.image.entity.Image;
-import com.minjeok4go.petplace.image.repository.ImageRepository;
 import com.minjeok4go.petplace.chat.service.ChatService;
 import com.minjeok4go.petplace.chat.service.UserChatRoomService;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +10,6 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
-import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,7 +17,6 @@ public class ChatWebSocketController {
 
     private final SimpMessagingTemplate simpMessagingTemplate;
     private final ChatService chatService;
-    private final ImageRepository imageRepository;
     private final UserChatRoomService userChatRoomService;
 
     // 1. 채팅 메시지 수신 & 저장 & 브로드캐스트
@@ -29,21 +24,10 @@ public class ChatWebSocketController {
     public void saveMessage(@Payload ChatMessageDTO dto) {
         System.out.println(">>> 채팅 메시지 수신: " + dto);
 
-        // 1. DB 저장 및 chatId 포함 DTO 반환
+        // 1. DB 저장(이미지 포함) 및 chatId 포함 DTO 반환
         ChatMessageDTO resultDto = chatService.saveAndReturnMessage(dto);
 
-        // 2. 이미지 저장 (이미지 URL이 있으면)
-        if (dto.getImageUrls() != null && !dto.getImageUrls().isEmpty()) {
-            List<String> imageUrls = dto.getImageUrls();
-            List<Image> images = imageUrls.stream()
-                    .map(url -> new Image(resultDto.getChatId(), RefType.CHAT, url, 0)) // 수정: saved → resultDto.getId()
-                    .toList();
-            imageRepository.saveAll(images);
-        }
-
-
-
-        // 3. 실시간 메시지 브로드캐스트 (chatId 포함)
+        // 2. 실시간 메시지 브로드캐스트 (chatId 포함)
         simpMessagingTemplate.convertAndSend(
                 "/topic/chat.room." + resultDto.getChatRoomId(),
                 resultDto
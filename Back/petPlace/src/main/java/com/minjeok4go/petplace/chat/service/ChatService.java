@@ -7,7 +7,8 @@ import com.minjeok4go.petplace.common.constant.RefType;
 import com.minjeok4go.petplace.image.entity.Image;
 import com.minjeok4go.petplace.chat.repository.ChatRepository;
 import com.minjeok4go.petplace.chat.repository.ChatRoomRepository;
-import com.minjeok4go.petplace.image.repository.ImageRepository;
+import com.minjeok4go.petplace.image.dto.ImageRequest;
+import com.minjeok4go.petplace.image.service.ImageService;
 import com.minjeok4go.petplace.notification.dto.CreateChatNotificationRequest;
 import com.minjeok4go.petplace.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +27,7 @@ public class ChatService {
     private final ChatRepository chatRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final UserRepository userRepository;
-    private final ImageRepository imageRepository;
+    private final ImageService imageService;
     private final UserChatRoomService userChatRoomService;
 
     // 채팅 저장 및 DTO 반환 (chatId 포함)
@@ -55,10 +56,10 @@ public class ChatService {
             // 이미지 저장
             List<String> imageUrls = dto.getImageUrls() != null ? dto.getImageUrls() : List.of();
             if (!imageUrls.isEmpty()) {
-                List<Image> images = imageUrls.stream()
-                        .map(url -> new Image(saved.getId(), RefType.CHAT, url, 0))
-                        .toList();
-                imageRepository.saveAll(images);
+                // 한 번의 배치 INSERT 로 저장
+                imageService.createImages(imageUrls.stream()
+                        .map(url -> new ImageRequest(saved.getId(), RefType.CHAT, url, 0))
+                        .toList());
             }
 
             // 유저 닉네임 불러오기
@@ -1,6 +1,7 @@
 package com.minjeok4go.petplace.comment.controller;
 
 import com.minjeok4go.petplace.auth.service.AuthService;
+import com.minjeok4go.petplace.comment.dto.CommentThreadPage;
 import com.minjeok4go.petplace.comment.dto.CreateCommentRequest;
 import com.minjeok4go.petplace.comment.dto.FeedComment;
 import com.minjeok4go.petplace.comment.dto.DeleteCommentResponse;
@@ -48,6 +49,20 @@ public class CommentController {
         return commentService.getCommentsByFeed(feedId);
     }
 
+    @Operation(
+            summary = "피드별 댓글 스레드 페이지 조회",
+            description = "최상위 댓글 단위로 페이지를 나눠 반환합니다. 각 스레드에는 대댓글 트리가 포함됩니다.\n" +
+                    "응답의 nextCursor 를 다음 요청의 cursor 로 전달하세요. (size 최대 50)"
+    )
+    @GetMapping("/feed_id/threads")
+    public CommentThreadPage getCommentThreadsByFeed(
+            @RequestParam("feed_id") Long feedId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return commentService.getCommentThreadsByFeed(feedId, cursor, size);
+    }
+
     @Operation(
             summary = "내 댓글 목록 조회",
             description = "토큰으로 받아온 유저 정보로, 내가 작성한 댓글들을 반환합니다."
@@ -0,0 +1,18 @@
+package com.minjeok4go.petplace.comment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CommentThreadPage {
+    // 최상위 댓글 스레드 (대댓글 트리 포함)
+    private List<FeedComment> threads;
+    // 살아있는 댓글 총 개수 (대댓글 포함)
+    private int totalCount;
+    // 다음 페이지 요청 시 cursor 로 전달 (마지막 최상위 댓글 id, 없으면 null)
+    private Long nextCursor;
+    private boolean hasNext;
+}
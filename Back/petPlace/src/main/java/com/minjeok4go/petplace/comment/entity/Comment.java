@@ -11,7 +11,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "comments")
+@Table(
+        name = "comments",
+        indexes = {
+                @Index(name = "idx_comments_feed_deleted_id", columnList = "feed_id, deleted_at, id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,11 +1,15 @@
 package com.minjeok4go.petplace.comment.repository;
 
 import com.minjeok4go.petplace.comment.entity.Comment;
-import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +18,6 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findByIdAndUserIdAndDeletedAtIsNull(Long id, Long userId);
     List<Comment> findByFeedIdAndDeletedAtIsNull(Long feedId);
     List<Comment> findByUserIdAndDeletedAtIsNull(Long userId);
-    List<Comment> findByParentCommentIdAndDeletedAtIsNull(Long parentCommentId);
     // 댓글 개수 카운트를 메서드로 추가
     int countByFeedIdAndDeletedAtIsNull(Long feedId);
 
@@ -24,6 +27,83 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("select distinct c.feed.id from Comment c where c.userId = :uid and c.deletedAt is null")
     List<Long> findFeedIdsByUserId(@Param("uid") Long userId);
 
-    List<Comment> findByParentCommentIdAndDeletedAtIsNullOrderByIdAsc(Long parentCommentId);
-    List<Comment> findByFeedAndDeletedAtIsNullOrderByIdAsc(Feed feed);
+    // 유저 청크 단위 댓글 단 피드 (userId, feedId) 벌크 조회
+    @Query("select distinct c.userId as userId, c.feed.id as feedId from Comment c where c.userId in :uids and c.deletedAt is null")
+    List<FeedRepository.UserFeedPair> findUserFeedPairsByUserIdIn(@Param("uids") Collection<Long> userIds);
+
+    // 피드의 살아있는 댓글 전체를 id 순으로 한 번에 (트리는 CommentTreeLoader 가 메모리에서 조립)
+    // parentComment.id 는 FK 컬럼을 그대로 읽으므로 조인/지연로딩 없음
+    @Query("""
+            select c.id as id, c.parentComment.id as parentId, c.feed.id as feedId,
+                   c.content as content, c.userId as userId, c.userNick as userNick, c.userImg as userImg,
+                   c.createdAt as createdAt, c.updatedAt as updatedAt
+            from Comment c
+            where c.feed.id = :feedId and c.deletedAt is null
+            order by c.id asc
+            """)
+    List<CommentRow> findLiveRowsByFeedId(@Param("feedId") Long feedId);
+
+    // 스레드 페이지: afterId 보다 큰 최상위 댓글을 id 순으로 (Pageable 로 size + 1 개만)
+    @Query("""
+            select c.id from Comment c
+            where c.feed.id = :feedId and c.parentComment is null and c.deletedAt is null and c.id > :afterId
+            order by c.id asc
+            """)
+    List<Long> findRootIdsAfter(@Param("feedId") Long feedId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 주어진 최상위 댓글과 그 아래 살아있는 대댓글 전체 (재귀 CTE, 삭제된 댓글 아래로는 내려가지 않음), id 순
+    @Query(value = """
+            WITH RECURSIVE t (id) AS (
+                SELECT c.id FROM comments c WHERE c.id IN (:rootIds) AND c.deleted_at IS NULL
+                UNION ALL
+                SELECT c.id FROM comments c JOIN t ON c.parent_comment_id = t.id WHERE c.deleted_at IS NULL
+            )
+            SELECT c.id AS id, c.parent_comment_id AS parentId, c.feed_id AS feedId,
+                   c.content AS content, c.user_id AS userId, c.user_nick AS userNick, c.user_img AS userImg,
+                   c.created_at AS createdAt, c.updated_at AS updatedAt
+            FROM comments c JOIN t ON t.id = c.id
+            ORDER BY c.id
+            """, nativeQuery = true)
+    List<CommentRow> findThreadRowsByRootIdIn(@Param("rootIds") Collection<Long> rootIds);
+
+    // 피드 목록 미리보기: 피드별 앞쪽 최상위 댓글 최대 :limit 개
+    // (feed_id, parent_comment_id, deleted_at, id) 인덱스 범위를 피드별로 한 번씩만 읽고 ROW_NUMBER 로 자름
+    @Query(value = """
+            SELECT x.id AS id, x.parent_comment_id AS parentId, x.feed_id AS feedId,
+                   x.content AS content, x.user_id AS userId, x.user_nick AS userNick, x.user_img AS userImg,
+                   x.created_at AS createdAt, x.updated_at AS updatedAt
+            FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.feed_id ORDER BY c.id) AS rn
+                  FROM comments c
+                  WHERE c.feed_id IN (:feedIds) AND c.parent_comment_id IS NULL AND c.deleted_at IS NULL) x
+            WHERE x.rn <= :limit
+            ORDER BY x.feed_id, x.id
+            """, nativeQuery = true)
+    List<CommentRow> findPreviewRowsByFeedIdIn(@Param("feedIds") Collection<Long> feedIds,
+                                               @Param("limit") long limit);
+
+    // 스레드 삭제용: 피드의 살아있는 댓글 (id, parentId) 만 한 번에
+    @Query("select c.id as id, c.parentComment.id as parentId from Comment c where c.feed.id = :feedId and c.deletedAt is null")
+    List<CommentLink> findLiveLinksByFeedId(@Param("feedId") Long feedId);
+
+    // 스레드 일괄 소프트 삭제 (이미 삭제된 행은 건너뜀), 실제 삭제된 행 수 반환
+    @Modifying
+    @Query("update Comment c set c.deletedAt = :now where c.id in :ids and c.deletedAt is null")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    interface CommentLink {
+        Long getId();
+        Long getParentId();
+    }
+
+    interface CommentRow {
+        Long getId();
+        Long getParentId();
+        Long getFeedId();
+        String getContent();
+        Long getUserId();
+        String getUserNick();
+        String getUserImg();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,83 @@
+package com.minjeok4go.petplace.comment.service;
+
+import com.minjeok4go.petplace.feed.dto.FeedInteractionEvent;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
+import com.minjeok4go.petplace.user.service.FeedFeatureService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * feeds.comment_count(비정규화 댓글 수) 유지.
+ *
+ * - 댓글 생성/삭제 커밋 후 FeedInteractionEvent(COMMENT, ±n)를 비동기로 받아 원자적 증감 UPDATE
+ *   → 요청 트랜잭션은 feeds 행을 잠그지 않음
+ * - 증감 UPDATE 뒤 추천 피처 캐시(FeedFeatureService)를 비움 → 다음 조회가 갱신된 comment_count 로 재적재
+ * - 이벤트 유실/실패로 생긴 드리프트는 야간 보정 배치가 comments 테이블 기준으로 재계산
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentCountService {
+
+    private static final String LOCK_KEY = "comment_count_reconcile_lock";
+    private static final long RECONCILE_CHUNK = 1000L;
+
+    private final FeedRepository feedRepository;
+    private final FeedFeatureService feedFeatureService;
+    private final StringRedisTemplate redis;
+
+    @Async("recommendationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(FeedInteractionEvent event) {
+        if (event.getKind() != FeedInteractionEvent.Kind.COMMENT
+                || event.getFeedId() == null || event.getDelta() == 0) return;
+        try {
+            feedRepository.addCommentCount(event.getFeedId(), event.getDelta());
+            // UPDATE 이후에 비워야 재적재가 새 값을 읽음 (HINCRBY 는 해시가 없을 때 그사이 DB 재적재와 겹치면 유실)
+            feedFeatureService.evict(event.getFeedId());
+        } catch (Exception e) {
+            // 야간 보정에서 바로잡힘
+            log.warn("[CommentCount] delta failed feed={}, delta={}", event.getFeedId(), event.getDelta(), e);
+        }
+    }
+
+    /**
+     * comments 테이블 기준 댓글 수 보정 (매일 새벽 2시, id 구간 청크 단위, 값이 다른 행만 갱신)
+     * - 다른 인스턴스와 중복 실행되지 않도록 Redis 락 사용
+     */
+    @Scheduled(cron = "0 0 2 * * *", zone = "Asia/Seoul")
+    @Async("recommendationExecutor")
+    public void reconcileAll() {
+        Boolean locked = redis.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (Boolean.FALSE.equals(locked)) {
+            log.warn("[CommentCount] 이미 실행 중이어서 스킵합니다.");
+            return;
+        }
+        final long startMs = System.currentTimeMillis();
+        long fixed = 0L;
+        int failedChunks = 0;
+        try {
+            long maxId = feedRepository.findMaxId();
+            for (long from = 0; from < maxId; from += RECONCILE_CHUNK) {
+                try {
+                    fixed += feedRepository.reconcileCommentCounts(from, from + RECONCILE_CHUNK);
+                } catch (Exception e) {
+                    failedChunks++;
+                    log.warn("[CommentCount] chunk failed after feedId={}", from, e);
+                }
+            }
+        } finally {
+            log.info("[CommentCount] reconciled rows={}, failedChunks={} in {} ms",
+                    fixed, failedChunks, System.currentTimeMillis() - startMs);
+            try { redis.delete(LOCK_KEY); } catch (Exception ignore) {}
+        }
+    }
+}
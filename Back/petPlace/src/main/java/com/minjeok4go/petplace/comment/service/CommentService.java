@@ -1,5 +1,6 @@
 package com.minjeok4go.petplace.comment.service;
 
+import com.minjeok4go.petplace.comment.dto.CommentThreadPage;
 import com.minjeok4go.petplace.comment.dto.CreateCommentRequest;
 import com.minjeok4go.petplace.comment.dto.FeedComment;
 import com.minjeok4go.petplace.comment.dto.DeleteCommentResponse;
@@ -8,6 +9,7 @@ import com.minjeok4go.petplace.comment.entity.Comment;
 import com.minjeok4go.petplace.comment.repository.CommentRepository;
 import com.minjeok4go.petplace.common.constant.ActivityType;
 import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.feed.dto.FeedInteractionEvent;
 import com.minjeok4go.petplace.feed.entity.Feed;
 import com.minjeok4go.petplace.feed.service.FeedService;
 import com.minjeok4go.petplace.notification.dto.CreateCommentNotificationRequest;
@@ -21,7 +23,12 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -29,10 +36,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentService {
 
+    private static final int DELETE_CHUNK = 1000; // IN 절 크기 제한
+    private static final int MAX_THREAD_SIZE = 50;
+
     private final ApplicationEventPublisher publisher;
     private final CommentRepository commentRepository;
     private final FeedService feedService;
     private final UserExperienceService expService;
+    private final CommentTreeLoader commentTreeLoader;
 
     @Transactional(readOnly = true)
     public MyComment getCommentDetail(Long id) {
@@ -45,19 +56,29 @@ public class CommentService {
     @Transactional(readOnly = true)
     public List<FeedComment> getCommentsByFeed(Long feedId) {
         // feed 존재 여부는 전제되었으니 생략 가능
-        return commentRepository
-                .findByFeedIdAndDeletedAtIsNull(feedId)
-                .stream()
-                .filter(c -> c.getParentComment() == null)
-                .map(this::mapCommentWithReplies)
-                .collect(Collectors.toList());
+        return commentTreeLoader.load(feedId).threads();
+    }
+
+    @Transactional(readOnly = true)
+    public CommentThreadPage getCommentThreadsByFeed(Long feedId, Long cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        int pageSize = Math.min(size, MAX_THREAD_SIZE);
+        // size + 1 개를 읽어 다음 페이지 존재 여부 판단
+        List<FeedComment> page = commentTreeLoader.loadThreadsAfter(feedId, cursor, pageSize + 1);
+        boolean hasNext = page.size() > pageSize;
+        if (hasNext) page = page.subList(0, pageSize);
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+        return new CommentThreadPage(page, getCommentCountByFeed(feedId), nextCursor, hasNext);
     }
 
     @Transactional(readOnly = true)
     public Integer getCommentCountByFeed(Long feedId) {
-        // feed 존재 여부는 전제되었으니 생략 가능
-        List<Comment> comments = commentRepository.findByFeedIdAndDeletedAtIsNull(feedId);
-        return comments.size();
+        // feeds.comment_count (비정규화) 사용 → 집계 쿼리 없음
+        return feedService.findById(feedId)
+                .map(Feed::getCommentCount)
+                .orElse(0);
     }
 
     @Transactional(readOnly = true)
@@ -98,6 +119,7 @@ public class CommentService {
         Comment saved = commentRepository.save(comment);
 
         expService.applyActivity(me, ActivityType.COMMENT_CREATE);
+        publisher.publishEvent(FeedInteractionEvent.comment(feed.getId(), 1));
 
         Long feedOwnerId = feed.getUserId();
         if (parent == null) {
@@ -142,19 +164,45 @@ public class CommentService {
                 .findByIdAndUserIdAndDeletedAtIsNull(id, me.getId())
                 .orElseThrow(() -> new AccessDeniedException("본인 댓글이 아니거나 존재하지 않습니다"));
 
-        softDeleteRecursively(comment);
+        int deleted = softDeleteThread(comment);
 
         expService.applyActivity(me, ActivityType.COMMENT_DELETE);
+        if (deleted > 0) {
+            // 스레드 전체에 대해 카운터/추천 이벤트 1건
+            publisher.publishEvent(FeedInteractionEvent.comment(comment.getFeed().getId(), -deleted));
+        }
 
         return new DeleteCommentResponse(id);
     }
 
-    private void softDeleteRecursively(Comment comment) {
-        comment.delete();
+    /**
+     * 댓글 + 하위 대댓글 전체를 일괄 소프트 삭제하고 삭제된 수를 반환.
+     * 피드 단위 (id, parentId) 1회 조회로 서브트리를 메모리에서 구한 뒤 UPDATE ... WHERE id IN (...) 로 처리
+     * (노드마다 조회/더티체킹하던 재귀 방식 대체)
+     */
+    private int softDeleteThread(Comment root) {
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (CommentRepository.CommentLink link : commentRepository.findLiveLinksByFeedId(root.getFeed().getId())) {
+            if (link.getParentId() != null) {
+                children.computeIfAbsent(link.getParentId(), k -> new ArrayList<>()).add(link.getId());
+            }
+        }
 
-        commentRepository
-                .findByParentCommentIdAndDeletedAtIsNull(comment.getId())
-                .forEach(this::softDeleteRecursively);
+        List<Long> ids = new ArrayList<>();
+        ArrayDeque<Long> stack = new ArrayDeque<>();
+        stack.push(root.getId());
+        while (!stack.isEmpty()) {
+            Long id = stack.pop();
+            ids.add(id);
+            for (Long child : children.getOrDefault(id, List.of())) stack.push(child);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i += DELETE_CHUNK) {
+            deleted += commentRepository.softDeleteByIdIn(ids.subList(i, Math.min(i + DELETE_CHUNK, ids.size())), now);
+        }
+        return deleted;
     }
 
     private MyComment mapComment(Comment comment) {
@@ -175,48 +223,4 @@ public class CommentService {
                 .deletedAt(comment.getDeletedAt())
                 .build();
     }
-
-//    private FeedComment mapCommentWithReplies(Comment comment) {
-//        List<FeedComment> replyDtos = comment.getReplies().stream()
-//                .map(this::mapCommentWithReplies)
-//                .toList();
-//
-//        return FeedComment.builder()
-//                .id(comment.getId())
-//                .parentCommentId(comment.getParentComment() != null
-//                        ? comment.getParentComment().getId()
-//                        : null)
-//                .feedId(comment.getFeed().getId())
-//                .content(comment.getContent())
-//                .userId(comment.getUserId())
-//                .userNick(comment.getUserNick())
-//                .userImg(comment.getUserImg())
-//                .createdAt(comment.getCreatedAt())
-//                .updatedAt(comment.getUpdatedAt())
-//                .deletedAt(comment.getDeletedAt())
-//                .replies(replyDtos)
-//                .build();
-//    }
-    private FeedComment mapCommentWithReplies(Comment comment) {
-        List<Comment> activeReplies =
-                commentRepository.findByParentCommentIdAndDeletedAtIsNullOrderByIdAsc(comment.getId());
-
-        List<FeedComment> replyDtos = activeReplies.stream()
-                .map(this::mapCommentWithReplies)
-                .toList();
-
-        return FeedComment.builder()
-                .id(comment.getId())
-                .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
-                .feedId(comment.getFeed().getId())
-                .content(comment.getContent())
-                .userId(comment.getUserId())
-                .userNick(comment.getUserNick())
-                .userImg(comment.getUserImg())
-                .createdAt(comment.getCreatedAt())
-                .updatedAt(comment.getUpdatedAt())
-                .deletedAt(comment.getDeletedAt())
-                .replies(replyDtos)
-                .build();
-    }
 }
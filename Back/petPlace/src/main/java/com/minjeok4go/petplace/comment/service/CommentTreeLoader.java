@@ -0,0 +1,98 @@
+package com.minjeok4go.petplace.comment.service;
+
+import com.minjeok4go.petplace.comment.dto.FeedComment;
+import com.minjeok4go.petplace.comment.repository.CommentRepository;
+import com.minjeok4go.petplace.comment.repository.CommentRepository.CommentRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 피드 댓글 트리 로더.
+ *
+ * 살아있는 댓글 전체를 쿼리 1번(id 오름차순)으로 읽고 parentId 로 메모리에서 부모/자식을 연결합니다 (O(n)).
+ * 댓글마다 대댓글을 재조회하던 방식(댓글 수만큼 쿼리)을 대체하며, 총 댓글 수도 같은 결과에서 구합니다.
+ * 삭제된 부모 아래에 남은 댓글은 기존과 동일하게 트리에 노출하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentTreeLoader {
+
+    private final CommentRepository commentRepository;
+
+    public CommentTree load(Long feedId) {
+        return build(commentRepository.findLiveRowsByFeedId(feedId));
+    }
+
+    /**
+     * 최상위 스레드 keyset 페이지: afterId 보다 큰 최상위 댓글 limit 개와 각자의 대댓글 트리 (afterId == null 이면 처음부터).
+     * 최상위 id 는 인덱스로 limit 개만, 대댓글은 그 스레드들 것만 읽으므로 피드 전체 댓글 수와 무관 (쿼리 2번)
+     */
+    public List<FeedComment> loadThreadsAfter(Long feedId, Long afterId, int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        List<Long> rootIds = commentRepository.findRootIdsAfter(
+                feedId, afterId == null ? 0L : afterId, PageRequest.of(0, limit));
+        if (rootIds.isEmpty()) return Collections.emptyList();
+        return build(commentRepository.findThreadRowsByRootIdIn(rootIds)).threads();
+    }
+
+    /** 피드 목록용 미리보기: 피드별 앞쪽 최상위 댓글 limit 개 (대댓글 제외), 피드 수와 무관하게 쿼리 1번 */
+    public Map<Long, List<FeedComment>> loadPreviews(Collection<Long> feedIds, int limit) {
+        if (feedIds == null || feedIds.isEmpty() || limit <= 0) return Collections.emptyMap();
+        Map<Long, List<FeedComment>> byFeed = new HashMap<>();
+        for (CommentRow r : commentRepository.findPreviewRowsByFeedIdIn(feedIds, limit)) {
+            byFeed.computeIfAbsent(r.getFeedId(), k -> new ArrayList<>()).add(toDto(r));
+        }
+        return byFeed;
+    }
+
+    static CommentTree build(List<CommentRow> rows) {
+        Map<Long, FeedComment> byId = new HashMap<>(rows.size() * 2);
+        for (CommentRow r : rows) {
+            byId.put(r.getId(), toDto(r));
+        }
+
+        // rows 가 id 오름차순이므로 각 레벨의 replies / roots 도 id 오름차순 유지
+        List<FeedComment> roots = new ArrayList<>();
+        for (CommentRow r : rows) {
+            FeedComment node = byId.get(r.getId());
+            if (r.getParentId() == null) {
+                roots.add(node);
+                continue;
+            }
+            FeedComment parent = byId.get(r.getParentId());
+            if (parent != null) {
+                parent.getReplies().add(node);
+            }
+        }
+        return new CommentTree(roots, rows.size());
+    }
+
+    private static FeedComment toDto(CommentRow r) {
+        return FeedComment.builder()
+                .id(r.getId())
+                .parentCommentId(r.getParentId())
+                .feedId(r.getFeedId())
+                .content(r.getContent())
+                .userId(r.getUserId())
+                .userNick(r.getUserNick())
+                .userImg(r.getUserImg())
+                .createdAt(r.getCreatedAt())
+                .updatedAt(r.getUpdatedAt())
+                .replies(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * @param threads    최상위 댓글(각자 replies 트리 포함), id 오름차순
+     * @param totalCount 살아있는 댓글 총 개수 (대댓글 포함)
+     */
+    public record CommentTree(List<FeedComment> threads, int totalCount) {}
+}
@@ -0,0 +1,115 @@
+package com.minjeok4go.petplace.common.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.minjeok4go.petplace.common.constant.RefType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 버퍼링 (피드 / 돌봄 상세 공용).
+ *
+ * 상세 조회마다 행을 UPDATE 하던 방식 대신 인스턴스 메모리의 LongAdder 에 누적하고
+ * 몇 초마다 "views = views + ?" 배치 UPDATE 로 한 번에 반영합니다 (인스턴스별 증분이라 락/조율 불필요).
+ * - 같은 사용자의 같은 글 재조회는 dedup 창 안에서 1회로 셉니다 (인스턴스 로컬, 근사치).
+ * - 응답에는 DB 값 + 아직 반영 안 된 로컬 증분을 더한 근사 조회수를 내려 줍니다.
+ */
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private static final Map<RefType, String> UPDATE_SQL = Map.of(
+            RefType.FEED, "UPDATE feeds SET views = views + ? WHERE id = ?",
+            RefType.CARE, "UPDATE cares SET views = views + ? WHERE id = ?"
+    );
+
+    private record Key(RefType type, long refId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Key, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> recentViewers;
+
+    public ViewCountService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${view.dedup-minutes:10}") long dedupMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentViewers = Caffeine.newBuilder()
+                .maximumSize(200_000)
+                .expireAfterWrite(Duration.ofMinutes(dedupMinutes))
+                .build();
+    }
+
+    /** 조회 1회 기록 (viewerId 가 null 이면 dedup 없이 카운트). 반영 대상이 아니면 무시 */
+    public void record(RefType type, Long refId, Long viewerId) {
+        if (refId == null || !UPDATE_SQL.containsKey(type)) return;
+        if (viewerId != null
+                && recentViewers.asMap().putIfAbsent(type.name() + ':' + refId + ':' + viewerId, Boolean.TRUE) != null) {
+            return;
+        }
+        pending.computeIfAbsent(new Key(type, refId), k -> new LongAdder()).increment();
+    }
+
+    /** DB 값 + 이 인스턴스에서 아직 flush 안 된 증분 (read-your-own 근사치) */
+    public int approximate(RefType type, Long refId, Integer persisted) {
+        LongAdder adder = pending.get(new Key(type, refId));
+        long base = persisted == null ? 0 : persisted;
+        return (int) (base + (adder == null ? 0 : adder.sum()));
+    }
+
+    /** 종료 시 남은 증분도 반영 */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${view.flush-delay-ms:5000}")
+    public void flush() {
+        for (Map.Entry<RefType, String> e : UPDATE_SQL.entrySet()) {
+            flushType(e.getKey(), e.getValue());
+        }
+    }
+
+    private void flushType(RefType type, String sql) {
+        List<long[]> rows = new ArrayList<>();   // {refId, delta}
+        for (Map.Entry<Key, LongAdder> e : pending.entrySet()) {
+            if (e.getKey().type() != type) continue;
+            long n = e.getValue().sum();
+            if (n == 0) {
+                // 이번 주기에 조회가 없던 키는 정리 (제거 직후 들어온 1건은 유실될 수 있음, 근사치 허용)
+                pending.computeIfPresent(e.getKey(), (k, v) -> v.sum() == 0 ? null : v);
+                continue;
+            }
+            // sumThenReset 대신 읽은 만큼만 빼서, 읽은 뒤 들어온 증분은 다음 주기로 남김
+            e.getValue().add(-n);
+            rows.add(new long[]{e.getKey().refId(), n});
+        }
+        if (rows.isEmpty()) return;
+
+        try {
+            // 타입별 한 트랜잭션: 중간 실패 시 전체 롤백 후 버퍼로 되돌려 이중 반영 방지
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, r) -> {
+                        ps.setLong(1, r[1]);
+                        ps.setLong(2, r[0]);
+                    }));
+            log.debug("[View] flushed {} rows for {}", rows.size(), type);
+        } catch (Exception ex) {
+            // 실패분은 버퍼로 되돌려 다음 주기에 재시도
+            for (long[] r : rows) {
+                pending.computeIfAbsent(new Key(type, r[0]), k -> new LongAdder()).add(r[1]);
+            }
+            log.warn("[View] flush failed for {} ({} rows), will retry", type, rows.size(), ex);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.minjeok4go.petplace.config;
 
 // AsyncConfig.java
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -28,6 +29,37 @@ public class AsyncConfig {
         return ex;
     }
 
+    // CBF 배치 실행 스레드 (한 번에 하나만, 중복 요청은 버림 → 락으로도 스킵됨)
+    // 배치가 수 분간 스레드를 잡으므로 리스너용 recommendationExecutor 와 분리
+    @Bean(name = "recommendationBatchRunner")
+    public ThreadPoolTaskExecutor recommendationBatchRunner() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(1);
+        ex.setMaxPoolSize(1);
+        ex.setQueueCapacity(1);
+        ex.setThreadNamePrefix("rec-batch-run-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        ex.initialize();
+        return ex;
+    }
+
+    // CBF 배치의 그룹 팬아웃 전용 풀 (제출/대기는 recommendationBatchRunner 스레드만)
+    // 큐가 차면 CallerRuns → 배치 실행 스레드가 그 그룹을 직접 계산 (리스너 풀/요청 스레드와 무관)
+    @Bean(name = "recommendationBatchExecutor")
+    public ThreadPoolTaskExecutor recommendationBatchExecutor(
+            @Value("${recommendation.batch-threads:4}") int threads) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(256);
+        ex.setThreadNamePrefix("rec-batch-group-");
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.initialize();
+        return ex;
+    }
+
     @Bean
     public Executor taskExecutor() {
         var ex = new org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor();
@@ -39,13 +71,17 @@ public class AsyncConfig {
         return ex;
     }
 
-    // @Configuration 클래스
+    // AI 작업 큐(AiJobWorker) 실행용 풀
+    // 워커가 빈 슬롯만큼만 작업을 꺼내므로 대기 큐는 작게, 넘치면 거절 → 작업 실패 처리 후 백오프 재시도
     @Bean
-    public TaskExecutor appTaskExecutor() {
+    public TaskExecutor aiJobExecutor() {
         var t = new ThreadPoolTaskExecutor();
-        t.setThreadNamePrefix("afterCommit-");
-        t.setCorePoolSize(2);
+        t.setThreadNamePrefix("ai-job-");
+        t.setCorePoolSize(4);
         t.setMaxPoolSize(4);
+        t.setQueueCapacity(16);
+        t.setWaitForTasksToCompleteOnShutdown(true);
+        t.setAwaitTerminationSeconds(30);
         t.initialize();
         return t;
     }
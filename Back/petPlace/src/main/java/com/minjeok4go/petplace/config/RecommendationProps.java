@@ -0,0 +1,50 @@
+package com.minjeok4go.petplace.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 추천(CBF) 배치/조회 관련 튜닝 값을 application.yml 에서 바인딩
+@ConfigurationProperties(prefix = "recommendation")
+public class RecommendationProps {
+    // true: group:{key}:v{batchId} 에 다 쓴 뒤 RENAME 으로 원자적 교체 / false: 라이브 키에 직접 ZADD
+    private boolean atomicSwap = true;
+    // 그룹 ZSET TTL(시간)
+    private int groupTtlHours = 48;
+    // 배치 유저 스캔 청크 크기(키셋 페이지 크기 = pet IN 절 최대 크기)
+    private int batchChunkSize = 1000;
+    // 커서 모드 첫 페이지에서 재랭크/스냅샷할 윈도우 크기
+    private int cursorWindowSize = 200;
+    // 커서 스냅샷(rec_snap:{uid}:{snapId}) TTL(분), 페이지를 읽을 때마다 연장
+    private int cursorSnapshotMinutes = 10;
+    // 후보 생성 소스별 풀 크기 (전체 인기 / 최신(지역) / 급상승 / 선호 태그)
+    private int candidateTopSize = 200;
+    private int candidateRecentSize = 100;
+    private int candidateTrendingSize = 100;
+    private int candidateTagSize = 100;
+    // 급상승 집계 창(시간), 선호 태그 후보에 쓰는 프로필 상위 태그 수
+    private int candidateTrendingHours = 6;
+    private int candidateTagCount = 5;
+
+    public boolean isAtomicSwap() { return atomicSwap; }
+    public void setAtomicSwap(boolean atomicSwap) { this.atomicSwap = atomicSwap; }
+    public int getGroupTtlHours() { return groupTtlHours; }
+    public void setGroupTtlHours(int groupTtlHours) { this.groupTtlHours = groupTtlHours; }
+    public int getBatchChunkSize() { return batchChunkSize; }
+    public void setBatchChunkSize(int batchChunkSize) { this.batchChunkSize = batchChunkSize; }
+    public int getCursorWindowSize() { return cursorWindowSize; }
+    public void setCursorWindowSize(int cursorWindowSize) { this.cursorWindowSize = cursorWindowSize; }
+    public int getCursorSnapshotMinutes() { return cursorSnapshotMinutes; }
+    public void setCursorSnapshotMinutes(int cursorSnapshotMinutes) { this.cursorSnapshotMinutes = cursorSnapshotMinutes; }
+    public int getCandidateTopSize() { return candidateTopSize; }
+    public void setCandidateTopSize(int candidateTopSize) { this.candidateTopSize = candidateTopSize; }
+    public int getCandidateRecentSize() { return candidateRecentSize; }
+    public void setCandidateRecentSize(int candidateRecentSize) { this.candidateRecentSize = candidateRecentSize; }
+    public int getCandidateTrendingSize() { return candidateTrendingSize; }
+    public void setCandidateTrendingSize(int candidateTrendingSize) { this.candidateTrendingSize = candidateTrendingSize; }
+    public int getCandidateTagSize() { return candidateTagSize; }
+    public void setCandidateTagSize(int candidateTagSize) { this.candidateTagSize = candidateTagSize; }
+    public int getCandidateTrendingHours() { return candidateTrendingHours; }
+    public void setCandidateTrendingHours(int candidateTrendingHours) { this.candidateTrendingHours = candidateTrendingHours; }
+    public int getCandidateTagCount() { return candidateTagCount; }
+    public void setCandidateTagCount(int candidateTagCount) { this.candidateTagCount = candidateTagCount; }
+}
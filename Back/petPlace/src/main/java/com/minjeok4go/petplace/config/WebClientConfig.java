@@ -53,12 +53,20 @@ public class WebClientConfig {
                 .build();
     }
 
+    /**
+     * 유사도 서비스 호출용 WebClient (ai.similarity.connect-timeout-ms / read-timeout-ms 적용).
+     * 응답 제한 시간이 지나면 요청 자체가 취소되므로 AI 작업은 이 시간 안에 반드시 끝남 (AiJobWorker 슬롯 반환 기준)
+     */
     @Bean
     @Qualifier("aiWebClient")
-    WebClient aiWebClient(@Value("${ai.similarity.base-url}") String baseUrl,
+    WebClient aiWebClient(AiProps aiProps,
                           @Value("${service.internal-token}") String token) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, aiProps.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(aiProps.getReadTimeoutMs()));
         return WebClient.builder()
-                .baseUrl(baseUrl)
+                .baseUrl(aiProps.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader("X-Service-Token", token)
                 .build();
     }
@@ -4,7 +4,9 @@ import com.minjeok4go.petplace.auth.service.AuthService;
 import com.minjeok4go.petplace.feed.dto.CreateFeedRequest;
 import com.minjeok4go.petplace.feed.dto.DeleteFeedResponse;
 import com.minjeok4go.petplace.feed.dto.FeedDetailResponse;
+import com.minjeok4go.petplace.feed.dto.FeedTimelineResponse;
 import com.minjeok4go.petplace.feed.service.FeedService;
+import com.minjeok4go.petplace.feed.service.FeedTimelineService;
 //import com.minjeok4go.petplace.feed.service.RecommendationService;
 import com.minjeok4go.petplace.user.entity.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,6 +30,7 @@ import java.util.List;
 public class FeedController {
 
     private final FeedService feedService;
+    private final FeedTimelineService feedTimelineService;
 //    private final RecommendationService recommendationService;
     private final AuthService authService;
 
@@ -44,12 +47,32 @@ public class FeedController {
 
     @Operation(
             summary = "내가 작성한 피드 조회",
-            description = "Path 변수로 넘어온 피드 ID 에 해당하는 피드를 상세 정보와 함께 반환합니다."
+            description = "토큰으로 받아온 유저가 작성한 피드를 최신순으로 page/size 만큼 상세 정보와 함께 반환합니다. (size 최대 50)\n" +
+                    "commentPreview 개수만큼 최상위 댓글 미리보기를 포함합니다."
     )
     @GetMapping("/me")
-    public List<FeedDetailResponse> getMyFeed(@AuthenticationPrincipal String tokenUserId) {
+    public List<FeedDetailResponse> getMyFeed(@RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(defaultValue = "3") int commentPreview,
+                                               @AuthenticationPrincipal String tokenUserId) {
         User me = authService.getUserFromToken(tokenUserId);
-        return feedService.findByUserId(me);
+        return feedService.findByUserId(me, page, size, commentPreview);
+    }
+
+    @Operation(
+            summary = "피드 타임라인 조회",
+            description = "지역(regionId) / 카테고리(category) / 태그(tagId) 조건으로 최신순 피드를 반환합니다. (조건은 모두 선택)\n" +
+                    "첫 요청은 cursor 없이, 다음 페이지는 응답의 nextCursor 를 그대로 전달합니다. (size 최대 50)"
+    )
+    @GetMapping("/timeline")
+    public FeedTimelineResponse getTimeline(@RequestParam(required = false) Long regionId,
+                                            @RequestParam(required = false) String category,
+                                            @RequestParam(required = false) Long tagId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @AuthenticationPrincipal String tokenUserId) {
+        User me = authService.getUserFromToken(tokenUserId);
+        return feedTimelineService.getTimeline(me, regionId, category, tagId, cursor, size);
     }
 
 //    @Operation(
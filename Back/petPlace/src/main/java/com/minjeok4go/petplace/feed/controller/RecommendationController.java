@@ -1,6 +1,7 @@
 package com.minjeok4go.petplace.feed.controller;
 
 import com.minjeok4go.petplace.feed.dto.FeedListResponse;
+import com.minjeok4go.petplace.feed.dto.RecommendationCursorResponse;
 import com.minjeok4go.petplace.user.entity.User;
 import com.minjeok4go.petplace.user.repository.UserRepository;
 import com.minjeok4go.petplace.user.service.CBFRecommendationService;
@@ -62,4 +63,18 @@ public class RecommendationController {
         return ResponseEntity.ok(recommendationService.getRecommendedFeeds(userId, page, size));
     }
 
+    // 커서 모드: 첫 요청은 cursor 없이, 이후에는 응답의 nextCursor 를 그대로 전달 (size 최대 50)
+    @GetMapping("/group/cursor")
+    public ResponseEntity<RecommendationCursorResponse> getRecommendedFeedsByCursor(
+            @AuthenticationPrincipal String principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        long userId = Long.parseLong(principal);
+        return ResponseEntity.ok(recommendationService.getRecommendedFeedsByCursor(userId, cursor, size));
+    }
+
 }
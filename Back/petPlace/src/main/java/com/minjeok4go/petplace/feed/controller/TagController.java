@@ -10,6 +10,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -27,11 +30,20 @@ public class TagController {
     private final TagService tagService;
     @Operation(
             summary = "태그 전체 조회",
-            description = "태그의 전체 목록을 반환합니다."
+            description = "태그의 전체 목록을 반환합니다.\n" +
+                    "응답 ETag 를 If-None-Match 로 보내면 목록이 바뀌지 않은 경우 304 를 반환합니다."
     )
     @GetMapping
-    public List<TagResponse> getTagAll() {
-        return tagService.getTagAll();
+    public ResponseEntity<List<TagResponse>> getTagAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = tagService.getTagVersion();
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) { // 목록 / 약한 ETag(W/) 도 허용
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache()) // 매번 재검증 (변경 시 바로 반영)
+                .body(tagService.getTagAll());
     }
 
     @Operation(
@@ -0,0 +1,13 @@
+package com.minjeok4go.petplace.feed.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 새 피드 작성 이벤트 (커밋 후 작성자 지역의 추천 그룹 ZSET 에 편입)
+@Getter
+@AllArgsConstructor
+public class FeedCreatedEvent {
+    private Long feedId;
+    private Long writerId;
+    private Long writerRegionId;
+}
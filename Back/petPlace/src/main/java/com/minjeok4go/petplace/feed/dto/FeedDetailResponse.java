@@ -1,7 +1,6 @@
 package com.minjeok4go.petplace.feed.dto;
 
 import com.minjeok4go.petplace.comment.dto.FeedComment;
-import com.minjeok4go.petplace.comment.entity.Comment;
 import com.minjeok4go.petplace.feed.entity.Feed;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
 import lombok.*;
@@ -42,7 +41,7 @@ public class FeedDetailResponse {
     public FeedDetailResponse(
             Feed feed, boolean liked,
             List<TagResponse> tags, List<ImageResponse> images,
-            List<Comment> comments, List<FeedComment> commentDtos
+            List<FeedComment> commentDtos, int commentCount
     ) {
         this.id = feed.getId();
         this.content = feed.getContent();
@@ -62,9 +61,8 @@ public class FeedDetailResponse {
         this.images = images;
 
         this.comments = commentDtos;
-
-        // 초기값(서비스에서 실제 카운트로 덮어씀)
-        this.commentCount = (comments != null) ? comments.size() : 0;
+        // 살아있는 댓글 총 개수 (대댓글 포함)
+        this.commentCount = commentCount;
     }
 }
 
@@ -0,0 +1,24 @@
+package com.minjeok4go.petplace.feed.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 좋아요/댓글 증감 이벤트 (커밋 후 추천 ZSET 점수에 ZINCRBY 로 반영)
+@Getter
+@AllArgsConstructor
+public class FeedInteractionEvent {
+
+    public enum Kind { LIKE, COMMENT }
+
+    private Long feedId;
+    private Kind kind;
+    private int delta;   // +1 생성 / -1 취소 (댓글 스레드 삭제 시 -n)
+
+    public static FeedInteractionEvent like(Long feedId, int delta) {
+        return new FeedInteractionEvent(feedId, Kind.LIKE, delta);
+    }
+
+    public static FeedInteractionEvent comment(Long feedId, int delta) {
+        return new FeedInteractionEvent(feedId, Kind.COMMENT, delta);
+    }
+}
@@ -0,0 +1,15 @@
+package com.minjeok4go.petplace.feed.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RecommendationCursorResponse {
+    private List<FeedListResponse> feeds;
+    // 다음 페이지 요청 시 그대로 전달 (없으면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
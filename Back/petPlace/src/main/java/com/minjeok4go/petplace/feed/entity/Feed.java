@@ -14,7 +14,15 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "feeds")
+@Table(name = "feeds",
+        indexes = {
+                @Index(name = "idx_feeds_deleted_likes", columnList = "deleted_at, likes"),
+                // 타임라인 keyset (created_at, id) 정렬용
+                @Index(name = "idx_feeds_deleted_created", columnList = "deleted_at, created_at, id"),
+                @Index(name = "idx_feeds_region_deleted_created", columnList = "region_id, deleted_at, created_at, id"),
+                @Index(name = "idx_feeds_category_deleted_created", columnList = "category, deleted_at, created_at, id"),
+                @Index(name = "idx_feeds_region_category_deleted_created", columnList = "region_id, category, deleted_at, created_at, id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -64,6 +72,11 @@ public class Feed {
     @Column(nullable = false)
     private Integer views = 0;
 
+    // 살아있는 댓글 수 (비정규화). 댓글 생성/삭제 이벤트로 증감, 야간 보정 배치로 재계산
+    @Builder.Default
+    @Column(name = "comment_count", nullable = false)
+    private Integer commentCount = 0;
+
 
     @Builder.Default
     @OneToMany(mappedBy = "feed", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
@@ -90,6 +103,7 @@ public class Feed {
 
         this.likes = 0;
         this.views = 0;
+        this.commentCount = 0;
     }
 
     public void update() {
@@ -3,8 +3,14 @@ package com.minjeok4go.petplace.feed.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "feed_tags")
+@Table(name = "feed_tags",
+        indexes = {
+                // 태그 타임라인 keyset (feed_created_at, feed_id) 정렬용 (feeds 조인 없이 정렬/범위 스캔)
+                @Index(name = "idx_feed_tags_tag_created", columnList = "tag_id, feed_created_at, feed_id")
+        })
 @Getter
 @NoArgsConstructor
 public class FeedTag {
@@ -22,9 +28,18 @@ public class FeedTag {
     @JoinColumn(name = "tag_id")
     private Tag tag;
 
+    // feeds.created_at 비정규화 (작성 시각은 바뀌지 않음)
+    @Column(name = "feed_created_at", nullable = false, updatable = false)
+    private LocalDateTime feedCreatedAt;
+
     public FeedTag(Feed feed, Tag tag) {
+        this(feed, tag, feed.getCreatedAt());
+    }
+
+    public FeedTag(Feed feed, Tag tag, LocalDateTime feedCreatedAt) {
         this.feed = feed;
         this.tag = tag;
         this.id = new FeedTagId(feed.getId(), tag.getId());
+        this.feedCreatedAt = feedCreatedAt;
     }
 }
@@ -7,16 +7,25 @@ import com.minjeok4go.petplace.common.constant.FeedCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 public interface FeedRepository extends JpaRepository<Feed, Long> {
+
+    // 유저 청크 단위 (userId, feedId) 벌크 조회 결과 (내 글/좋아요/댓글 공용)
+    interface UserFeedPair {
+        Long getUserId();
+        Long getFeedId();
+    }
+
     List<Feed> findByUserId(Long userId);
     //     ✅ Feed + Tag + Comment를 Fetch Join으로 가져오기
 //    @Query("SELECT DISTINCT f FROM Feed f " +
@@ -26,11 +35,16 @@ public interface FeedRepository extends JpaRepository<Feed, Long> {
 //            "LEFT JOIN FETCH c.replies " +
 //            "WHERE f.id = :feedId")
 //    Optional<Feed> findFeedWithTagsAndComments(@Param("feedId") Long feedId);
+    // 내가 작성한 피드 (삭제 제외, 최신순) 페이지
+    Slice<Feed> findByUserIdAndDeletedAtIsNullOrderByIdDesc(Long userId, Pageable pageable);
+
+    // 좋아요한 피드 (삭제 제외, 최근에 좋아요한 순) 페이지
     @Query("SELECT f FROM Likes l " +
             "JOIN l.feed f " +
             "WHERE l.user.id = :userId " +
-            "AND f.deletedAt IS NULL")
-    List<Feed> findLikedFeedsByUserId(Long userId);
+            "AND f.deletedAt IS NULL " +
+            "ORDER BY l.id DESC")
+    Slice<Feed> findLikedFeedsByUserId(@Param("userId") Long userId, Pageable pageable);
 
     @Query("SELECT f.id FROM Feed f " +
             "WHERE f.userId = :userId " +
@@ -43,19 +57,111 @@ public interface FeedRepository extends JpaRepository<Feed, Long> {
     @Query("select f.id from Feed f where f.userId = :uid and f.deletedAt is null")
     List<Long> findIdsByUserId(@Param("uid") Long userId);
 
+    @Query("select f.userId as userId, f.id as feedId from Feed f where f.userId in :uids and f.deletedAt is null")
+    List<UserFeedPair> findUserFeedPairsByUserIdIn(@Param("uids") Collection<Long> userIds);
+
     @Query("select f from Feed f where f.id in :ids and f.deletedAt is null")
     List<Feed> findAllActiveByIdIn(@Param("ids") List<Long> ids);
 
-    List<Feed> findTop200ByCreatedAtAfterOrderByLikesDesc(LocalDateTime createdAtAfter, Sort sort);
+    // 댓글 수 증감 (음수로 내려가지 않도록 0 하한)
+    @Transactional
+    @Modifying
+    @Query("update Feed f set f.commentCount = case when f.commentCount + :delta < 0 then 0 " +
+            "else f.commentCount + :delta end where f.id = :feedId")
+    int addCommentCount(@Param("feedId") Long feedId, @Param("delta") int delta);
+
+    // 댓글 수 보정: id 구간 (fromId, toId] 의 피드를 comments 테이블 기준으로 재계산 (값이 다른 행만 갱신)
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE feeds f
+            JOIN (SELECT f2.id AS feed_id, COUNT(c.id) AS cnt
+                  FROM feeds f2
+                  LEFT JOIN comments c ON c.feed_id = f2.id AND c.deleted_at IS NULL
+                  WHERE f2.id > :fromId AND f2.id <= :toId
+                  GROUP BY f2.id) x ON x.feed_id = f.id
+            SET f.comment_count = x.cnt
+            WHERE f.comment_count <> x.cnt
+            """, nativeQuery = true)
+    int reconcileCommentCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select coalesce(max(f.id), 0) from Feed f")
+    long findMaxId();
+
     Optional<Feed> findByIdAndDeletedAtIsNull(Long id);
-    List<Feed> findAllByDeletedAtIsNull();
     Optional<Feed> findByIdAndUserIdAndDeletedAtIsNull(Long id, Long userId);
-    List<Feed> findByCategory(FeedCategory category);
-    // ✅ feedTags로 경로 변경
-    @EntityGraph(attributePaths = {"feedTags.tag"})
-    List<Feed> findDistinctByFeedTags_Tag_Id(Long tagId);
-    List<Feed> findByUserNick(String userNick);
-    List<Feed> findTop200ByOrderByLikesDesc();
+
+    // 타임라인 keyset 페이지 (created_at, id) 내림차순. 첫 페이지는 cursorAt/cursorId 에 최댓값 전달
+    interface TimelineRow {
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+
+    @Query("""
+            select f.id as id, f.createdAt as createdAt from Feed f
+            where f.deletedAt is null
+              and (f.createdAt < :cursorAt or (f.createdAt = :cursorAt and f.id < :cursorId))
+            order by f.createdAt desc, f.id desc
+            """)
+    List<TimelineRow> findTimeline(@Param("cursorAt") LocalDateTime cursorAt, @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    @Query("""
+            select f.id as id, f.createdAt as createdAt from Feed f
+            where f.regionId = :regionId and f.deletedAt is null
+              and (f.createdAt < :cursorAt or (f.createdAt = :cursorAt and f.id < :cursorId))
+            order by f.createdAt desc, f.id desc
+            """)
+    List<TimelineRow> findTimelineByRegion(@Param("regionId") Long regionId,
+                                           @Param("cursorAt") LocalDateTime cursorAt, @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    @Query("""
+            select f.id as id, f.createdAt as createdAt from Feed f
+            where f.category = :category and f.deletedAt is null
+              and (f.createdAt < :cursorAt or (f.createdAt = :cursorAt and f.id < :cursorId))
+            order by f.createdAt desc, f.id desc
+            """)
+    List<TimelineRow> findTimelineByCategory(@Param("category") FeedCategory category,
+                                             @Param("cursorAt") LocalDateTime cursorAt, @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query("""
+            select f.id as id, f.createdAt as createdAt from Feed f
+            where f.regionId = :regionId and f.category = :category and f.deletedAt is null
+              and (f.createdAt < :cursorAt or (f.createdAt = :cursorAt and f.id < :cursorId))
+            order by f.createdAt desc, f.id desc
+            """)
+    List<TimelineRow> findTimelineByRegionAndCategory(@Param("regionId") Long regionId,
+                                                      @Param("category") FeedCategory category,
+                                                      @Param("cursorAt") LocalDateTime cursorAt, @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+
+    // 태그 타임라인: feed_tags 의 (tag_id, feed_created_at, feed_id) 인덱스를 역순으로 읽으며 keyset 범위/정렬 처리
+    // (filesort 없음), feeds 는 읽은 행마다 PK 조인으로 삭제/지역/카테고리만 거름
+    @Query("""
+            select ft.id.feedId as id, ft.feedCreatedAt as createdAt from FeedTag ft join ft.feed f
+            where ft.tag.id = :tagId and f.deletedAt is null
+              and (:regionId is null or f.regionId = :regionId)
+              and (:category is null or f.category = :category)
+              and (ft.feedCreatedAt < :cursorAt or (ft.feedCreatedAt = :cursorAt and ft.id.feedId < :cursorId))
+            order by ft.feedCreatedAt desc, ft.id.feedId desc
+            """)
+    List<TimelineRow> findTimelineByTag(@Param("tagId") Long tagId,
+                                        @Param("regionId") Long regionId,
+                                        @Param("category") FeedCategory category,
+                                        @Param("cursorAt") LocalDateTime cursorAt, @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // 추천 후보 생성용 (인덱스 친화 조회, 엔티티 대신 id 만)
+    @Query("select f.id from Feed f where f.deletedAt is null order by f.likes desc, f.id desc")
+    List<Long> findTopActiveIds(Pageable pageable);
+
+    @Query("select f.id from Feed f where f.deletedAt is null order by f.id desc")
+    List<Long> findRecentActiveIds(Pageable pageable);
+
+    @Query("select f.id from Feed f where f.regionId = :regionId and f.deletedAt is null order by f.id desc")
+    List<Long> findRecentActiveIdsByRegionId(@Param("regionId") Long regionId, Pageable pageable);
     @Query("""
 select
   f.id            as id,
@@ -1,7 +1,7 @@
 package com.minjeok4go.petplace.feed.repository;
 
-import com.minjeok4go.petplace.feed.dto.FeedTagJoin;
 import com.minjeok4go.petplace.feed.entity.FeedTag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -27,16 +27,18 @@ public interface FeedTagRepository extends JpaRepository<FeedTag, Long> {
     @Query("select ft.feed.id as feedId, ft.tag.id as tagId from FeedTag ft where ft.feed.id in :feedIds")
     List<FeedTagPair> findFeedTagPairsByFeedIdIn(@Param("feedIds") Collection<Long> feedIds);
 
-    @Query("""
-        select new com.minjeok4go.petplace.feed.dto.FeedTagJoin(ft.feed.id, t.id, t.name)
-        from FeedTag ft join ft.tag t
-        where ft.feed.id in :ids
-        """)
-    List<FeedTagJoin> findAllByFeedIdIn(@Param("ids") List<Long> ids);
-
     @Query("select ft.tag.id from FeedTag ft where ft.feed.id = :feedId")
     List<Long> findTagIdsByFeedId(@Param("feedId") Long feedId);
 
+    // 추천 후보: 선호 태그가 달린 최신 글 id
+    @Query("""
+        select distinct ft.feed.id
+        from FeedTag ft
+        where ft.tag.id in :tagIds and ft.feed.deletedAt is null
+        order by ft.feed.id desc
+        """)
+    List<Long> findRecentActiveFeedIdsByTagIdIn(@Param("tagIds") Collection<Long> tagIds, Pageable pageable);
+
     @Modifying
     @Query("delete from FeedTag ft where ft.feed.id = :feedId and ft.tag.id in :tagIds")
     void deleteByFeedIdAndTagIdIn(@Param("feedId") Long feedId, @Param("tagIds") Collection<Long> tagIds);
@@ -0,0 +1,82 @@
+package com.minjeok4go.petplace.feed.service;
+
+import com.minjeok4go.petplace.comment.dto.FeedComment;
+import com.minjeok4go.petplace.comment.service.CommentTreeLoader;
+import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.feed.dto.FeedDetailResponse;
+import com.minjeok4go.petplace.feed.dto.TagResponse;
+import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
+import com.minjeok4go.petplace.image.dto.ImageResponse;
+import com.minjeok4go.petplace.image.entity.Image;
+import com.minjeok4go.petplace.image.repository.ImageRepository;
+import com.minjeok4go.petplace.like.service.LikeCounterService;
+import com.minjeok4go.petplace.like.service.LikeCounterService.LikeView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 피드 목록(내 피드 / 좋아요한 피드)용 일괄 DTO 조립기.
+ *
+ * 피드마다 태그 지연로딩·이미지·댓글·좋아요 여부·카운트를 따로 조회하던 방식 대신
+ * 페이지의 피드 id 전체에 대해 태그 / 이미지 / 좋아요 여부 / (선택) 댓글 미리보기를
+ * 각각 IN 쿼리 1번씩, 피드 수와 무관한 고정 횟수로 읽어 메모리에서 합칩니다.
+ * 댓글 수는 feeds.comment_count(비정규화)를 그대로 사용합니다.
+ * 좋아요 여부/수는 상세와 같게 {@link LikeCounterService} 기준 (Redis 파이프라인 1번, 콜드 피드만 DB).
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedDetailHydrator {
+
+    private final FeedTagRepository feedTagRepository;
+    private final ImageRepository imageRepository;
+    private final LikeCounterService likeCounterService;
+    private final CommentTreeLoader commentTreeLoader;
+    private final TagDictionary tagDictionary;
+
+    /**
+     * @param feeds        응답 순서대로의 피드
+     * @param userId       좋아요 여부 기준 사용자
+     * @param previewSize  피드별 최상위 댓글 미리보기 개수 (0 이면 댓글 목록 없이 개수만)
+     */
+    public List<FeedDetailResponse> hydrate(List<Feed> feeds, Long userId, int previewSize) {
+        if (feeds.isEmpty()) return List.of();
+        List<Long> ids = feeds.stream().map(Feed::getId).toList();
+
+        // 1) tags (feed_tags 만 읽고 이름은 메모리 사전에서)
+        Map<Long, List<TagResponse>> tagsByFeed = new HashMap<>();
+        for (FeedTagRepository.FeedTagPair p : feedTagRepository.findFeedTagPairsByFeedIdIn(ids)) {
+            tagsByFeed.computeIfAbsent(p.getFeedId(), k -> new ArrayList<>())
+                    .add(tagDictionary.toResponse(p.getTagId()));
+        }
+
+        // 2) images (sort 오름차순 유지)
+        Map<Long, List<ImageResponse>> imagesByFeed = new HashMap<>();
+        for (Image img : imageRepository.findAllByRefTypeAndRefIdInOrderBySortAsc(RefType.FEED, ids)) {
+            imagesByFeed.computeIfAbsent(img.getRefId(), k -> new ArrayList<>())
+                    .add(new ImageResponse(img.getId(), img.getSrc(), img.getSort()));
+        }
+
+        // 3) liked / likes (write-behind 미반영분 포함)
+        Map<Long, LikeView> likes = likeCounterService.peekAll(ids, userId);
+
+        // 4) comment previews (선택)
+        Map<Long, List<FeedComment>> previews = commentTreeLoader.loadPreviews(ids, previewSize);
+
+        List<FeedDetailResponse> out = new ArrayList<>(feeds.size());
+        for (Feed feed : feeds) {
+            Long id = feed.getId();
+            LikeView like = likes.get(id);
+            FeedDetailResponse dto = new FeedDetailResponse(feed, like.liked(),
+                    tagsByFeed.getOrDefault(id, List.of()),
+                    imagesByFeed.getOrDefault(id, List.of()),
+                    previews.getOrDefault(id, List.of()),
+                    feed.getCommentCount() == null ? 0 : feed.getCommentCount());
+            if (like.count() != null) dto.setLikes(like.count());
+            out.add(dto);
+        }
+        return out;
+    }
+}
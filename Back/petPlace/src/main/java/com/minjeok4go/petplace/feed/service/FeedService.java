@@ -1,48 +1,58 @@
 package com.minjeok4go.petplace.feed.service;
 
-import com.minjeok4go.petplace.comment.dto.FeedComment;
-import com.minjeok4go.petplace.comment.entity.Comment;
-import com.minjeok4go.petplace.comment.repository.CommentRepository;
+import com.minjeok4go.petplace.comment.service.CommentTreeLoader;
 import com.minjeok4go.petplace.common.constant.ActivityType;
 import com.minjeok4go.petplace.common.constant.FeedCategory;
 import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.common.service.ViewCountService;
 import com.minjeok4go.petplace.feed.dto.*;
 import com.minjeok4go.petplace.feed.entity.Feed;
-import com.minjeok4go.petplace.feed.entity.FeedTag;
-import com.minjeok4go.petplace.feed.entity.Tag;
 import com.minjeok4go.petplace.feed.repository.FeedRepository;
 import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
-import com.minjeok4go.petplace.feed.repository.TagRepository;
 import com.minjeok4go.petplace.image.dto.FeedImageRequest;
+import com.minjeok4go.petplace.image.dto.ImageRequest;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
-import com.minjeok4go.petplace.image.entity.Image;
 import com.minjeok4go.petplace.image.repository.ImageRepository;
-import com.minjeok4go.petplace.like.repository.LikeRepository;
+import com.minjeok4go.petplace.image.service.ImageService;
+import com.minjeok4go.petplace.like.service.LikeCounterService;
 import com.minjeok4go.petplace.user.entity.User;
+import com.minjeok4go.petplace.user.service.FeedFeatureService;
 import com.minjeok4go.petplace.user.service.RecommendationCacheService;
 import com.minjeok4go.petplace.user.service.UserExperienceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FeedService {
 
+    private static final int MAX_LIST_SIZE = 50;
+
     private final FeedRepository feedRepository;
     private final FeedTagRepository feedTagRepository;
-    private final CommentRepository commentRepository;
-    private final TagRepository tagRepository;
+    private final CommentTreeLoader commentTreeLoader;
+    private final FeedDetailHydrator feedDetailHydrator;
+    private final TagDictionary tagDictionary;
+    private final JdbcTemplate jdbcTemplate;
     private final ImageRepository imageRepository;
-    private final LikeRepository likeRepository;
+    private final ImageService imageService;
+    private final LikeCounterService likeCounterService;
+    private final ViewCountService viewCountService;
     private final RecommendationCacheService recommendationCacheService; // ⬅ 추가
+    private final FeedFeatureService feedFeatureService;
     private final UserExperienceService expService;
+    private final ApplicationEventPublisher publisher;
 
 
     @Transactional(readOnly = true)
@@ -51,29 +61,25 @@ public class FeedService {
         Feed feed = feedRepository.findByIdAndDeletedAtIsNull(feedId)
                 .orElseThrow(() -> new RuntimeException("Feed not found"));
 
-        return mapFeedToDetail(feed, user);
-    }
+        // 조회수는 버퍼에 기록하고 주기적으로 일괄 반영 (상세 조회는 읽기 전용 유지)
+        viewCountService.record(RefType.FEED, feed.getId(), user.getId());
 
-//    private FeedComment mapCommentWithRepliesFiltered(Comment comment) {
-//        List<FeedComment> replyDtos = comment.getReplies().stream()
-//                .filter(r -> r.getDeletedAt() == null) // 대댓글도 삭제 제외
-//                .sorted(Comparator.comparing(Comment::getId)) // 또는 createdAt
-//                .map(this::mapCommentWithRepliesFiltered)
-//                .toList();
-//
-//        return new FeedComment(comment, replyDtos);
-//    }
-    private FeedComment mapCommentWithRepliesFiltered(Comment comment) {
-        // 대댓글은 항상 쿼리로 재조회 → soft delete/동시성 즉시 반영
-        List<Comment> activeReplies =
-                commentRepository.findByParentCommentIdAndDeletedAtIsNullOrderByIdAsc(comment.getId());
+        return toDetail(feed, user);
+    }
 
-        List<FeedComment> replyDtos = activeReplies.stream()
-                .map(this::mapCommentWithRepliesFiltered)
-                .toList();
+    // 작성/수정 응답용 상세 (작성자 본인 조회로 조회수가 늘지 않도록 기록 없이 조립만)
+    private FeedDetailResponse loadFeedDetail(Long feedId, User user) {
+        Feed feed = feedRepository.findByIdAndDeletedAtIsNull(feedId)
+                .orElseThrow(() -> new RuntimeException("Feed not found"));
+        return toDetail(feed, user);
+    }
 
-        return new FeedComment(comment, replyDtos);
+    private FeedDetailResponse toDetail(Feed feed, User user) {
+        FeedDetailResponse dto = mapFeedToDetail(feed, user);
+        dto.setViews(viewCountService.approximate(RefType.FEED, feed.getId(), feed.getViews()));
+        return dto;
     }
+
     @Transactional
     public FeedDetailResponse createFeed(CreateFeedRequest req, User user) {
         // 1) 피드 저장
@@ -81,12 +87,13 @@ public class FeedService {
 
         Feed saved = feedRepository.save(feed);
 
-        syncTags(feed.getId(), req.getTagIds());
+        syncTags(saved, req.getTagIds());
         syncImages(feed.getId(), req.getImages());
 
         expService.applyActivity(user, ActivityType.FEED_CREATE);
+        publisher.publishEvent(new FeedCreatedEvent(saved.getId(), user.getId(), user.getRegionId()));
 
-        return getFeedDetail(saved.getId(), user);
+        return loadFeedDetail(saved.getId(), user);
     }
 
     @Transactional
@@ -106,10 +113,11 @@ public class FeedService {
 
         Feed saved = feedRepository.save(feed);
 
-        syncTags(feed.getId(), req.getTagIds());
+        syncTags(saved, req.getTagIds());
         syncImages(feed.getId(), req.getImages());
+        feedFeatureService.evict(feed.getId());
 
-        return getFeedDetail(saved.getId(), user);
+        return loadFeedDetail(saved.getId(), user);
     }
 
     @Transactional
@@ -120,14 +128,16 @@ public class FeedService {
 
         feed.delete();
         feedRepository.save(feed);
+        feedFeatureService.evict(feed.getId());
 
         expService.applyActivity(user, ActivityType.FEED_DELETE);
 
         return new DeleteFeedResponse(id);
     }
 
-    private void syncTags(Long feedId, List<Long> requestedTagIds) {
+    private void syncTags(Feed feed, List<Long> requestedTagIds) {
         if (requestedTagIds == null) requestedTagIds = List.of();
+        Long feedId = feed.getId();
 
         Set<Long> requested = new HashSet<>(requestedTagIds);
         List<Long> existing = feedTagRepository.findTagIdsByFeedId(feedId);
@@ -140,32 +150,36 @@ public class FeedService {
             feedTagRepository.deleteByFeedIdAndTagIdIn(feedId, toDelete);
         }
 
-        // 추가 대상 = 요청 - 기존
-        Set<Long> toAdd = new HashSet<>(requested);
+        // 추가 대상 = 요청 - 기존 (태그 존재 여부는 메모리 사전으로 확인, INSERT 는 JDBC 배치 1번)
+        List<Long> toAdd = new ArrayList<>(requested);
         toAdd.removeAll(existingSet);
         if (!toAdd.isEmpty()) {
-            List<Tag> tags = tagRepository.findByIdIn(toAdd);
-            Map<Long, Tag> idToTag = tags.stream().collect(Collectors.toMap(Tag::getId, t -> t));
-            List<FeedTag> feedTags = toAdd.stream()
-                    .map(tagId -> new FeedTag(new Feed(feedId), idToTag.get(tagId))) // or use feed reference ctor
-                    .toList();
-            feedTagRepository.saveAll(feedTags);
+            for (Long tagId : toAdd) {
+                if (tagId == null || tagDictionary.nameOf(tagId) == null) {
+                    throw new IllegalArgumentException("존재하지 않는 태그입니다: " + tagId);
+                }
+            }
+            // 태그 타임라인 정렬용으로 작성 시각을 함께 기록
+            Timestamp createdAt = Timestamp.valueOf(feed.getCreatedAt());
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO feed_tags (feed_id, tag_id, feed_created_at) VALUES (?, ?, ?)",
+                    toAdd, toAdd.size(), (ps, tagId) -> {
+                        ps.setLong(1, feedId);
+                        ps.setLong(2, tagId);
+                        ps.setTimestamp(3, createdAt);
+                    });
         }
 
     }
 
+    // 기존 이미지와 비교해 바뀐 것만 반영 (유지되는 이미지는 id 그대로)
     private void syncImages(Long feedId, List<FeedImageRequest> requested) {
         if (requested == null) requested = List.of();
 
-        imageRepository.deleteAllByRef(RefType.FEED, feedId);
-
-        if (!requested.isEmpty()) {
-            List<Image> toAdd = requested.stream()
-                    .map(ir -> new Image(feedId, RefType.FEED, ir.getSrc(), ir.getSort()))
-                    .toList();
-            imageRepository.saveAll(toAdd);
-        }
-
+        List<ImageRequest> wanted = requested.stream()
+                .map(ir -> new ImageRequest(feedId, RefType.FEED, ir.getSrc(), ir.getSort()))
+                .toList();
+        imageService.syncImages(RefType.FEED, feedId, wanted);
     }
 
     @Transactional(readOnly = true)
@@ -173,41 +187,35 @@ public class FeedService {
         return feedRepository.findById(id);
     }
 
-    @Transactional
-    public FeedLikeResponse increaseLike(Feed feed) {
-        feed.increaseLikes();
-        feedRepository.save(feed);
-
-
-        return new FeedLikeResponse(feed.getId(),true, feed.getLikes());
-    }
-
-    @Transactional
-    public FeedLikeResponse decreaseLike(Feed feed) {
-        feed.decreaseLikes();
-        feedRepository.save(feed);
-
+    @Transactional(readOnly = true)
+    public List<FeedDetailResponse> findByUserId(User user, int page, int size, int commentPreview) {
+        Slice<Feed> feeds = feedRepository.findByUserIdAndDeletedAtIsNullOrderByIdDesc(
+                user.getId(), listPage(page, size));
 
-        return new FeedLikeResponse(feed.getId(),false, feed.getLikes());
+        // 목록은 피드 수와 무관한 고정 쿼리 수로 일괄 조립 (상세의 mapFeedToDetail 은 단건 전용)
+        return feedDetailHydrator.hydrate(feeds.getContent(), user.getId(), commentPreview);
     }
 
     @Transactional(readOnly = true)
-    public List<FeedDetailResponse> findByUserId(User user) {
+    public List<FeedDetailResponse> findByIdWhereUserId(User user, int page, int size, int commentPreview) {
+        Slice<Feed> feeds = feedRepository.findLikedFeedsByUserId(user.getId(), listPage(page, size));
 
-        List<Feed> feeds = feedRepository.findByUserId(user.getId());
-
-        return feeds.stream()
-                .map(feed -> mapFeedToDetail(feed, user))
+        // 목록 멤버십은 likes 테이블(몇 초 주기 flush) 기준이라, 방금 취소해 Redis 에선 이미 false 인 피드는 제외.
+        // 방금 누른 좋아요는 다음 flush 이후부터 목록에 나타남
+        return feedDetailHydrator.hydrate(feeds.getContent(), user.getId(), commentPreview).stream()
+                .filter(FeedDetailResponse::getLiked)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<FeedDetailResponse> findByIdWhereUserId(User user) {
-        List<Feed> feeds = feedRepository.findLikedFeedsByUserId(user.getId());
-
-        return feeds.stream()
-                .map(feed -> mapFeedToDetail(feed, user))
-                .toList();
+    // 목록 페이지 검증 (size 는 타임라인과 같은 상한으로 자름)
+    private static PageRequest listPage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        return PageRequest.of(page, Math.min(size, MAX_LIST_SIZE));
     }
 
     private FeedDetailResponse mapFeedToDetail(Feed feed, User user) {
@@ -215,20 +223,16 @@ public class FeedService {
 //        List<TagResponse> tagDtos = feed.getFeedTags().stream()
 //                .map(ft -> new TagResponse(ft.getTag().getId(), ft.getTag().getName()))
 //                .toList();
-        // 1) tags (NULL SAFE)
+        // 1) tags (NULL SAFE, 이름은 메모리 사전에서 → 태그 프록시 초기화 없음)
         List<TagResponse> tagDtos =
                 Optional.ofNullable(feed.getFeedTags())            // ★ null → empty
                         .orElse(Collections.emptySet())
                         .stream()
-                        .map(ft -> new TagResponse(ft.getTag().getId(), ft.getTag().getName()))
+                        .map(ft -> tagDictionary.toResponse(ft.getTag().getId()))
                         .toList();
 
-        // 최상위 댓글 + 대댓글 트리
-        List<Comment> comments = commentRepository.findByFeedAndDeletedAtIsNullOrderByIdAsc(feed);
-        List<FeedComment> commentDtos = comments.stream()
-                .filter(c -> c.getParentComment() == null)
-                .map(this::mapCommentWithRepliesFiltered)  // 대댓글 재조회 버전
-                .toList();
+        // 최상위 댓글 + 대댓글 트리 (쿼리 1번, 총 개수도 같은 결과에서)
+        CommentTreeLoader.CommentTree commentTree = commentTreeLoader.load(feed.getId());
 
         // images
         List<ImageResponse> imageDtos = imageRepository
@@ -237,16 +241,13 @@ public class FeedService {
                 .map(img -> new ImageResponse(img.getId(), img.getSrc(), img.getSort()))
                 .toList();
 
-        boolean liked = likeRepository.existsByFeedAndUser(feed, user);
-
-        // DTO 생성 (생성자 시그니처 그대로 유지)
-        FeedDetailResponse dto =
-                new FeedDetailResponse(feed, liked, tagDtos, imageDtos, comments, commentDtos);
-
-        // ✔ 실제 총 댓글 수(소프트 삭제 제외)로 덮어쓰기
-        long total = commentRepository.countByFeedIdAndDeletedAtIsNull(feed.getId());
-        dto.setCommentCount(Math.toIntExact(total));
+        // 좋아요는 write-behind 라 Redis 에 워밍된 피드면 미반영 변경까지 포함한 값을 사용
+        boolean liked = likeCounterService.isLiked(feed.getId(), user.getId());
 
+        FeedDetailResponse dto = new FeedDetailResponse(feed, liked, tagDtos, imageDtos,
+                commentTree.threads(), commentTree.totalCount());
+        Integer likeCount = likeCounterService.peekCount(feed.getId());
+        if (likeCount != null) dto.setLikes(likeCount);
         return dto;
     }
 
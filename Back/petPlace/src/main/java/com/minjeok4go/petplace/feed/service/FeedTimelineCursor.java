@@ -0,0 +1,37 @@
+package com.minjeok4go.petplace.feed.service;
+
+//(타임라인 keyset 커서 - 클라이언트에는 Base64URL 불투명 문자열로만 노출)
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * @param createdAt 직전 페이지 마지막 글의 작성 시각
+ * @param id        같은 작성 시각일 때의 tiebreak 기준 feedId
+ */
+record FeedTimelineCursor(LocalDateTime createdAt, long id) {
+
+    private static final String VERSION = "v1";
+
+    // 첫 페이지: 모든 글보다 뒤 (MySQL DATETIME 상한)
+    static final FeedTimelineCursor FIRST = new FeedTimelineCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    String encode() {
+        String raw = String.join("|", VERSION, createdAt.toString(), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** null/빈 문자열이면 첫 페이지, 형식이 잘못되면 IllegalArgumentException */
+    static FeedTimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] p = raw.split("\\|", -1);
+            if (p.length != 3 || !VERSION.equals(p[0])) throw new IllegalArgumentException();
+            return new FeedTimelineCursor(LocalDateTime.parse(p[1]), Long.parseLong(p[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
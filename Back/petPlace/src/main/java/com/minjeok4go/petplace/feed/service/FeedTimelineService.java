@@ -0,0 +1,146 @@
+package com.minjeok4go.petplace.feed.service;
+
+import com.minjeok4go.petplace.common.constant.FeedCategory;
+import com.minjeok4go.petplace.feed.dto.FeedDetailResponse;
+import com.minjeok4go.petplace.feed.dto.FeedTimelineResponse;
+import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
+import com.minjeok4go.petplace.feed.repository.FeedRepository.TimelineRow;
+import com.minjeok4go.petplace.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 지역 / 카테고리 / 태그 타임라인 (최신순, (created_at, id) keyset 페이지네이션).
+ *
+ * - OFFSET 없이 직전 페이지 마지막 (created_at, id) 뒤부터 읽으므로 깊은 페이지도 인덱스 범위 스캔 1번
+ * - 필터 조합별 쿼리가 각자의 복합 인덱스(idx_feeds_*_deleted_created, 태그는 idx_feed_tags_tag_created)를 타도록 분리
+ * - 태그 없는 첫 페이지는 (지역, 카테고리, size) 단위로 Redis 에 id 목록만 짧게 캐시 (좋아요 여부 등은 매번 조립)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedTimelineService {
+
+    private static final String FIRST_PAGE_KEY_PREFIX = "timeline:first:"; // STRING: timeline:first:<region>:<category>:<size> -> "id@createdAt,..."
+    private static final Duration FIRST_PAGE_TTL = Duration.ofSeconds(30);
+    private static final int MAX_SIZE = 50;
+
+    private final FeedRepository feedRepository;
+    private final FeedDetailHydrator feedDetailHydrator;
+    private final StringRedisTemplate redis;
+
+    @Transactional(readOnly = true)
+    public FeedTimelineResponse getTimeline(User user, Long regionId, String category, Long tagId,
+                                            String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        final int pageSize = Math.min(size, MAX_SIZE);
+        final FeedCategory feedCategory = parseCategory(category);
+        final FeedTimelineCursor from = FeedTimelineCursor.decode(cursor);
+
+        // size + 1 개를 읽어 다음 페이지 존재 여부 판단
+        List<TimelineRow> rows = (from == FeedTimelineCursor.FIRST && tagId == null)
+                ? firstPage(regionId, feedCategory, pageSize)
+                : query(regionId, feedCategory, tagId, from, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) rows = rows.subList(0, pageSize);
+        String nextCursor = hasNext
+                ? new FeedTimelineCursor(rows.get(rows.size() - 1).getCreatedAt(), rows.get(rows.size() - 1).getId()).encode()
+                : null;
+
+        return new FeedTimelineResponse(hydrate(rows, user), nextCursor, hasNext);
+    }
+
+    private List<TimelineRow> query(Long regionId, FeedCategory category, Long tagId,
+                                    FeedTimelineCursor from, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        LocalDateTime at = from.createdAt();
+        long id = from.id();
+        if (tagId != null) {
+            return feedRepository.findTimelineByTag(tagId, regionId, category, at, id, page);
+        }
+        if (regionId != null && category != null) {
+            return feedRepository.findTimelineByRegionAndCategory(regionId, category, at, id, page);
+        }
+        if (regionId != null) {
+            return feedRepository.findTimelineByRegion(regionId, at, id, page);
+        }
+        if (category != null) {
+            return feedRepository.findTimelineByCategory(category, at, id, page);
+        }
+        return feedRepository.findTimeline(at, id, page);
+    }
+
+    /** 첫 페이지 id 목록 캐시 (size + 1 개 그대로 저장해 hasNext 판단도 캐시로) */
+    private List<TimelineRow> firstPage(Long regionId, FeedCategory category, int pageSize) {
+        String key = FIRST_PAGE_KEY_PREFIX + (regionId == null ? "all" : regionId)
+                + ":" + (category == null ? "all" : category.name()) + ":" + pageSize;
+        try {
+            String cached = redis.opsForValue().get(key);
+            if (cached != null) return decodeRows(cached);
+        } catch (Exception e) {
+            log.warn("[Timeline] first page cache read failed key={}", key, e);
+        }
+
+        List<TimelineRow> rows = query(regionId, category, null, FeedTimelineCursor.FIRST, pageSize + 1);
+        try {
+            redis.opsForValue().set(key, encodeRows(rows), FIRST_PAGE_TTL);
+        } catch (Exception e) {
+            log.warn("[Timeline] first page cache write failed key={}", key, e);
+        }
+        return rows;
+    }
+
+    /** id 순서대로 엔티티 로드 후 일괄 조립 (사이에 삭제된 글은 빠짐) */
+    private List<FeedDetailResponse> hydrate(List<TimelineRow> rows, User user) {
+        if (rows.isEmpty()) return List.of();
+        List<Long> ids = rows.stream().map(TimelineRow::getId).toList();
+        Map<Long, Feed> byId = feedRepository.findAllActiveByIdIn(ids).stream()
+                .collect(Collectors.toMap(Feed::getId, Function.identity()));
+        List<Feed> ordered = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return feedDetailHydrator.hydrate(ordered, user.getId(), 0);
+    }
+
+    private static FeedCategory parseCategory(String category) {
+        if (category == null || category.isBlank()) return null;
+        try {
+            return FeedCategory.valueOf(category);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 카테고리입니다: " + category);
+        }
+    }
+
+    private static String encodeRows(List<TimelineRow> rows) {
+        return rows.stream()
+                .map(r -> r.getId() + "@" + r.getCreatedAt())
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<TimelineRow> decodeRows(String s) {
+        if (s.isEmpty()) return List.of();
+        List<TimelineRow> out = new ArrayList<>();
+        for (String part : s.split(",")) {
+            int at = part.indexOf('@');
+            out.add(new CachedRow(Long.parseLong(part.substring(0, at)), LocalDateTime.parse(part.substring(at + 1))));
+        }
+        return out;
+    }
+
+    private record CachedRow(Long id, LocalDateTime createdAt) implements TimelineRow {
+        @Override public Long getId() { return id; }
+        @Override public LocalDateTime getCreatedAt() { return createdAt; }
+    }
+}
@@ -0,0 +1,114 @@
+package com.minjeok4go.petplace.feed.service;
+
+import com.minjeok4go.petplace.feed.dto.TagResponse;
+import com.minjeok4go.petplace.feed.entity.Tag;
+import com.minjeok4go.petplace.feed.repository.TagRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 태그 id ↔ 이름 사전 (인스턴스 로컬, 불변 스냅샷).
+ *
+ * 태그는 거의 바뀌지 않으므로 전체를 메모리에 올려두고 id 를 배열 인덱스로 바로 찾습니다.
+ * - 조회 경로(/api/feeds/tags, 피드 조립, CBF 가산점)는 DB 왕복 없이 스냅샷만 읽음
+ * - 스냅샷은 통째로 교체 (읽는 쪽 락 없음)
+ * - version 은 (id, name) 목록의 CRC32 라 인스턴스가 달라도 같은 내용이면 같은 ETag
+ *
+ * 갱신: 태그는 앱에서 쓰지 않고 DB 에서 직접 관리하므로 주기 재로딩(tag.refresh-delay-ms, 기본 5분)만 사용.
+ * - 새 태그는 최대 한 주기 늦게 목록에 보이고, 그 전에 들어온 id 는 nameOf 의 miss 재로딩이 메움
+ * - 태그 쓰기 API 를 추가하면 그 경로에서 {@link #reload()} 를 부르고 다른 인스턴스 알림을 붙일 것
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    /** 사전에 없는 id 조회 시 재로딩 최소 간격 (DB 에 직접 추가된 태그 대비, 폭주 방지) */
+    private static final long MISS_RELOAD_INTERVAL_MS = 10_000;
+
+    private final TagRepository tagRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicLong lastMissReloadAt = new AtomicLong();
+
+    /**
+     * @param names   id → 이름 (없는 id 는 null)
+     * @param all     id 오름차순 전체 목록 (응답 그대로 재사용, 불변)
+     * @param version 내용 해시 (ETag 용)
+     */
+    record Snapshot(String[] names, List<TagResponse> all, String version) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], List.of(), "0");
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /** 태그 이름, 없으면 null (스냅샷보다 새 id 면 간격 제한 하에 1회 재로딩) */
+    public String nameOf(long tagId) {
+        String[] names = snapshot.names();
+        if (tagId >= 0 && tagId < names.length) return names[(int) tagId];
+        if (tagId < 0) return null;
+
+        long now = System.currentTimeMillis();
+        long last = lastMissReloadAt.get();
+        if (now - last >= MISS_RELOAD_INTERVAL_MS && lastMissReloadAt.compareAndSet(last, now)) {
+            reload();
+            names = snapshot.names();
+            if (tagId < names.length) return names[(int) tagId];
+        }
+        return null;
+    }
+
+    public TagResponse toResponse(long tagId) {
+        return new TagResponse(tagId, nameOf(tagId));
+    }
+
+    /** id 오름차순 전체 목록 (불변) */
+    public List<TagResponse> all() {
+        return snapshot.all();
+    }
+
+    /** 현재 스냅샷의 내용 버전 */
+    public String version() {
+        return snapshot.version();
+    }
+
+    /** 주기 재로딩 (DB 에서 직접 추가/수정한 태그 반영, 내용이 같으면 교체하지 않음) */
+    @Scheduled(fixedDelayString = "${tag.refresh-delay-ms:300000}", initialDelayString = "${tag.refresh-delay-ms:300000}")
+    public void reload() {
+        try {
+            Snapshot next = build(tagRepository.findAllByOrderByIdAsc());
+            if (!next.version().equals(snapshot.version())) {
+                snapshot = next;
+                log.info("[Tag] dictionary loaded size={} version={}", next.all().size(), next.version());
+            }
+        } catch (Exception e) {
+            // 기존 스냅샷 유지
+            log.warn("[Tag] dictionary reload failed", e);
+        }
+    }
+
+    static Snapshot build(List<Tag> tags) {
+        long maxId = tags.isEmpty() ? -1 : tags.get(tags.size() - 1).getId();
+        String[] names = new String[(int) maxId + 1];
+        TagResponse[] all = new TagResponse[tags.size()];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < tags.size(); i++) {
+            Tag t = tags.get(i);
+            names[t.getId().intValue()] = t.getName();
+            all[i] = new TagResponse(t.getId(), t.getName());
+            crc.update((t.getId() + "=" + t.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return new Snapshot(names, List.of(all), Long.toHexString(crc.getValue()));
+    }
+}
@@ -5,7 +5,6 @@ import com.minjeok4go.petplace.feed.entity.Tag;
 import com.minjeok4go.petplace.feed.repository.TagRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,18 +14,25 @@ import java.util.List;
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final TagDictionary tagDictionary;
 
-
+    // 메모리 사전 스냅샷 그대로 반환 (DB 조회 없음)
     public List<TagResponse> getTagAll() {
+        return tagDictionary.all();
+    }
 
-        List<Tag> tags = tagRepository.findAllByOrderByIdAsc();
-
-        return tags.stream()
-                .map(t -> new TagResponse(t.getId(), t.getName())).toList();
+    // 전체 목록 ETag (내용이 같으면 인스턴스와 무관하게 같은 값)
+    public String getTagVersion() {
+        return "\"tags-" + tagDictionary.version() + "\"";
     }
 
     public TagResponse getTagById(Long id) {
 
+        String name = tagDictionary.nameOf(id);
+        if (name != null) {
+            return new TagResponse(id, name);
+        }
+
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tag not found"));
 
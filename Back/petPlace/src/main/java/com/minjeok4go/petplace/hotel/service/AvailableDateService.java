@@ -4,11 +4,14 @@ import com.minjeok4go.petplace.hotel.entity.AvailableDate;
 import com.minjeok4go.petplace.hotel.repository.AvailableDateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,35 +21,39 @@ import java.util.stream.Collectors;
 @Transactional
 public class AvailableDateService {
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final AvailableDateRepository availableDateRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * 특정 호텔에 대해 날짜 범위의 예약 가능 날짜들을 생성
-     * 기존에 존재하는 날짜는 스킵
+     * 기존에 존재하는 날짜는 스킵 (uk_hotel_date + ON DUPLICATE KEY UPDATE id = id, 날짜별 존재 확인 쿼리 없음)
+     * INSERT IGNORE 는 FK 위반(없는 호텔)/데이터 오류까지 경고로 삼키므로 쓰지 않음
      */
     public void createAvailableDates(Long hotelId, LocalDate startDate, LocalDate endDate) {
         log.info("호텔 ID {}에 대해 {}부터 {}까지 예약 가능 날짜 생성 시작", hotelId, startDate, endDate);
 
-        List<AvailableDate> availableDates = new ArrayList<>();
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            // 이미 존재하는 날짜는 스킵
-            if (!availableDateRepository.existsByHotelIdAndDate(hotelId, currentDate)) {
-                AvailableDate availableDate = AvailableDate.builder()
-                        .hotelId(hotelId)
-                        .date(currentDate)
-                        .status(AvailableDate.AvailabilityStatus.AVAILABLE)
-                        .build();
-                availableDates.add(availableDate);
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-
-        if (!availableDates.isEmpty()) {
-            availableDateRepository.saveAll(availableDates);
-            log.info("호텔 ID {}에 대해 {}개의 예약 가능 날짜 생성 완료", hotelId, availableDates.size());
+        if (startDate.isAfter(endDate)) {
+            return;
         }
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+
+        // IDENTITY 라 saveAll 은 행마다 INSERT → JDBC 배치 1번으로 저장
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO available_dates (hotel_id, date, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE id = id",
+                dates, INSERT_BATCH_SIZE, (ps, date) -> {
+                    ps.setLong(1, hotelId);
+                    ps.setDate(2, Date.valueOf(date));
+                    ps.setString(3, AvailableDate.AvailabilityStatus.AVAILABLE.name());
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                });
+
+        // 영향 행 수는 중복 스킵도 1 로 세므로(found rows) 요청 일수만 기록
+        log.info("호텔 ID {}에 대해 예약 가능 날짜 생성 완료 (요청 {}일, 기존 날짜는 유지)", hotelId, dates.size());
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.minjeok4go.petplace.image.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImageSyncResult {
+    // 새로 추가된 이미지 id (요청 순서)
+    private List<Long> addedIds;
+    // 삭제된 이미지 id
+    private List<Long> removedIds;
+    // src 는 그대로이고 sort 만 바뀐 개수
+    private int resorted;
+
+    public boolean isChanged() {
+        return !addedIds.isEmpty() || !removedIds.isEmpty() || resorted > 0;
+    }
+}
@@ -10,7 +10,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "images")
+@Table(name = "images",
+        indexes = {
+                // ref 단위 조회/동기화 (ref_type, ref_id) + 정렬
+                @Index(name = "idx_images_ref_sort", columnList = "ref_type, ref_id, sort")
+        })
 @Getter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
@@ -12,7 +12,20 @@ import java.util.Optional;
 
 public interface ImageRepository extends JpaRepository<Image, Long> {
 
+    // 이미지 세트 동기화용 경량 조회 (엔티티를 영속성 컨텍스트에 올리지 않음)
+    interface ImageSlot {
+        Long getId();
+        String getSrc();
+        Integer getSort();
+    }
 
+    @Query("""
+        select i.id as id, i.src as src, i.sort as sort
+        from Image i
+        where i.refType = :type and i.refId = :refId
+        order by i.sort asc, i.id asc
+        """)
+    List<ImageSlot> findSlotsByRef(@Param("type") RefType type, @Param("refId") Long refId);
 
     // ✅ 추가: 다건 배치 로딩 (정렬 포함)
     List<Image> findAllByRefTypeAndRefIdInOrderBySortAsc(RefType refType, List<Long> refIds);
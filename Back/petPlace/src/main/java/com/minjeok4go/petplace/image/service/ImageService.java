@@ -3,12 +3,19 @@ package com.minjeok4go.petplace.image.service;
 import com.minjeok4go.petplace.common.constant.RefType;
 import com.minjeok4go.petplace.image.dto.ImageRequest;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
+import com.minjeok4go.petplace.image.dto.ImageSyncResult;
 
 import java.util.List;
 
 public interface ImageService {
     ImageResponse createImages(ImageRequest req);
 
+    // 다건 저장 (JDBC 배치 1회), 생성된 id 를 요청 순서대로 반환
+    List<Long> createImages(List<ImageRequest> reqs);
+
+    // 요청 목록(src, sort)과 기존 이미지를 비교해 추가/정렬 변경/삭제만 반영 (유지되는 이미지는 id 그대로)
+    ImageSyncResult syncImages(RefType refType, Long refId, List<ImageRequest> requested);
+
     List<ImageResponse> getImages(RefType refType, Long refId);
 
 
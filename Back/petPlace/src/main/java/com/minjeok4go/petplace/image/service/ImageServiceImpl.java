@@ -3,20 +3,34 @@ package com.minjeok4go.petplace.image.service;
 import com.minjeok4go.petplace.common.constant.RefType;
 import com.minjeok4go.petplace.image.dto.ImageRequest;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
+import com.minjeok4go.petplace.image.dto.ImageSyncResult;
 import com.minjeok4go.petplace.image.entity.Image;
 import com.minjeok4go.petplace.image.repository.ImageRepository;
+import com.minjeok4go.petplace.image.repository.ImageRepository.ImageSlot;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ImageServiceImpl implements ImageService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO images (ref_id, ref_type, src, sort, created_at) VALUES (?, ?, ?, ?, ?)";
+
     private final ImageRepository imageRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,6 +50,97 @@ public class ImageServiceImpl implements ImageService {
         image = imageRepository.save(image);
         return new ImageResponse(image.getId(), image.getSrc(), image.getSort());
     }
+
+    /**
+     * IDENTITY 전략이라 JPA saveAll 은 행마다 INSERT 를 따로 보냄 → JDBC 배치로 직접 저장.
+     * (rewriteBatchedStatements=true 면 multi-row INSERT 1번, 생성 키도 요청 순서대로 돌려받음)
+     * sort 가 비어 있으면 요청 순서(0부터)를 사용합니다 (syncImages 와 동일).
+     */
+    @Override
+    @Transactional
+    public List<Long> createImages(List<ImageRequest> reqs) {
+        if (reqs == null || reqs.isEmpty()) return List.of();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < reqs.size(); i++) {
+                    ImageRequest r = reqs.get(i);
+                    ps.setLong(1, r.getRefId());
+                    ps.setString(2, r.getRefType().name());
+                    ps.setString(3, r.getSrc());
+                    ps.setInt(4, r.getSort() != null ? r.getSort() : i);
+                    ps.setTimestamp(5, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(reqs.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) keys.add(rs.getLong(1));
+                }
+                return keys;
+            }
+        });
+        return ids == null ? List.of() : ids;
+    }
+
+    /**
+     * 기존 이미지와 요청 목록을 src 기준으로 맞춰 보고 바뀐 것만 반영.
+     * - 같은 src 가 남아 있으면 행(id)을 그대로 두고 sort 만 갱신 → AI 인덱스의 이미지 id 가 유지됨
+     * - 새 src 는 배치 INSERT, 요청에서 빠진 행만 DELETE
+     * sort 가 비어 있으면 요청 순서(0부터)를 사용합니다.
+     */
+    @Override
+    @Transactional
+    public ImageSyncResult syncImages(RefType refType, Long refId, List<ImageRequest> requested) {
+        List<ImageRequest> wanted = requested == null ? List.of() : requested;
+
+        // src -> 기존 행들 (같은 src 가 여러 장이면 sort 순서대로 하나씩 매칭)
+        Map<String, Deque<ImageSlot>> existingBySrc = new HashMap<>();
+        for (ImageSlot slot : imageRepository.findSlotsByRef(refType, refId)) {
+            existingBySrc.computeIfAbsent(slot.getSrc(), k -> new ArrayDeque<>()).add(slot);
+        }
+
+        List<ImageRequest> toInsert = new ArrayList<>();
+        List<long[]> toResort = new ArrayList<>(); // {id, sort}
+        for (int i = 0; i < wanted.size(); i++) {
+            ImageRequest r = wanted.get(i);
+            if (r == null) continue;
+            if (r.getSrc() == null || r.getSrc().isBlank()) {
+                throw new IllegalArgumentException("이미지 경로가 비어 있습니다.");
+            }
+            int sort = r.getSort() != null ? r.getSort() : i;
+
+            Deque<ImageSlot> same = existingBySrc.get(r.getSrc());
+            ImageSlot kept = same == null ? null : same.pollFirst();
+            if (kept == null) {
+                toInsert.add(new ImageRequest(refId, refType, r.getSrc(), sort));
+            } else if (kept.getSort() == null || kept.getSort() != sort) {
+                toResort.add(new long[]{kept.getId(), sort});
+            }
+        }
+
+        List<Long> removedIds = existingBySrc.values().stream()
+                .flatMap(Collection::stream)
+                .map(ImageSlot::getId)
+                .toList();
+
+        if (!removedIds.isEmpty()) {
+            imageRepository.deleteAllByIdInBatch(removedIds);
+        }
+        if (!toResort.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE images SET sort = ? WHERE id = ?",
+                    toResort, toResort.size(), (ps, u) -> {
+                        ps.setInt(1, (int) u[1]);
+                        ps.setLong(2, u[0]);
+                    });
+        }
+        List<Long> addedIds = createImages(toInsert);
+
+        return new ImageSyncResult(addedIds, removedIds, toResort.size());
+    }
+
     @Override
     @Transactional
     public ImageResponse deleteImages(Long id) {
@@ -32,12 +32,16 @@ public class LikeController {
 
     @Operation(
             summary = "좋아요 피드 조회",
-            description = "토큰으로 받아온 유저 정보에 해당하는 피드들을 반환합니다."
+            description = "토큰으로 받아온 유저 정보에 해당하는 피드들을 최근 좋아요 순으로 page/size 만큼 반환합니다. (size 최대 50)\n" +
+                    "commentPreview 개수만큼 최상위 댓글 미리보기를 포함합니다."
     )
     @GetMapping("/me")
-    public List<FeedDetailResponse> getLikeFeed(@AuthenticationPrincipal String tokenUserId) {
+    public List<FeedDetailResponse> getLikeFeed(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @RequestParam(defaultValue = "3") int commentPreview,
+                                                 @AuthenticationPrincipal String tokenUserId) {
         User me = authService.getUserFromToken(tokenUserId);
-        return feedService.findByIdWhereUserId(me);
+        return feedService.findByIdWhereUserId(me, page, size, commentPreview);
     }
 
     @Operation(
@@ -1,6 +1,7 @@
 package com.minjeok4go.petplace.like.repository;
 
 import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
 import com.minjeok4go.petplace.like.entity.Likes;
 import com.minjeok4go.petplace.user.entity.User;
 import jakarta.transaction.Transactional;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -23,6 +25,14 @@ public interface LikeRepository extends JpaRepository<Likes, Long> {
     @Query("select l.feed.id from Likes l where l.user.id = :uid")
     List<Long> findFeedIdsByUserId(@Param("uid") Long userId);
 
+    // 유저 청크 단위 좋아요 (userId, feedId) 벌크 조회
+    @Query("select l.user.id as userId, l.feed.id as feedId from Likes l where l.user.id in :uids")
+    List<FeedRepository.UserFeedPair> findUserFeedPairsByUserIdIn(@Param("uids") Collection<Long> userIds);
+
+    // 좋아요 멤버십 Redis 워밍용 (LikeCounterService)
+    @Query("select l.user.id from Likes l where l.feed.id = :feedId")
+    List<Long> findUserIdsByFeedId(@Param("feedId") Long feedId);
+
     boolean existsByFeedIdAndUserId(Long feedId, Long userId);
     Optional<Likes> findByFeedIdAndUserId(Long feedId, Long userId); // ← 여기 타입 꼭 Likes
     int deleteByFeedIdAndUserId(Long feedId, Long userId);
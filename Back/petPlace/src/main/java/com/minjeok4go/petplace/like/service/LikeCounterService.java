@@ -0,0 +1,194 @@
+package com.minjeok4go.petplace.like.service;
+
+import com.minjeok4go.petplace.like.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 좋아요 멤버십/카운트의 Redis 저장소 (write-behind).
+ *
+ * - like:m:<feedId> SET : 좋아요한 userId 들 + 워밍 표시용 센티넬("-") → 카운트 = SCARD - 1
+ * - like:ops HASH       : "<feedId>:<userId>" -> "1:<epochMillis>"(좋아요) / "0"(취소), 마지막 상태만 남김
+ *
+ * 좋아요/취소는 Lua 스크립트 한 번으로 멤버십 변경 + 변경분 기록 + 카운트 조회를 원자적으로 처리하므로
+ * feeds 행 락이나 COUNT(*) 없이 Redis 처리량만큼 확장됩니다.
+ * DB(likes 테이블, feeds.likes)는 {@link LikeFlushScheduler} 가 몇 초마다 일괄 반영합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeCounterService {
+
+    static final String MEMBERS_KEY_PREFIX = "like:m:";
+    static final String OPS_KEY = "like:ops";
+    private static final Duration MEMBERS_TTL = Duration.ofDays(7);
+
+    /**
+     * 멤버십 변경 (원자적, 1 RTT). 워밍 안 된 피드면 -1 만 반환
+     * KEYS[1]=like:m:<feedId>, KEYS[2]=like:ops
+     * ARGV[1]=userId, ARGV[2]='1'(좋아요)/'0'(취소)/'t'(토글), ARGV[3]=feedId, ARGV[4]=ttl(초), ARGV[5]=now(ms)
+     * 반환: {liked(1/0), changed(1/0), count}
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> APPLY = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return {-1}
+            end
+            local want
+            if ARGV[2] == 't' then
+              want = redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 0
+            else
+              want = ARGV[2] == '1'
+            end
+            local changed
+            if want then
+              changed = redis.call('SADD', KEYS[1], ARGV[1])
+            else
+              changed = redis.call('SREM', KEYS[1], ARGV[1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            if changed == 1 then
+              redis.call('HSET', KEYS[2], ARGV[3] .. ':' .. ARGV[1], want and ('1:' .. ARGV[5]) or '0')
+            end
+            return {want and 1 or 0, changed, redis.call('SCARD', KEYS[1]) - 1}
+            """, List.class);
+
+    /**
+     * 워밍 안 된 경우에만 DB 스냅샷으로 멤버십 적재 (다른 인스턴스가 먼저 워밍했으면 무시)
+     * KEYS[1]=like:m:<feedId> / ARGV[1]=ttl(초), ARGV[2..]=userId 들
+     */
+    private static final RedisScript<Long> WARM = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            redis.call('SADD', KEYS[1], '-')
+            for i = 2, #ARGV, 1000 do
+              redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /** 워밍된 경우에만 liked 여부(1/0), 아니면 -1 */
+    private static final RedisScript<Long> PEEK = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return -1
+            end
+            return redis.call('SISMEMBER', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final LikeRepository likeRepository;
+
+    public enum Mode { LIKE, UNLIKE, TOGGLE }
+
+    /**
+     * @param liked   처리 후 내 좋아요 상태
+     * @param changed 실제로 상태가 바뀌었는지 (중복 요청이면 false → 이벤트/경험치 생략)
+     * @param count   처리 후 좋아요 수
+     */
+    public record LikeState(boolean liked, boolean changed, int count) {}
+
+    /**
+     * @param liked 내 좋아요 여부
+     * @param count 워밍된 피드의 좋아요 수, 콜드면 null (호출측에서 feeds.likes 사용)
+     */
+    public record LikeView(boolean liked, Integer count) {}
+
+    public LikeState apply(Long feedId, Long userId, Mode mode) {
+        String arg = switch (mode) {
+            case LIKE -> "1";
+            case UNLIKE -> "0";
+            case TOGGLE -> "t";
+        };
+        List<String> keys = List.of(MEMBERS_KEY_PREFIX + feedId, OPS_KEY);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<?> r = redis.execute(APPLY, keys, String.valueOf(userId), arg, String.valueOf(feedId),
+                    String.valueOf(MEMBERS_TTL.toSeconds()), String.valueOf(System.currentTimeMillis()));
+            if (r != null && r.size() == 3) {
+                return new LikeState(toLong(r.get(0)) == 1, toLong(r.get(1)) == 1, (int) toLong(r.get(2)));
+            }
+            warm(feedId);
+        }
+        throw new IllegalStateException("like members not warmed: feedId=" + feedId);
+    }
+
+    /** 내 좋아요 여부. Redis 에 워밍돼 있으면 그 값(미반영 변경 포함), 아니면 DB */
+    public boolean isLiked(Long feedId, Long userId) {
+        Long r = redis.execute(PEEK, List.of(MEMBERS_KEY_PREFIX + feedId), String.valueOf(userId));
+        if (r != null && r >= 0) return r == 1;
+        return likeRepository.existsByFeedIdAndUserId(feedId, userId);
+    }
+
+    /** 워밍된 피드의 현재 좋아요 수, 콜드면 null (호출측에서 feeds.likes 사용) */
+    public Integer peekCount(Long feedId) {
+        String key = MEMBERS_KEY_PREFIX + feedId;
+        Long size = redis.opsForSet().size(key);
+        return size == null || size == 0 ? null : (int) (size - 1);
+    }
+
+    /**
+     * 목록용 일괄 조회: 피드마다 SCARD(+ SISMEMBER) 를 파이프라인 1 RTT 로 보내고,
+     * 콜드 피드의 liked 만 likes 테이블 IN 쿼리 1번으로 보충 (상세의 isLiked/peekCount 와 같은 기준)
+     *
+     * @param userId null 이면 liked 는 모두 false
+     */
+    public Map<Long, LikeView> peekAll(List<Long> feedIds, Long userId) {
+        if (feedIds.isEmpty()) return Map.of();
+        String uid = userId == null ? null : String.valueOf(userId);
+        List<Object> r = redis.executePipelined((RedisCallback<Object>) conn -> {
+            StringRedisConnection c = (StringRedisConnection) conn;
+            for (Long feedId : feedIds) {
+                String key = MEMBERS_KEY_PREFIX + feedId;
+                c.sCard(key);
+                if (uid != null) c.sIsMember(key, uid);
+            }
+            return null;
+        });
+
+        int step = uid == null ? 1 : 2;
+        Map<Long, LikeView> out = new HashMap<>(feedIds.size() * 2);
+        List<Long> cold = new ArrayList<>();
+        for (int i = 0; i < feedIds.size(); i++) {
+            Long feedId = feedIds.get(i);
+            long size = toLong(r.get(i * step));
+            if (size == 0) {
+                cold.add(feedId);
+            } else {
+                boolean liked = uid != null && Boolean.TRUE.equals(r.get(i * step + 1));
+                out.put(feedId, new LikeView(liked, (int) (size - 1)));
+            }
+        }
+        if (!cold.isEmpty()) {
+            Set<Long> likedCold = uid == null ? Set.of() : likeRepository.findFeedIdsLikedByUser(userId, cold);
+            for (Long feedId : cold) out.put(feedId, new LikeView(likedCold.contains(feedId), null));
+        }
+        return out;
+    }
+
+    private void warm(Long feedId) {
+        List<Long> userIds = likeRepository.findUserIdsByFeedId(feedId);
+        List<String> args = new ArrayList<>(userIds.size() + 1);
+        args.add(String.valueOf(MEMBERS_TTL.toSeconds()));
+        for (Long uid : userIds) args.add(String.valueOf(uid));
+        redis.execute(WARM, List.of(MEMBERS_KEY_PREFIX + feedId), args.toArray());
+        log.debug("[Like] warmed feedId={} members={}", feedId, userIds.size());
+    }
+
+    private static long toLong(Object o) {
+        return o instanceof Number n ? n.longValue() : Long.parseLong(String.valueOf(o));
+    }
+}
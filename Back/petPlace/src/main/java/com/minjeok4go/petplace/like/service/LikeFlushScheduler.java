@@ -0,0 +1,116 @@
+package com.minjeok4go.petplace.like.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * like:ops 에 쌓인 좋아요 변경분을 주기적으로 DB 에 일괄 반영 (write-behind flusher).
+ *
+ * 1) like:ops 를 like:ops:flushing 으로 RENAME (원자적으로 이번 배치 분리, 이후 변경은 새 like:ops 로)
+ * 2) likes 테이블 INSERT IGNORE / DELETE, feeds.likes 는 Redis 현재 카운트(SCARD - 1)로 덮어쓰기
+ * 3) 성공하면 flushing 키 삭제. 실패하면 남겨 두고 다음 주기에 같은 배치를 먼저 재시도 (모든 쓰기가 멱등)
+ *
+ * 인스턴스 간 중복 실행은 Redis 락으로 막아 같은 (feed, user) 변경이 순서대로 반영되도록 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeFlushScheduler {
+
+    private static final String FLUSHING_KEY = LikeCounterService.OPS_KEY + ":flushing";
+    private static final String LOCK_KEY = "like_flush_lock";
+
+    /** 남은 flushing 배치가 있으면 그대로, 없으면 ops 를 flushing 으로 옮김. 처리할 배치가 있으면 1 */
+    private static final RedisScript<Long> TAKE_BATCH = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+              return 1
+            end
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('RENAME', KEYS[1], KEYS[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final LikeFlushWriter likeFlushWriter;
+
+    @Scheduled(fixedDelayString = "${like.flush-delay-ms:3000}")
+    public void flush() {
+        Boolean locked = redis.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMinutes(1));
+        if (Boolean.FALSE.equals(locked)) return;
+        try {
+            Long taken = redis.execute(TAKE_BATCH, List.of(LikeCounterService.OPS_KEY, FLUSHING_KEY));
+            if (taken == null || taken == 0) return;
+            flushBatch();
+        } catch (Exception e) {
+            log.warn("[Like] flush failed, batch kept for retry", e);
+        } finally {
+            try { redis.delete(LOCK_KEY); } catch (Exception ignore) {}
+        }
+    }
+
+    private void flushBatch() {
+        final long startMs = System.currentTimeMillis();
+        Map<Object, Object> ops = redis.opsForHash().entries(FLUSHING_KEY);
+
+        List<LikeFlushWriter.LikeRow> adds = new ArrayList<>();
+        List<LikeFlushWriter.LikeRow> removes = new ArrayList<>();
+        Set<Long> feedIds = new LinkedHashSet<>();
+        for (Map.Entry<Object, Object> e : ops.entrySet()) {
+            String field = (String) e.getKey();   // "<feedId>:<userId>"
+            String value = (String) e.getValue(); // "1:<epochMillis>" / "0"
+            int sep = field.indexOf(':');
+            if (sep < 0) continue;
+            long feedId;
+            long userId;
+            try {
+                feedId = Long.parseLong(field.substring(0, sep));
+                userId = Long.parseLong(field.substring(sep + 1));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            feedIds.add(feedId);
+            if (value.startsWith("1")) {
+                long ts = value.length() > 2 ? Long.parseLong(value.substring(2)) : System.currentTimeMillis();
+                adds.add(new LikeFlushWriter.LikeRow(feedId, userId, new Timestamp(ts)));
+            } else {
+                removes.add(new LikeFlushWriter.LikeRow(feedId, userId, null));
+            }
+        }
+
+        // feeds.likes 는 증감 누적 대신 Redis 현재 카운트로 덮어씀 (재시도에도 멱등)
+        List<Long> ids = new ArrayList<>(feedIds);
+        List<Object> sizes = redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            for (Long fid : ids) {
+                conn.sCard(ser.serialize(LikeCounterService.MEMBERS_KEY_PREFIX + fid));
+            }
+            return null;
+        });
+        Map<Long, Integer> counts = new HashMap<>();
+        List<Long> recountIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object size = sizes.get(i);
+            long n = size instanceof Number num ? num.longValue() : 0L;
+            if (n > 0) counts.put(ids.get(i), (int) (n - 1));
+            else recountIds.add(ids.get(i));
+        }
+
+        likeFlushWriter.write(adds, removes, counts, recountIds);
+        redis.delete(FLUSHING_KEY);
+
+        log.debug("[Like] flushed adds={}, removes={}, feeds={} in {} ms",
+                adds.size(), removes.size(), ids.size(), System.currentTimeMillis() - startMs);
+    }
+}
@@ -0,0 +1,61 @@
+package com.minjeok4go.petplace.like.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * write-behind 좋아요 변경분을 한 트랜잭션 안에서 JDBC 배치로 DB 에 반영.
+ * 모든 문장이 멱등(INSERT IGNORE / DELETE / 절대값 UPDATE)이라 실패 후 재시도해도 안전합니다.
+ */
+@Component
+@RequiredArgsConstructor
+class LikeFlushWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** (feedId, userId, likedAt) */
+    record LikeRow(long feedId, long userId, Timestamp likedAt) {}
+
+    @Transactional
+    public void write(List<LikeRow> adds, List<LikeRow> removes, Map<Long, Integer> counts, List<Long> recountIds) {
+        if (!adds.isEmpty()) {
+            // 탈퇴 유저/삭제 피드의 FK 위반, 이미 존재(uq_uid_fid)는 IGNORE 로 건너뜀
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO likes (user_id, feed_id, liked_at) VALUES (?, ?, ?)",
+                    adds, adds.size(), (ps, r) -> {
+                        ps.setLong(1, r.userId());
+                        ps.setLong(2, r.feedId());
+                        ps.setTimestamp(3, r.likedAt());
+                    });
+        }
+        if (!removes.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "DELETE FROM likes WHERE user_id = ? AND feed_id = ?",
+                    removes, removes.size(), (ps, r) -> {
+                        ps.setLong(1, r.userId());
+                        ps.setLong(2, r.feedId());
+                    });
+        }
+        if (!counts.isEmpty()) {
+            List<Map.Entry<Long, Integer>> entries = List.copyOf(counts.entrySet());
+            jdbcTemplate.batchUpdate(
+                    "UPDATE feeds SET likes = ? WHERE id = ?",
+                    entries, entries.size(), (ps, e) -> {
+                        ps.setInt(1, e.getValue());
+                        ps.setLong(2, e.getKey());
+                    });
+        }
+        if (!recountIds.isEmpty()) {
+            // Redis 멤버십이 만료된 피드만 테이블 기준으로 재계산
+            jdbcTemplate.batchUpdate(
+                    "UPDATE feeds f SET likes = (SELECT COUNT(*) FROM likes l WHERE l.feed_id = f.id) WHERE f.id = ?",
+                    recountIds, recountIds.size(), (ps, id) -> ps.setLong(1, id));
+        }
+    }
+}
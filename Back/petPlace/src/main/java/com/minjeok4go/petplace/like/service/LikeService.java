@@ -1,19 +1,18 @@
 package com.minjeok4go.petplace.like.service;
 
 import com.minjeok4go.petplace.common.constant.ActivityType;
+import com.minjeok4go.petplace.feed.dto.FeedInteractionEvent;
 import com.minjeok4go.petplace.feed.dto.FeedLikeResponse;
 import com.minjeok4go.petplace.feed.entity.Feed;
 import com.minjeok4go.petplace.feed.repository.FeedRepository;
-import com.minjeok4go.petplace.feed.service.FeedService;
 import com.minjeok4go.petplace.like.dto.CreateLikeRequest;
-import com.minjeok4go.petplace.like.entity.Likes;
-import com.minjeok4go.petplace.like.repository.LikeRepository;
+import com.minjeok4go.petplace.like.service.LikeCounterService.LikeState;
+import com.minjeok4go.petplace.like.service.LikeCounterService.Mode;
 import com.minjeok4go.petplace.notification.dto.CreateLikeNotificationRequest;
 import com.minjeok4go.petplace.user.entity.User;
 import com.minjeok4go.petplace.user.service.UserExperienceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +22,7 @@ public class LikeService {
 
     private final ApplicationEventPublisher publisher;
     private final FeedRepository feedRepository;
-    private final LikeRepository likeRepository;
-    private final FeedService feedService;
+    private final LikeCounterService likeCounterService;
     private final UserExperienceService expService;
 //    @Transactional
 //    public FeedLikeResponse createLike(CreateLikeRequest req, User me) {
@@ -53,29 +51,19 @@ public class LikeService {
 //        return feedService.decreaseLike(feed);
 //    }
 
+    // 멤버십/카운트는 Redis(LikeCounterService)에서 원자적으로 처리, DB 반영은 LikeFlushScheduler 가 일괄로.
+    // 트랜잭션은 경험치 반영과 AFTER_COMMIT 이벤트 발행을 위해 유지
     @Transactional
     public FeedLikeResponse createLike(CreateLikeRequest req, User me) {
         Feed feed = feedRepository.findByIdAndDeletedAtIsNull(req.getFeedId())
                 .orElseThrow(() -> new RuntimeException("feed not found"));
 
-        // 이미 좋아요면 멱등 응답
-        if (likeRepository.existsByFeedAndUser(feed, me)) {
-            return new FeedLikeResponse(feed.getId(), true, feed.getLikes());
+        // 이미 좋아요면 멱등 응답 (changed=false)
+        LikeState state = likeCounterService.apply(feed.getId(), me.getId(), Mode.LIKE);
+        if (state.changed()) {
+            onLiked(feed, me);
         }
-
-        likeRepository.save(new Likes(feed, me));
-
-        expService.applyActivity(me, ActivityType.LIKE_CREATE);
-
-        Long targetUserId = feed.getUserId();
-
-        if(!targetUserId.equals(me.getId())){
-            publisher.publishEvent(new CreateLikeNotificationRequest(
-                    feed.getUserId(), me.getNickname(), feed.getId(), feed
-            ));
-        }
-
-        return feedService.increaseLike(feed);   // ✅ 여기서 호출
+        return new FeedLikeResponse(feed.getId(), true, state.count());
     }
 
     @Transactional
@@ -83,12 +71,12 @@ public class LikeService {
         Feed feed = feedRepository.findByIdAndDeletedAtIsNull(feedId)
                 .orElseThrow(() -> new RuntimeException("feed not found"));
 
-        // 없으면 0건 삭제(멱등)
-        likeRepository.deleteByFeedAndUser(feed, me);
-
-        expService.applyActivity(me, ActivityType.LIKE_DELETE);
-
-        return feedService.decreaseLike(feed);   // ✅ 여기서 호출
+        // 없으면 변경 없음(멱등)
+        LikeState state = likeCounterService.apply(feed.getId(), me.getId(), Mode.UNLIKE);
+        if (state.changed()) {
+            onUnliked(feed, me);
+        }
+        return new FeedLikeResponse(feed.getId(), false, state.count());
     }
 
     @Transactional
@@ -96,33 +84,34 @@ public class LikeService {
         Feed feed = feedRepository.findByIdAndDeletedAtIsNull(feedId)
                 .orElseThrow(() -> new RuntimeException("feed not found"));
 
-        boolean existed = likeRepository.existsByFeedAndUser(feed, me);
-        boolean liked;
-
-        if (existed) {
-            long deleted = likeRepository.deleteByFeedAndUser(feed, me);
-            expService.applyActivity(me, ActivityType.LIKE_DELETE);
-            liked = false;
-        } else {
-            try {
-                likeRepository.save(new Likes(feed, me));
-                expService.applyActivity(me, ActivityType.LIKE_CREATE);
-            } catch (DataIntegrityViolationException ignored) {
-                // 동시 클릭으로 유니크 제약에 걸려도 최종 liked=true로 처리
-            }
-            liked = true;
+        // 동시 클릭도 Lua 스크립트 안에서 직렬화되므로 최종 상태/카운트가 어긋나지 않음
+        LikeState state = likeCounterService.apply(feed.getId(), me.getId(), Mode.TOGGLE);
+        if (state.changed()) {
+            if (state.liked()) onLiked(feed, me);
+            else onUnliked(feed, me);
         }
-
-        // 소스 오브 트루스: 테이블에서 재계산하여 드리프트 제거
-        int likeCount = (int) likeRepository.countByFeed(feed);
-        feed.setLikes(likeCount);
-        feedRepository.save(feed);
-
-        return new FeedLikeResponse(feed.getId(), liked, likeCount);
+        return new FeedLikeResponse(feed.getId(), state.liked(), state.count());
     }
 
     @Transactional(readOnly = true)
     public boolean existsLike(Feed feed, User user) {
-        return likeRepository.existsByFeedAndUser(feed, user);
+        return likeCounterService.isLiked(feed.getId(), user.getId());
+    }
+
+    private void onLiked(Feed feed, User me) {
+        expService.applyActivity(me, ActivityType.LIKE_CREATE);
+        publisher.publishEvent(FeedInteractionEvent.like(feed.getId(), 1));
+
+        Long targetUserId = feed.getUserId();
+        if (!targetUserId.equals(me.getId())) {
+            publisher.publishEvent(new CreateLikeNotificationRequest(
+                    feed.getUserId(), me.getNickname(), feed.getId(), feed
+            ));
+        }
+    }
+
+    private void onUnliked(Feed feed, User me) {
+        expService.applyActivity(me, ActivityType.LIKE_DELETE);
+        publisher.publishEvent(FeedInteractionEvent.like(feed.getId(), -1));
     }
 }
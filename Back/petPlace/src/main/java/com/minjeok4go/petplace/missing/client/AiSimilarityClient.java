@@ -2,6 +2,8 @@ package com.minjeok4go.petplace.missing.client;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -19,9 +21,11 @@ import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * FastAPI 기반 유사도/검색 엔진(LostPet Similarity Service)을 호출하는 전용 클라이언트.
@@ -31,7 +35,7 @@ import java.util.Map;
  * - 응답은 FastAPI 스펙에 맞는 최소한의 DTO(IndexAddResp, SearchResp)로 역직렬화한다.
  *
  * 사용처 예시:
- *   - 실종 신고 저장 직후: /index/add 로 이미지 인덱싱
+ *   - 실종 신고 저장 직후: /index/add_path_batch 로 이미지 인덱싱 (AiIndexBatcher 가 여러 신고를 모아서 호출)
  *   - 목격 제보 저장 직후: /search 로 후보 검색 → 결과 id로 MissingReport 매칭 생성
  */
 @Service
@@ -77,6 +81,26 @@ public class AiSimilarityClient {
         return req.retrieve().bodyToMono(Map.class);
     }
 
+    /**
+     * 여러 이미지 일괄 인덱싱 (JSON, 요청 1번). 항목별 성공/실패는 응답 results 로 확인
+     */
+    public Mono<IndexBatchResp> indexAddPathBatch(List<IndexItem> items) {
+        return ai.post().uri("/index/add_path_batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("items", items))
+                .retrieve().bodyToMono(IndexBatchResp.class);
+    }
+
+    /**
+     * 삭제된 이미지 제거 (없는 id 는 무시)
+     */
+    public Mono<Map> indexRemove(Collection<Long> imageIds) {
+        return ai.post().uri("/index/remove")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", imageIds))
+                .retrieve().bodyToMono(Map.class);
+    }
+
     public Mono<SearchResp> searchPath(String species, String path, Integer topk, Double wFace,
                                        Integer xmin,Integer ymin,Integer xmax,Integer ymax) {
         String speciesLc = species == null ? null : species.toLowerCase(Locale.ROOT);
@@ -99,6 +123,16 @@ public class AiSimilarityClient {
     public Mono<SearchResp> searchPath(String species, String path, String qBreedEng,
                                        Integer topk, Double wFace,
                                        Integer xmin, Integer ymin, Integer xmax, Integer ymax) {
+        return searchPath(species, path, qBreedEng, topk, wFace, xmin, ymin, xmax, ymax, null);
+    }
+
+    /**
+     * allowIds 를 주면 그 이미지들 안에서만 유사도 계산 (위치/기간으로 좁힌 후보, 빈 목록이면 결과 없음)
+     */
+    public Mono<SearchResp> searchPath(String species, String path, String qBreedEng,
+                                       Integer topk, Double wFace,
+                                       Integer xmin, Integer ymin, Integer xmax, Integer ymax,
+                                       Collection<Long> allowIds) {
         String speciesLc = species == null ? null : species.toLowerCase(Locale.ROOT);
 
         var parts = new LinkedMultiValueMap<String, Object>();
@@ -111,6 +145,9 @@ public class AiSimilarityClient {
         if (ymin!=null) parts.add("ymin", String.valueOf(ymin));
         if (xmax!=null) parts.add("xmax", String.valueOf(xmax));
         if (ymax!=null) parts.add("ymax", String.valueOf(ymax));
+        if (allowIds != null) {
+            parts.add("allow_ids", allowIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
 
         var req = ai.post().uri("/search_path")
                 .contentType(MediaType.MULTIPART_FORM_DATA)
@@ -122,6 +159,35 @@ public class AiSimilarityClient {
     }
 
 
+    /** 배치 인덱싱 항목 (species 는 소문자 "dog" | "cat", path 는 컨테이너 절대경로) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record IndexItem(
+            @JsonProperty("image_id") long imageId,
+            @JsonProperty("species") String species,
+            @JsonProperty("path") String path,
+            @JsonProperty("breed_eng") String breedEng
+    ) {
+        public IndexItem {
+            species = species == null ? null : species.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Getter @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class IndexBatchResp {
+        @Getter @Setter
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        public static class Result {
+            private Long id;
+            private boolean ok;
+            private String msg;
+            private String body;   // 몸통 임베딩 (float32 LE, base64)
+            private String face;   // 얼굴 임베딩 (float32 LE, base64)
+        }
+        private boolean ok;
+        private List<Result> results;
+    }
+
     @Getter @Setter
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SearchResp {
@@ -131,7 +197,16 @@ public class AiSimilarityClient {
             private Long id;
             private double score;
         }
+        @Getter @Setter
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        public static class Query {
+            private String body;   // 질의 몸통 임베딩 (float32 LE, base64)
+            private String face;
+        }
         private boolean ok;
         private List<Item> results;
+        @JsonProperty("w_face")
+        private Double wFace;      // 실제 적용된 얼굴 가중치
+        private Query query;
     }
 }
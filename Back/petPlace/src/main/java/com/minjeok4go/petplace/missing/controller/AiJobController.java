@@ -0,0 +1,71 @@
+package com.minjeok4go.petplace.missing.controller;
+
+import com.minjeok4go.petplace.common.dto.ApiResponse;
+import com.minjeok4go.petplace.missing.entity.AiJob;
+import com.minjeok4go.petplace.missing.service.AiJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 작업 큐 운영용 내부 API (사용자 인증 대신 X-Service-Token 으로 보호)
+ */
+@RestController
+@RequestMapping("/api/internal/ai-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "AiJob (internal)", description = "AI 인덱싱/매칭 작업 큐 상태 조회 및 재실행")
+public class AiJobController {
+
+    private final AiJobService aiJobService;
+
+    @Value("${service.internal-token:}")
+    private String serviceToken;
+
+    @GetMapping("/stats")
+    @Operation(summary = "작업 상태별 개수")
+    public ResponseEntity<ApiResponse<Map<AiJob.Status, Long>>> stats(
+            @RequestHeader(value = "X-Service-Token", required = false) String token) {
+        if (!authorized(token)) return forbidden();
+        return ResponseEntity.ok(ApiResponse.success(aiJobService.stats()));
+    }
+
+    @PostMapping("/{id}/replay")
+    @Operation(summary = "DEAD 작업 재실행", description = "재시도 한도를 넘긴 작업을 시도 횟수 0 으로 되돌려 다시 실행합니다.")
+    public ResponseEntity<ApiResponse<Integer>> replay(
+            @RequestHeader(value = "X-Service-Token", required = false) String token,
+            @Parameter(description = "작업 ID") @PathVariable Long id) {
+        if (!authorized(token)) return forbidden();
+        return ResponseEntity.ok(ApiResponse.success(aiJobService.replay(List.of(id))));
+    }
+
+    @PostMapping("/replay-dead")
+    @Operation(summary = "DEAD 작업 일괄 재실행", description = "type 을 주면 해당 유형만 재실행합니다.")
+    public ResponseEntity<ApiResponse<Integer>> replayDead(
+            @RequestHeader(value = "X-Service-Token", required = false) String token,
+            @RequestParam(required = false) AiJob.Type type) {
+        if (!authorized(token)) return forbidden();
+        return ResponseEntity.ok(ApiResponse.success(aiJobService.replayDead(type)));
+    }
+
+    // 토큰이 설정되지 않은 환경에서는 항상 거부
+    private boolean authorized(String token) {
+        if (serviceToken == null || serviceToken.isBlank() || token == null) return false;
+        return MessageDigest.isEqual(serviceToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.failure("서비스 토큰이 올바르지 않습니다."));
+    }
+}
@@ -0,0 +1,83 @@
+package com.minjeok4go.petplace.missing.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 인덱싱/목격 매칭 작업 (DB 영속 큐).
+ * 신고/제보 저장과 같은 트랜잭션에서 INSERT 되므로 커밋되면 작업도 반드시 남고, 재시작해도 유실되지 않습니다.
+ */
+@Entity
+@Table(name = "ai_jobs", indexes = {
+        @Index(name = "idx_ai_jobs_status_next", columnList = "status, next_run_at"),
+        @Index(name = "idx_ai_jobs_type_ref", columnList = "type, ref_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AiJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Type type;
+
+    // 실종 신고 id 또는 목격 제보 id
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(name = "payload_json", nullable = false, columnDefinition = "JSON")
+    private String payloadJson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    // RUNNING 작업의 임대 만료 시각 (지나면 워커가 죽은 것으로 보고 다시 PENDING)
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public AiJob(Type type, Long refId, String payloadJson, LocalDateTime nextRunAt) {
+        this.type = type;
+        this.refId = refId;
+        this.payloadJson = payloadJson;
+        this.nextRunAt = nextRunAt;
+    }
+
+    public enum Type {
+        INDEX_REPORT,     // 실종 신고 이미지 인덱싱
+        SEARCH_SIGHTING,  // 목격 제보 유사도 검색 + 매칭 저장
+        DEINDEX_IMAGES    // 실종 신고에서 빠진 이미지 인덱스 제거
+    }
+
+    public enum Status {
+        PENDING, RUNNING, DONE, DEAD
+    }
+}
@@ -16,7 +16,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "missing_reports")
+@Table(name = "missing_reports", indexes = {
+        // 목격 매칭 후보 조회 (진행 중 + 위경도 박스 범위)
+        @Index(name = "idx_missing_reports_status_geo", columnList = "status, latitude, longitude")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class MissingReport {
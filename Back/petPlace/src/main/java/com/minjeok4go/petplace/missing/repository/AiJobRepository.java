@@ -0,0 +1,83 @@
+package com.minjeok4go.petplace.missing.repository;
+
+import com.minjeok4go.petplace.missing.entity.AiJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+
+    interface StatusCount {
+        AiJob.Status getStatus();
+        Long getCnt();
+    }
+
+    // 실행할 작업 선점 (여러 인스턴스가 동시에 폴링해도 같은 행을 집지 않도록 SKIP LOCKED)
+    @Query(value = """
+        SELECT id FROM ai_jobs
+        WHERE status = 'PENDING' AND next_run_at <= :now
+        ORDER BY next_run_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update AiJob j set j.status = :running, j.attempts = j.attempts + 1, j.lockedUntil = :until
+        where j.id in :ids
+        """)
+    int markRunning(@Param("ids") Collection<Long> ids,
+                    @Param("running") AiJob.Status running,
+                    @Param("until") LocalDateTime until);
+
+    // 임대가 만료된 RUNNING 작업 회수 (실행 중 인스턴스 종료/장애 대비)
+    @Modifying
+    @Query("""
+        update AiJob j set j.status = :pending, j.lockedUntil = null
+        where j.status = :running and j.lockedUntil < :now
+        """)
+    int releaseExpired(@Param("now") LocalDateTime now,
+                       @Param("pending") AiJob.Status pending,
+                       @Param("running") AiJob.Status running);
+
+    // 실행 결과 반영: 선점 때의 시도 횟수와 같을 때만 (임대 만료 후 재선점된 작업에 늦게 끝난 이전 실행이 덮어쓰지 않도록)
+    @Modifying
+    @Query("""
+        update AiJob j set j.status = :status, j.lockedUntil = null, j.lastError = :error, j.nextRunAt = :nextRunAt
+        where j.id = :id and j.status = :running and j.attempts = :attempts
+        """)
+    int finish(@Param("id") Long id,
+               @Param("attempts") int attempts,
+               @Param("status") AiJob.Status status,
+               @Param("error") String error,
+               @Param("nextRunAt") LocalDateTime nextRunAt,
+               @Param("running") AiJob.Status running);
+
+    // DEAD 작업 재실행 (시도 횟수 초기화)
+    @Modifying
+    @Query("""
+        update AiJob j set j.status = :pending, j.attempts = 0, j.nextRunAt = :now, j.lastError = null
+        where j.id in :ids and j.status = :dead
+        """)
+    int replay(@Param("ids") Collection<Long> ids,
+               @Param("now") LocalDateTime now,
+               @Param("pending") AiJob.Status pending,
+               @Param("dead") AiJob.Status dead);
+
+    @Query("select j.id from AiJob j where j.status = :status and (:type is null or j.type = :type) order by j.id")
+    List<Long> findIdsByStatusAndType(@Param("status") AiJob.Status status, @Param("type") AiJob.Type type);
+
+    @Query("select j.status as status, count(j) as cnt from AiJob j group by j.status")
+    List<StatusCount> countByStatus();
+
+    // 완료 작업 정리
+    @Modifying
+    @Query("delete from AiJob j where j.status = :done and j.updatedAt < :before")
+    int deleteFinishedBefore(@Param("done") AiJob.Status done, @Param("before") LocalDateTime before);
+}
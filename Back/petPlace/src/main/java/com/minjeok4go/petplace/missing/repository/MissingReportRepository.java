@@ -17,6 +17,17 @@ import java.util.Optional;
 @Repository
 public interface MissingReportRepository extends JpaRepository<MissingReport, Long> {
 
+    // 목격 위치/시각 주변의 매칭 후보 이미지 (이미지, 신고, 신고자, 반려동물 이름, 실종 위치/시각)
+    interface MatchCandidate {
+        Long getImageId();
+        Long getReportId();
+        Long getOwnerId();
+        String getPetName();
+        BigDecimal getLatitude();
+        BigDecimal getLongitude();
+        LocalDateTime getMissingAt();
+    }
+
     // 삭제되지 않은 실종 신고 조회
     @Query("SELECT mr FROM MissingReport mr WHERE mr.deletedAt IS NULL AND mr.id = :id")
     Optional<MissingReport> findByIdAndNotDeleted(@Param("id") Long id);
@@ -52,6 +63,29 @@ public interface MissingReportRepository extends JpaRepository<MissingReport, Lo
             @Param("afterDate") LocalDateTime afterDate
     );
 
+    // 매칭 전 후보 축소: findActiveReportsInRange 와 같은 조건(진행 중 + 위경도 박스 + 기간)에 종(species)까지 걸러
+    // 신고 이미지 단위로 반환 (idx_missing_reports_status_geo 로 박스 범위 스캔)
+    @Query("SELECT i.id AS imageId, mr.id AS reportId, mr.user.id AS ownerId, p.name AS petName, " +
+            "mr.latitude AS latitude, mr.longitude AS longitude, mr.missingAt AS missingAt " +
+            "FROM MissingReport mr JOIN mr.pet p " +
+            "JOIN Image i ON i.refId = mr.id " +
+            "AND i.refType = com.minjeok4go.petplace.common.constant.RefType.MISSING_REPORT " +
+            "WHERE mr.deletedAt IS NULL " +
+            "AND mr.status = 'MISSING' " +
+            "AND mr.latitude BETWEEN :minLat AND :maxLat " +
+            "AND mr.longitude BETWEEN :minLng AND :maxLng " +
+            "AND mr.missingAt BETWEEN :afterDate AND :beforeDate " +
+            "AND (CASE WHEN p.animal = com.minjeok4go.petplace.common.constant.Animal.CAT THEN 'cat' ELSE 'dog' END) = :species")
+    List<MatchCandidate> findMatchCandidatesInRange(
+            @Param("species") String species,
+            @Param("minLat") BigDecimal minLat,
+            @Param("maxLat") BigDecimal maxLat,
+            @Param("minLng") BigDecimal minLng,
+            @Param("maxLng") BigDecimal maxLng,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("beforeDate") LocalDateTime beforeDate
+    );
+
     // MissingReportRepository
     @Query("select p.breed from MissingReport mr join mr.pet p where mr.id = :id")
     Optional<Breed> findPetBreedByReportId(Long id);
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -43,6 +44,13 @@ public interface SightingMatchRepository extends JpaRepository<SightingMatch, Lo
     boolean existsBySightingIdAndMissingReportId(@Param("sightingId") Long sightingId,
                                                  @Param("missingReportId") Long missingReportId);
 
+    // 이미 매칭된 신고 id (후보 전체를 한 번에 확인)
+    @Query("SELECT sm.missingReport.id FROM SightingMatch sm " +
+            "WHERE sm.sighting.id = :sightingId " +
+            "AND sm.missingReport.id IN :missingReportIds")
+    List<Long> findMatchedReportIds(@Param("sightingId") Long sightingId,
+                                    @Param("missingReportIds") Collection<Long> missingReportIds);
+
     // 높은 점수 매칭 통계
     @Query("SELECT COUNT(sm) FROM SightingMatch sm " +
             "WHERE sm.score >= :minScore " +
@@ -1,5 +1,6 @@
 package com.minjeok4go.petplace.missing.repository;
 
+import com.minjeok4go.petplace.common.constant.Breed;
 import com.minjeok4go.petplace.missing.entity.Sighting;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,12 +9,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface SightingRepository extends JpaRepository<Sighting, Long> {
 
+    // 매칭에 필요한 목격 제보 정보만 (엔티티/작성자 지연 로딩 없이 1쿼리)
+    interface MatchSource {
+        Breed getBreed();
+        String getNickname();
+        BigDecimal getLatitude();
+        BigDecimal getLongitude();
+        LocalDateTime getSightedAt();
+    }
+
+    @Query("SELECT s.breed AS breed, u.nickname AS nickname, " +
+            "s.latitude AS latitude, s.longitude AS longitude, s.sightedAt AS sightedAt " +
+            "FROM Sighting s JOIN s.user u WHERE s.id = :id")
+    Optional<MatchSource> findMatchSource(@Param("id") Long id);
+
     // 삭제되지 않은 목격 제보 조회
     @Query("SELECT s FROM Sighting s WHERE s.deletedAt IS NULL AND s.id = :id")
     Optional<Sighting> findByIdAndNotDeleted(@Param("id") Long id);
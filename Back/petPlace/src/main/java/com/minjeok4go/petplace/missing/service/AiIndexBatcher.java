@@ -0,0 +1,122 @@
+package com.minjeok4go.petplace.missing.service;
+
+import com.minjeok4go.petplace.missing.client.AiSimilarityClient;
+import com.minjeok4go.petplace.missing.client.AiSimilarityClient.IndexBatchResp.Result;
+import com.minjeok4go.petplace.missing.client.AiSimilarityClient.IndexItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 인덱싱 요청 모음 전송기.
+ *
+ * 신고마다 이미지 한 장씩 HTTP 요청 + .block() 으로 풀 스레드를 잡고 있던 방식 대신
+ * 여러 신고의 인덱싱 항목을 큐에 모았다가 짧은 주기(ai.index.window-ms)마다 배치 1번으로 보냅니다.
+ * - 전송은 Mono 구독(논블로킹)이라 스케줄러 스레드는 바로 반환
+ * - 동시에 진행 중인 배치 수를 ai.index.max-in-flight 로 제한 → 남은 항목은 다음 주기에 전송 (유사도 서비스가 처리량 상한)
+ * - enqueue 가 돌려주는 future 는 넣은 항목이 모두 인덱싱되면 항목 순서대로의 결과(임베딩 포함)로 완료,
+ *   하나라도 실패하면 예외 완료 (→ AI 작업 큐가 재시도)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiIndexBatcher {
+
+    private final AiSimilarityClient aiClient;
+
+    @Value("${ai.index.batch-size:32}")
+    private int batchSize;
+
+    @Value("${ai.index.max-in-flight:2}")
+    private int maxInFlight;
+
+    @Value("${ai.index.batch-timeout-ms:60000}")
+    private long batchTimeoutMs;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** 큐 항목 + 해당 항목의 인덱싱 결과 */
+    private record Pending(IndexItem item, CompletableFuture<Result> done) {}
+
+    public CompletableFuture<List<Result>> enqueue(Collection<IndexItem> items) {
+        if (items == null || items.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        List<CompletableFuture<Result>> futures = new ArrayList<>(items.size());
+        for (IndexItem item : items) {
+            Pending p = new Pending(item, new CompletableFuture<>());
+            futures.add(p.done());
+            queue.add(p);
+        }
+        queued.addAndGet(items.size());
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    public int pending() {
+        return queued.get();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.index.window-ms:500}")
+    public void drain() {
+        while (!queue.isEmpty() && inFlight.get() < maxInFlight) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            Pending p;
+            while (batch.size() < batchSize && (p = queue.poll()) != null) {
+                batch.add(p);
+            }
+            if (batch.isEmpty()) return;
+            queued.addAndGet(-batch.size());
+            send(batch);
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        inFlight.incrementAndGet();
+        aiClient.indexAddPathBatch(batch.stream().map(Pending::item).toList())
+                .timeout(Duration.ofMillis(batchTimeoutMs))
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .subscribe(
+                        resp -> {
+                            Map<Long, Result> byId = new HashMap<>();
+                            if (resp.getResults() != null) {
+                                resp.getResults().forEach(r -> byId.put(r.getId(), r));
+                            }
+                            int failed = 0;
+                            for (Pending p : batch) {
+                                var r = byId.get(p.item().imageId());
+                                if (r != null && r.isOk()) {
+                                    p.done().complete(r);
+                                    continue;
+                                }
+                                failed++;
+                                String msg = r == null ? "no result" : r.getMsg();
+                                log.warn("[AiIndex] item failed imageId={}, msg={}", p.item().imageId(), msg);
+                                p.done().completeExceptionally(
+                                        new IllegalStateException("index failed imageId=" + p.item().imageId() + ": " + msg));
+                            }
+                            log.info("[AiIndex] batch done size={}, failed={}", batch.size(), failed);
+                        },
+                        e -> {
+                            log.error("[AiIndex] batch failed size={}, imageIds={}", batch.size(),
+                                    batch.stream().map(p -> p.item().imageId()).toList(), e);
+                            batch.forEach(p -> p.done().completeExceptionally(e));
+                        },
+                        // 빈 응답으로 끝난 경우 (정상 완료 신호만 옴)
+                        () -> batch.forEach(p -> p.done().completeExceptionally(
+                                new IllegalStateException("empty index response")))
+                );
+    }
+}
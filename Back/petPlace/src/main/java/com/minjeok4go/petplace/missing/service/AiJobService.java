@@ -0,0 +1,195 @@
+package com.minjeok4go.petplace.missing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minjeok4go.petplace.missing.entity.AiJob;
+import com.minjeok4go.petplace.missing.repository.AiJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AI 작업 큐 (ai_jobs 테이블).
+ *
+ * - 등록: 호출한 쪽 트랜잭션에 합류해 INSERT → 신고/제보와 함께 커밋되거나 함께 롤백 (커밋 후 유실 없음)
+ * - 실행: {@link AiJobWorker} 가 선점(claim) → 성공 시 DONE, 실패 시 지수 백오프로 재예약, 한도를 넘기면 DEAD
+ * - 처리 보장은 at-least-once 이므로 작업 처리기는 멱등이어야 함 (인덱스 추가/매칭 저장 모두 중복 무시)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiJobService {
+
+    private final AiJobRepository aiJobRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ai.jobs.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${ai.jobs.backoff-base-ms:5000}")
+    private long backoffBaseMs;
+
+    @Value("${ai.jobs.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${ai.jobs.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${ai.jobs.retention-days:7}")
+    private int retentionDays;
+
+    /** 실종 신고 이미지 인덱싱 (imageIds 가 null 이면 신고의 전체 이미지) */
+    public record IndexReportPayload(Long reportId, String species, List<Long> imageIds) {}
+
+    /** 목격 제보 대표 이미지로 유사도 검색 + 매칭 저장 */
+    public record SearchSightingPayload(Long sightingId, String species, String src,
+                                        Integer xmin, Integer ymin, Integer xmax, Integer ymax,
+                                        Integer topK, Double wFace) {}
+
+    /** 신고 수정으로 삭제된 이미지를 유사도 서비스/로컬 인덱스에서 제거 */
+    public record DeindexImagesPayload(Long reportId, List<Long> imageIds) {}
+
+    @Transactional
+    public void enqueueIndexReport(Long reportId, String species, List<Long> imageIds) {
+        enqueue(AiJob.Type.INDEX_REPORT, reportId, new IndexReportPayload(reportId, species, imageIds));
+    }
+
+    @Transactional
+    public void enqueueDeindexImages(Long reportId, List<Long> imageIds) {
+        enqueue(AiJob.Type.DEINDEX_IMAGES, reportId, new DeindexImagesPayload(reportId, imageIds));
+    }
+
+    @Transactional
+    public void enqueueSearchSighting(SearchSightingPayload payload) {
+        enqueue(AiJob.Type.SEARCH_SIGHTING, payload.sightingId(), payload);
+    }
+
+    private void enqueue(AiJob.Type type, Long refId, Object payload) {
+        AiJob job = aiJobRepository.save(AiJob.builder()
+                .type(type)
+                .refId(refId)
+                .payloadJson(toJson(payload))
+                .nextRunAt(LocalDateTime.now())
+                .build());
+        log.debug("[AiJob] enqueued id={}, type={}, refId={}", job.getId(), type, refId);
+    }
+
+    /** 실행할 작업을 최대 limit 개 선점해 RUNNING 으로 바꾸고 돌려줌 (시도 횟수는 여기서 +1) */
+    @Transactional
+    public List<AiJob> claim(int limit) {
+        if (limit <= 0) return List.of();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = aiJobRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) return List.of();
+        aiJobRepository.markRunning(ids, AiJob.Status.RUNNING, now.plus(Duration.ofMillis(leaseMs)));
+        return aiJobRepository.findAllById(ids);
+    }
+
+    /**
+     * 성공 처리. job 은 claim 이 돌려준 그대로(시도 횟수 = 선점 시점 값)여야 하며,
+     * 그 사이 임대가 만료돼 회수/재선점된 작업이면 반영하지 않음
+     */
+    @Transactional
+    public void complete(AiJob job) {
+        finish(job, AiJob.Status.DONE, null, job.getNextRunAt());
+    }
+
+    /** 실패 처리: 남은 시도가 있으면 백오프 후 재예약, 없으면 DEAD (complete 와 같은 시도 횟수 검사) */
+    @Transactional
+    public void fail(AiJob job, Throwable cause) {
+        String error = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        if (job.getAttempts() >= maxAttempts) {
+            if (!finish(job, AiJob.Status.DEAD, error, job.getNextRunAt())) return;
+            log.error("[AiJob] dead id={}, type={}, refId={}, attempts={}, error={}",
+                    job.getId(), job.getType(), job.getRefId(), job.getAttempts(), error);
+            return;
+        }
+        LocalDateTime next = LocalDateTime.now().plus(Duration.ofMillis(backoffMs(job.getAttempts())));
+        if (!finish(job, AiJob.Status.PENDING, error, next)) return;
+        log.warn("[AiJob] retry id={}, type={}, refId={}, attempts={}, next={}, error={}",
+                job.getId(), job.getType(), job.getRefId(), job.getAttempts(), next, error);
+    }
+
+    private boolean finish(AiJob job, AiJob.Status status, String error, LocalDateTime nextRunAt) {
+        int n = aiJobRepository.finish(job.getId(), job.getAttempts(), status, error, nextRunAt, AiJob.Status.RUNNING);
+        if (n == 0) {
+            log.warn("[AiJob] stale result ignored id={}, attempts={}, status={} (lease expired)",
+                    job.getId(), job.getAttempts(), status);
+        }
+        return n > 0;
+    }
+
+    /** attempts 번째 실패 후 대기 시간: base * 2^(attempts-1), 상한 적용 + 최대 20% 지터 */
+    long backoffMs(int attempts) {
+        long exp = backoffBaseMs << Math.min(Math.max(attempts - 1, 0), 20);
+        long delay = Math.min(exp, backoffMaxMs);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    /** 임대 만료 작업 회수 */
+    @Transactional
+    public int releaseExpired() {
+        return aiJobRepository.releaseExpired(LocalDateTime.now(), AiJob.Status.PENDING, AiJob.Status.RUNNING);
+    }
+
+    /** DEAD 작업 재실행 */
+    @Transactional
+    public int replay(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+        int n = aiJobRepository.replay(ids, LocalDateTime.now(), AiJob.Status.PENDING, AiJob.Status.DEAD);
+        log.info("[AiJob] replay requested={}, replayed={}", ids.size(), n);
+        return n;
+    }
+
+    /** DEAD 작업 전체(또는 유형별) 재실행 */
+    @Transactional
+    public int replayDead(AiJob.Type type) {
+        return replay(aiJobRepository.findIdsByStatusAndType(AiJob.Status.DEAD, type));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<AiJob.Status, Long> stats() {
+        Map<AiJob.Status, Long> out = new LinkedHashMap<>();
+        for (AiJob.Status s : AiJob.Status.values()) out.put(s, 0L);
+        aiJobRepository.countByStatus().forEach(c -> out.put(c.getStatus(), c.getCnt()));
+        return out;
+    }
+
+    /** 오래된 DONE 작업 정리 (DEAD 는 재실행/확인용으로 남김) */
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    @Transactional
+    public void cleanup() {
+        int n = aiJobRepository.deleteFinishedBefore(AiJob.Status.DONE, LocalDateTime.now().minusDays(retentionDays));
+        if (n > 0) log.info("[AiJob] cleanup deleted={}", n);
+    }
+
+    public <T> T readPayload(AiJob job, Class<T> type) {
+        try {
+            return objectMapper.readValue(job.getPayloadJson(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ai job payload 역직렬화 실패 id=" + job.getId(), e);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ai job payload 직렬화 실패", e);
+        }
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 500 ? s : s.substring(0, 500);
+    }
+}
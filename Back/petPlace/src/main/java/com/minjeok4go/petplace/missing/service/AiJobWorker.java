@@ -0,0 +1,114 @@
+package com.minjeok4go.petplace.missing.service;
+
+import com.minjeok4go.petplace.missing.entity.AiJob;
+import com.minjeok4go.petplace.missing.service.AiJobService.DeindexImagesPayload;
+import com.minjeok4go.petplace.missing.service.AiJobService.IndexReportPayload;
+import com.minjeok4go.petplace.missing.service.AiJobService.SearchSightingPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 작업 큐 워커.
+ *
+ * 주기적으로(ai.jobs.poll-delay-ms) 빈 슬롯 수만큼만 작업을 선점해 실행합니다.
+ * - 동시 실행 수 상한(ai.jobs.concurrency) → 유사도 서비스로 나가는 요청량 제한 (넘치는 작업은 테이블에 대기 = 백프레셔)
+ * - 슬롯은 실제 작업이 끝났을 때만 반환하고, 실패 처리(재시도 예약)도 그 뒤에만 → 같은 작업이 겹쳐 돌지 않음
+ *   작업 시간은 유사도 서비스 호출의 클라이언트 제한 시간(ai.similarity.read-timeout-ms, 초과 시 요청 취소)으로 묶이므로
+ *   임대 시간 ai.jobs.lease-ms 는 그보다 넉넉하게
+ * - 임대가 만료돼 다른 실행이 가져간 뒤 늦게 끝난 실행의 결과 반영은 시도 횟수 검사로 무시됨 ({@link AiJobService#complete})
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobWorker {
+
+    private final AiJobService aiJobService;
+    private final IndexingService indexingService;
+    private final TaskExecutor aiJobExecutor; // AsyncConfig 의 aiJobExecutor (이름으로 주입)
+
+    @Value("${ai.jobs.concurrency:4}")
+    private int concurrency;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    @Scheduled(fixedDelayString = "${ai.jobs.poll-delay-ms:1000}")
+    public void poll() {
+        try {
+            int released = aiJobService.releaseExpired();
+            if (released > 0) log.warn("[AiJob] released expired leases count={}", released);
+
+            int free = concurrency - running.get();
+            if (free <= 0) return;
+
+            List<AiJob> jobs = aiJobService.claim(free);
+            for (AiJob job : jobs) {
+                running.incrementAndGet();
+                CompletableFuture<Void> f;
+                try {
+                    f = dispatch(job);
+                } catch (Exception e) {
+                    f = CompletableFuture.failedFuture(e);
+                }
+                f.whenComplete((v, e) -> finish(job, e));
+            }
+        } catch (Exception e) {
+            // DB 일시 장애 등 → 다음 주기에 재시도
+            log.error("[AiJob] poll failed", e);
+        }
+    }
+
+    private CompletableFuture<Void> dispatch(AiJob job) {
+        return switch (job.getType()) {
+            case INDEX_REPORT -> {
+                IndexReportPayload p = aiJobService.readPayload(job, IndexReportPayload.class);
+                // 이미지 조회는 워커 스레드에서, 전송은 AiIndexBatcher 가 모아서 (완료 시 future 완료)
+                yield CompletableFuture
+                        .supplyAsync(() -> indexingService.indexMissingReportImages(p.reportId(), p.species(), p.imageIds()),
+                                aiJobExecutor)
+                        .thenCompose(f -> f);
+            }
+            case SEARCH_SIGHTING -> {
+                SearchSightingPayload p = aiJobService.readPayload(job, SearchSightingPayload.class);
+                yield CompletableFuture.runAsync(() -> indexingService.searchForSighting(
+                        p.sightingId(), p.species(), p.src(),
+                        p.xmin(), p.ymin(), p.xmax(), p.ymax(),
+                        p.topK(), p.wFace()), aiJobExecutor);
+            }
+            case DEINDEX_IMAGES -> {
+                DeindexImagesPayload p = aiJobService.readPayload(job, DeindexImagesPayload.class);
+                yield CompletableFuture.runAsync(() -> indexingService.removeImages(p.imageIds()), aiJobExecutor);
+            }
+        };
+    }
+
+    private void finish(AiJob job, Throwable error) {
+        running.decrementAndGet();
+        try {
+            if (error == null) {
+                aiJobService.complete(job);
+            } else {
+                aiJobService.fail(job, unwrap(error));
+            }
+        } catch (Exception e) {
+            // 상태 반영 실패 → 임대 만료 후 회수되어 재실행 (at-least-once)
+            log.error("[AiJob] state update failed id={}", job.getId(), e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,83 @@
+package com.minjeok4go.petplace.missing.service;
+
+import com.minjeok4go.petplace.missing.service.LocalVectorIndex.Vectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 이미지 임베딩 저장소 (image_embeddings).
+ * 벡터는 float32 little-endian 바이트 그대로 저장 (유사도 서비스 응답과 같은 형식).
+ */
+@Component
+@RequiredArgsConstructor
+class ImageEmbeddingStore {
+
+    // 같은 이미지는 처음 저장된 임베딩 유지 (재시도로 다시 와도 무시)
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO image_embeddings (image_id, species, body_vec, face_vec, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    // 진행 중인 실종 신고의 이미지 임베딩만 (seq 오름차순 페이지)
+    private static final String LOAD_ACTIVE_SQL = """
+            SELECT e.id, e.image_id, e.species, e.body_vec, e.face_vec
+            FROM image_embeddings e
+            JOIN images i ON i.id = e.image_id AND i.ref_type = 'MISSING_REPORT'
+            JOIN missing_reports mr ON mr.id = i.ref_id AND mr.status = 'MISSING' AND mr.deleted_at IS NULL
+            WHERE e.id > ?
+            ORDER BY e.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Vectors> rows) {
+        if (rows.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, v) -> {
+            ps.setLong(1, v.imageId());
+            ps.setString(2, v.species());
+            ps.setBytes(3, toBytes(v.body()));
+            ps.setBytes(4, toBytes(v.face()));
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    /**
+     * afterSeq 이후 행을 pageSize 씩 끝까지 읽어 consumer 로 넘김
+     * @return 마지막으로 읽은 seq (없으면 afterSeq)
+     */
+    public long loadActive(long afterSeq, int pageSize, Consumer<Vectors> consumer) {
+        long last = afterSeq;
+        while (true) {
+            List<Long> seqs = jdbcTemplate.query(LOAD_ACTIVE_SQL, (rs, i) -> {
+                consumer.accept(new Vectors(
+                        rs.getLong("image_id"),
+                        rs.getString("species"),
+                        fromBytes(rs.getBytes("body_vec")),
+                        fromBytes(rs.getBytes("face_vec"))));
+                return rs.getLong("id");
+            }, last, pageSize);
+            if (!seqs.isEmpty()) last = seqs.get(seqs.size() - 1);
+            if (seqs.size() < pageSize) return last;
+        }
+    }
+
+    static byte[] toBytes(float[] v) {
+        ByteBuffer buf = ByteBuffer.allocate(v.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(v);
+        return buf.array();
+    }
+
+    static float[] fromBytes(byte[] bytes) {
+        float[] v = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(v);
+        return v;
+    }
+}
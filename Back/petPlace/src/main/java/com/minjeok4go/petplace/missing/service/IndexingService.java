@@ -2,30 +2,40 @@ package com.minjeok4go.petplace.missing.service;
 
 import com.minjeok4go.petplace.common.constant.RefType;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
-import com.minjeok4go.petplace.image.entity.Image;
-import com.minjeok4go.petplace.image.repository.ImageRepository;
 import com.minjeok4go.petplace.image.service.ImageService;
 import com.minjeok4go.petplace.missing.client.AiSimilarityClient;
-import com.minjeok4go.petplace.missing.entity.MissingReport;
-import com.minjeok4go.petplace.missing.entity.Sighting;
-import com.minjeok4go.petplace.missing.entity.SightingMatch;
 import com.minjeok4go.petplace.missing.repository.MissingReportRepository;
+import com.minjeok4go.petplace.missing.repository.MissingReportRepository.MatchCandidate;
 import com.minjeok4go.petplace.missing.repository.SightingMatchRepository;
 import com.minjeok4go.petplace.missing.repository.SightingRepository;
-import com.minjeok4go.petplace.notification.dto.CreateCommentNotificationRequest;
+import com.minjeok4go.petplace.notification.dto.CreateSightingNotificationBatchRequest;
 import com.minjeok4go.petplace.notification.dto.CreateSightingNotificationRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -36,13 +46,41 @@ public class IndexingService {
     private final AiSimilarityClient aiClient;
     private static final int MAX_SAVE = 5;
     private static final double MIN_SCORE = 0.35;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEG_LAT = 111.32;
+    private static final String INSERT_MATCH_SQL =
+            "INSERT IGNORE INTO sighting_matches (sighting_id, missing_report_id, image_id, score, status, created_at) "
+                    + "VALUES (?, ?, ?, ?, 'PENDING', ?)";
 
     private final ApplicationEventPublisher publisher;
-    private final ImageRepository imageRepository;
+    private final AiIndexBatcher aiIndexBatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalVectorIndex localVectorIndex;
+    private final TaskExecutor aiJobExecutor; // AsyncConfig 의 aiJobExecutor (이름으로 주입)
+    private final TransactionTemplate transactionTemplate;
     private final MissingReportRepository missingReportRepository;
     private final SightingMatchRepository sightingMatchRepository;
     private final SightingRepository sightingRepository; // ✅ 추가
 
+    // 매칭 후보 축소 / 순위 감쇠 설정
+    @Value("${ai.match.radius-km:5}")
+    private double radiusKm;
+
+    @Value("${ai.match.lookback-days:30}")
+    private int lookbackDays;
+
+    @Value("${ai.match.distance-scale-km:2}")
+    private double distanceScaleKm;
+
+    @Value("${ai.match.time-scale-days:7}")
+    private double timeScaleDays;
+
+    @Value("${ai.match.decay-floor:0.7}")
+    private double decayFloor;
+
+    @Value("${ai.match.max-allow-ids:2000}")
+    private int maxAllowIds;
+
     // 컨테이너 내부 통일 경로(/data/images) – compose로 마운트됨
     @Value("${app.upload.base:/data/images}")
     private String uploadBase;
@@ -54,34 +92,119 @@ public class IndexingService {
         return Path.of(uploadBase + rel);                    // "/data/images/lost_pets_images/xxx.jpg"
     }
 
-    /** 실종 신고 저장 후: 등록 이미지들을 인덱스에 추가 */
-    @Async
-    public void indexMissingReportImages(Long missingReportId, String species) {
+    /**
+     * 실종 신고 이미지들을 인덱스에 추가 (AI 작업 큐 워커가 호출).
+     * imageIds 가 null 이면 신고의 전체 이미지, 아니면 해당 이미지만 (수정 시 새로 추가된 것만).
+     * 반환 future 는 모든 이미지가 인덱싱되면 완료, 실패가 있으면 예외 완료 → 작업 재시도
+     */
+    public CompletableFuture<Void> indexMissingReportImages(Long missingReportId, String species, Collection<Long> imageIds) {
+        return indexImages(missingReportId, species, imageIds == null ? null : new HashSet<>(imageIds));
+    }
 
+    private CompletableFuture<Void> indexImages(Long missingReportId, String species, Set<Long> onlyIds) {
 
         // 1) MissingReport -> Pet -> breed 가져오기
         String breedEng = missingReportRepository.findPetBreedByReportId(missingReportId)
                 .map(Enum::name).map(IndexingService::normBreed).orElse(null);
 
         List<ImageResponse> images = imageService.getImages(RefType.MISSING_REPORT, missingReportId);
+        if (images != null && onlyIds != null) {
+            images = images.stream().filter(ir -> onlyIds.contains(ir.getId())).toList();
+        }
         if (images == null || images.isEmpty()) {
             log.warn("indexMissingReportImages: no images (reportId={})", missingReportId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        // 항목만 만들어 배치 큐에 넣음 (HTTP 전송은 AiIndexBatcher 가 여러 신고를 모아 논블로킹으로)
+        List<AiSimilarityClient.IndexItem> items = new ArrayList<>(images.size());
         for (ImageResponse ir : images) {
-            try {
-                Path p = toContainerPath(ir.getSrc());
-                if (p == null) {
-                    log.warn("invalid src: {}", ir.getSrc());
-                    continue;
-                }
-                aiClient.indexAddPath(ir.getId(), species, p.toString(), breedEng,null, null, null, null, null).block();
-            } catch (Exception e) {
-                log.error("indexing failed: imageId={}, src={}", ir.getId(), ir.getSrc(), e);
+            Path p = toContainerPath(ir.getSrc());
+            if (p == null) {
+                log.warn("invalid src: {}", ir.getSrc());
+                continue;
+            }
+            items.add(new AiSimilarityClient.IndexItem(ir.getId(), species, p.toString(), breedEng));
+        }
+        log.info("indexMissingReportImages queued: reportId={}, count={}", missingReportId, items.size());
+        // 돌려받은 임베딩은 로컬 저장소/인덱스에 저장 (JDBC 라 응답 스레드가 아닌 작업 풀에서)
+        return aiIndexBatcher.enqueue(items)
+                .thenAcceptAsync(results -> localVectorIndex.addAll(toVectors(items, results)), aiJobExecutor);
+    }
+
+    /**
+     * 삭제된 이미지를 인덱스에서 제거 (AI 작업 큐 워커가 호출, 멱등).
+     * image_embeddings 행은 images 삭제 시 FK CASCADE 로 이미 지워졌으므로 원격 인덱스와 로컬 인덱스만 정리
+     */
+    public void removeImages(Collection<Long> imageIds) {
+        if (imageIds == null || imageIds.isEmpty()) return;
+        aiClient.indexRemove(imageIds).block();
+        localVectorIndex.removeAll(imageIds);
+        log.info("removeImages done: count={}", imageIds.size());
+    }
+
+    private static List<LocalVectorIndex.Vectors> toVectors(List<AiSimilarityClient.IndexItem> items,
+                                                            List<AiSimilarityClient.IndexBatchResp.Result> results) {
+        List<LocalVectorIndex.Vectors> out = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            var r = results.get(i);
+            float[] body = LocalVectorIndex.decode(r.getBody());
+            float[] face = LocalVectorIndex.decode(r.getFace());
+            if (body == null || face == null) continue; // 임베딩을 안 돌려주는 구버전 응답
+            out.add(new LocalVectorIndex.Vectors(items.get(i).imageId(), items.get(i).species(), body, face));
+        }
+        return out;
+    }
+    /** 원격 검색이 돌려준 질의 임베딩으로 로컬 인덱스 검색 (원격 인덱스가 재시작으로 비어 있어도 후보 확보) */
+    private List<LocalVectorIndex.Hit> searchLocal(String species, AiSimilarityClient.SearchResp resp, Double wFace,
+                                                   Integer topK, Set<Long> allowIds) {
+        if (resp.getQuery() == null) return List.of();
+        return localVectorIndex.search(
+                species,
+                LocalVectorIndex.decode(resp.getQuery().getBody()),
+                LocalVectorIndex.decode(resp.getQuery().getFace()),
+                resp.getWFace() != null ? resp.getWFace() : wFace,
+                topK == null ? 30 : topK,
+                allowIds);
+    }
+
+    /** 목격 지점 반경/기간 안의 진행 중인 같은 종 신고 이미지 (이미지 id → 후보) */
+    private Map<Long, MatchCandidate> findCandidates(String species, BigDecimal lat, BigDecimal lng, LocalDateTime sightedAt) {
+        if (lat == null || lng == null) return Map.of();
+        double dLat = radiusKm / KM_PER_DEG_LAT;
+        double dLng = radiusKm / (KM_PER_DEG_LAT * Math.max(Math.cos(Math.toRadians(lat.doubleValue())), 0.01));
+
+        Map<Long, MatchCandidate> out = new HashMap<>();
+        for (MatchCandidate c : missingReportRepository.findMatchCandidatesInRange(
+                species,
+                BigDecimal.valueOf(lat.doubleValue() - dLat), BigDecimal.valueOf(lat.doubleValue() + dLat),
+                BigDecimal.valueOf(lng.doubleValue() - dLng), BigDecimal.valueOf(lng.doubleValue() + dLng),
+                sightedAt.minusDays(lookbackDays),
+                sightedAt.plusHours(1))) { // 시각 입력 오차 허용
+            if (distanceKm(lat, lng, c.getLatitude(), c.getLongitude()) <= radiusKm) {
+                out.put(c.getImageId(), c);
             }
         }
-        log.info("indexMissingReportImages done: reportId={}, count={}", missingReportId, images.size());
+        return out;
+    }
+
+    /** 거리/시간 감쇠 계수 (가까울수록·최근일수록 1, 멀어져도 decayFloor 아래로는 내려가지 않음) */
+    private double decay(MatchCandidate c, BigDecimal lat, BigDecimal lng, LocalDateTime sightedAt) {
+        double km = distanceKm(lat, lng, c.getLatitude(), c.getLongitude());
+        double hours = Math.max(0, Duration.between(c.getMissingAt(), sightedAt).toMinutes() / 60.0);
+        double geo = decayFloor + (1 - decayFloor) * Math.exp(-km / distanceScaleKm);
+        double time = decayFloor + (1 - decayFloor) * Math.exp(-hours / (timeScaleDays * 24.0));
+        return geo * time;
+    }
+
+    /** 하버사인 거리 (km) */
+    private static double distanceKm(BigDecimal lat1, BigDecimal lng1, BigDecimal lat2, BigDecimal lng2) {
+        double p1 = Math.toRadians(lat1.doubleValue()), p2 = Math.toRadians(lat2.doubleValue());
+        double dp = p2 - p1;
+        double dl = Math.toRadians(lng2.doubleValue() - lng1.doubleValue());
+        double h = Math.sin(dp / 2) * Math.sin(dp / 2) + Math.cos(p1) * Math.cos(p2) * Math.sin(dl / 2) * Math.sin(dl / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
     }
+
     // class IndexingService { ... 맨 아래 아무데나
     private static String normBreed(String s) {
         if (s == null) return null;
@@ -91,82 +214,122 @@ public class IndexingService {
                 .replace("_", "");
     }
 
-    @Async
-    @Transactional
+    /**
+     * 목격 제보 대표 이미지로 유사도 검색 후 매칭 저장 (AI 작업 큐 워커가 호출).
+     * 실패는 예외로 올려 작업 재시도 (이미 저장된 매칭은 건너뛰므로 재실행해도 안전)
+     *
+     * 1) 후보 축소: 목격 위치 반경(ai.match.radius-km) + 기간(ai.match.lookback-days) 안의 진행 중인 같은 종 신고 이미지
+     * 2) 후보 이미지 id 를 허용 목록으로 넘겨 그 안에서만 유사도 계산 (원격 + 로컬 인덱스)
+     * 3) 최종 점수 = 유사도 × 거리 감쇠 × 시간 감쇠
+     *
+     * 쿼리 수 고정: 제보 조회 1 + 후보 조회 1 + 기존 매칭 확인 1 + 배치 INSERT 1
+     * AI 호출 동안 DB 커넥션을 잡지 않도록 트랜잭션은 저장 구간에만 둠
+     */
     public void searchForSighting(Long sightingId, String species, String src,
                                   Integer xmin, Integer ymin, Integer xmax, Integer ymax,
                                   Integer topK, Double wFace) {
-        try {
-            String abs = Optional.ofNullable(toContainerPath(src))
-                    .map(Path::toString).orElse(null);
-            if (abs == null) {
-                log.warn("searchForSighting: invalid src (null/unsupported) sightingId={}, src={}", sightingId, src);
-                return;
-            }
-            var sighting = sightingRepository.getReferenceById(sightingId);
-
-            String qBreedEng = Optional.ofNullable(sighting.getBreed())
-                    .map(Enum::name)                 // "MALTESE_DOG"
-                    .map(IndexingService::normBreed) // "maltesedog"
-                    .orElse(null);
-
-            var resp = aiClient.searchPath(
-                    species,      // 소문자 처리는 AiSimilarityClient에서 함
-                    abs,
-                    qBreedEng,    // ★ 품종 추가 (null이면 미적용)
-                    topK, wFace,
-                    xmin, ymin, xmax, ymax
-            ).block();
-
-            if (resp == null || resp.getResults() == null || resp.getResults().isEmpty()) {
-                log.info("searchForSighting: 후보 없음 sightingId={}, src={}", sightingId, src);
-                return;
-            }
-
-            // JPA 프록시로 연관 세팅(쿼리 안 나감)
-            var sightingRef = sighting; // 이미 getReferenceById 했으니 재사용
-
-            int saved = 0;
-            for (var it : resp.getResults()) {
-                double score = it.getScore();
-                if (score < MIN_SCORE) continue;
-
-                var imgOpt = imageRepository.findById(it.getId());
-                if (imgOpt.isEmpty()) continue;
-                var img = imgOpt.get();
+        String abs = Optional.ofNullable(toContainerPath(src))
+                .map(Path::toString).orElse(null);
+        if (abs == null) {
+            log.warn("searchForSighting: invalid src (null/unsupported) sightingId={}, src={}", sightingId, src);
+            return;
+        }
+        // 품종/작성자 닉네임/위치/시각만 프로젝션으로 (엔티티 프록시 + 지연 로딩 없이)
+        var source = sightingRepository.findMatchSource(sightingId).orElse(null);
+        if (source == null) {
+            log.warn("searchForSighting: sighting not found sightingId={}", sightingId);
+            return;
+        }
+        String speciesLc = species == null ? "dog" : species.toLowerCase(Locale.ROOT);
 
-                if (img.getRefType() != RefType.MISSING_REPORT) continue;
+        // 1) 후보 축소 (위경도 박스로 조회 후 실제 거리로 한 번 더 거름)
+        LocalDateTime sightedAt = source.getSightedAt() != null ? source.getSightedAt() : LocalDateTime.now();
+        Map<Long, MatchCandidate> candidateByImage = findCandidates(speciesLc, source.getLatitude(), source.getLongitude(), sightedAt);
+        if (candidateByImage.isEmpty()) {
+            log.info("searchForSighting: 주변 진행 중인 신고 없음 sightingId={}", sightingId);
+            return;
+        }
 
-                var mrOpt = missingReportRepository.findById(img.getRefId());
-                if (mrOpt.isEmpty()) continue;
-                var mr = mrOpt.get();
+        String qBreedEng = Optional.ofNullable(source.getBreed())
+                .map(Enum::name)                 // "MALTESE_DOG"
+                .map(IndexingService::normBreed) // "maltesedog"
+                .orElse(null);
 
-                if (sightingMatchRepository.existsBySightingIdAndMissingReportId(sightingId, mr.getId())) {
-                    continue;
-                }
+        // 허용 목록이 너무 크면 전체 검색 후 후보로 거름 (요청 크기 제한)
+        Set<Long> allowIds = candidateByImage.keySet();
+        var resp = aiClient.searchPath(
+                speciesLc,
+                abs,
+                qBreedEng,    // ★ 품종 추가 (null이면 미적용)
+                topK, wFace,
+                xmin, ymin, xmax, ymax,
+                allowIds.size() <= maxAllowIds ? allowIds : null
+        ).block();
 
-                var match = SightingMatch.builder()
-                        .sighting(sightingRef)
-                        .missingReport(mr)
-                        .image(img)
-                        .score(BigDecimal.valueOf(score))
-                        .build();
-                sightingMatchRepository.save(match);
+        if (resp == null) {
+            log.info("searchForSighting: 후보 없음 sightingId={}, src={}", sightingId, src);
+            return;
+        }
+        if (resp.getResults() == null) resp.setResults(List.of());
 
-                publisher.publishEvent(new CreateSightingNotificationRequest(
-                        mr.getUser().getId(), sighting.getUser().getNickname(), RefType.SIGHTING, sighting.getId(), mr, sighting
-                ));
+        // 2) 기준 유사도 이상인 후보 이미지 id → 유사도 (원격 결과 + 같은 질의 임베딩으로 로컬 인덱스 검색 결과 병합)
+        Map<Long, Double> visualByImage = new HashMap<>();
+        for (var it : resp.getResults()) {
+            if (it.getId() == null || it.getScore() < MIN_SCORE || !candidateByImage.containsKey(it.getId())) continue;
+            visualByImage.merge(it.getId(), it.getScore(), Math::max);
+        }
+        int remoteHits = visualByImage.size();
+        for (var hit : searchLocal(speciesLc, resp, wFace, topK, allowIds)) {
+            if (hit.score() < MIN_SCORE) continue;
+            visualByImage.merge(hit.imageId(), hit.score(), Math::max);
+        }
+        log.debug("searchForSighting hits: sightingId={}, candidates={}, remote={}, merged={}",
+                sightingId, candidateByImage.size(), remoteHits, visualByImage.size());
+        if (visualByImage.isEmpty()) {
+            log.info("searchForSighting: 기준 점수 이상 후보 없음 sightingId={}", sightingId);
+            return;
+        }
 
-                log.debug("{}에게 {}글이 매칭 되었음", mr.getUser().getId(), sighting.getId());
+        // 3) 최종 점수 (유사도 × 거리/시간 감쇠), 신고마다 가장 점수 높은 이미지 하나
+        Map<Long, Double> scoreByImage = new HashMap<>();
+        Map<Long, MatchCandidate> bestByReport = new HashMap<>();
+        for (var e : visualByImage.entrySet()) {
+            MatchCandidate c = candidateByImage.get(e.getKey());
+            scoreByImage.put(e.getKey(), e.getValue() * decay(c, source.getLatitude(), source.getLongitude(), sightedAt));
+            bestByReport.merge(c.getReportId(), c,
+                    (a, b) -> scoreByImage.get(a.getImageId()) >= scoreByImage.get(b.getImageId()) ? a : b);
+        }
 
-                if (++saved >= MAX_SAVE) break;
-            }
+        // 4) 이미 매칭된 신고 제외 (1쿼리) → 점수순 상위 MAX_SAVE
+        Set<Long> matched = new HashSet<>(sightingMatchRepository.findMatchedReportIds(sightingId, bestByReport.keySet()));
+        List<MatchCandidate> toSave = bestByReport.values().stream()
+                .filter(c -> !matched.contains(c.getReportId()))
+                .sorted(Comparator.comparingDouble((MatchCandidate c) -> scoreByImage.get(c.getImageId())).reversed())
+                .limit(MAX_SAVE)
+                .toList();
+        if (toSave.isEmpty()) {
+            log.info("searchForSighting done: sightingId={}, saved=0 (already matched)", sightingId);
+            return;
+        }
 
-            log.info("searchForSighting done: sightingId={}, saved={}", sightingId, saved);
+        // 5) 매칭 배치 INSERT + 알림 이벤트 (커밋 후 일괄 저장/발송)
+        //    동시 실행으로 이미 들어간 쌍은 uq_sighting_missing 으로 무시
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_MATCH_SQL, toSave, toSave.size(), (ps, c) -> {
+                ps.setLong(1, sightingId);
+                ps.setLong(2, c.getReportId());
+                ps.setLong(3, c.getImageId());
+                ps.setBigDecimal(4, BigDecimal.valueOf(scoreByImage.get(c.getImageId())).setScale(4, RoundingMode.HALF_UP));
+                ps.setTimestamp(5, now);
+            });
+            publisher.publishEvent(new CreateSightingNotificationBatchRequest(toSave.stream()
+                    .map(c -> new CreateSightingNotificationRequest(
+                            c.getOwnerId(), source.getNickname(), RefType.SIGHTING, sightingId, c.getPetName()))
+                    .toList()));
+        });
 
-        } catch (Exception e) {
-            log.error("searchForSighting error sightingId={}, src={}", sightingId, src, e);
-        }
+        log.info("searchForSighting done: sightingId={}, saved={}", sightingId, toSave.size());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package com.minjeok4go.petplace.missing.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 실종 신고 이미지 임베딩 로컬 인덱스 (인스턴스 메모리, 종(species)별 파티션).
+ *
+ * 유사도 서비스의 FAISS 인덱스는 메모리에만 있어 재시작하면 비어 버리므로,
+ * 인덱싱 때 돌려받은 임베딩을 image_embeddings 에 저장해 두고 여기서도 검색해 원격 결과와 합칩니다.
+ * - 대상은 진행 중(MISSING)인 신고 이미지뿐이라 규모가 작음 → 연속 float[] 에 모아 두고 전수 내적 (근사 없이 정확한 top-k)
+ * - 점수식은 유사도 서비스와 동일: wFace * (얼굴 내적) + (1 - wFace) * (몸통 내적), 벡터는 L2 정규화된 상태
+ * - 다른 인스턴스가 저장한 임베딩은 주기 동기화(ai.local-index.sync-delay-ms), 종료/삭제된 신고는 새벽 재구성으로 제거
+ *   (id 는 커밋 순서가 아니라 발급 순서라 마지막 seq 뒤쪽 구간(ai.local-index.sync-overlap)을 매번 다시 읽음, 중복은 Partition 이 무시)
+ * - 신고 수정으로 빠진 이미지는 {@link #removeAll} → pub/sub 으로 모든 인스턴스에서 바로 제거
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalVectorIndex {
+
+    static final int DIM = 512;
+    private static final int LOAD_PAGE = 1000;
+
+    /** 이미지 제거 채널 (메시지 본문: 쉼표로 구분한 imageId 목록) */
+    static final String REMOVE_CHANNEL = "local-index:remove";
+
+    private final ImageEmbeddingStore store;
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${ai.local-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.local-index.w-face-default:0.6}")
+    private double wFaceDefault;
+
+    @Value("${ai.local-index.sync-overlap:500}")
+    private long syncOverlap;
+
+    private volatile Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private volatile long lastSeq;
+
+    /** 이미지 1장의 임베딩 (species 는 "dog" | "cat") */
+    public record Vectors(long imageId, String species, float[] body, float[] face) {}
+
+    public record Hit(long imageId, double score) {}
+
+    @PostConstruct
+    void init() {
+        rebuild();
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> removeLocal(parseIds(message.toString())),
+                new ChannelTopic(REMOVE_CHANNEL));
+    }
+
+    /** 인덱싱 결과 저장 + 이 인스턴스 인덱스에 즉시 반영 */
+    public void addAll(List<Vectors> rows) {
+        List<Vectors> valid = rows.stream().filter(LocalVectorIndex::isValid).toList();
+        if (valid.size() < rows.size()) {
+            log.warn("[LocalIndex] skipped invalid vectors count={}", rows.size() - valid.size());
+        }
+        store.insertAll(valid);
+        if (enabled) valid.forEach(this::addLocal);
+    }
+
+    /** 삭제된 이미지 제거 (이 인스턴스 즉시 + 다른 인스턴스는 pub/sub, 유실돼도 새벽 재구성에서 빠짐) */
+    public void removeAll(Collection<Long> imageIds) {
+        if (imageIds.isEmpty()) return;
+        removeLocal(imageIds);
+        try {
+            redis.convertAndSend(REMOVE_CHANNEL, imageIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("[LocalIndex] remove publish failed count={}", imageIds.size(), e);
+        }
+    }
+
+    /**
+     * 질의 임베딩으로 top-k (인덱스가 비었거나 꺼져 있으면 빈 목록).
+     * allowIds 를 주면 그 이미지들만 계산 (전수 스캔 대신 위치 인덱스로 바로 접근)
+     */
+    public List<Hit> search(String species, float[] qBody, float[] qFace, Double wFace, int k, Set<Long> allowIds) {
+        if (!enabled || species == null || k <= 0) return List.of();
+        if (qBody == null || qFace == null || qBody.length != DIM || qFace.length != DIM) return List.of();
+        Partition p = partitions.get(species);
+        if (p == null) return List.of();
+        return p.topK(qBody, qFace, wFace == null ? wFaceDefault : wFace, k, allowIds);
+    }
+
+    public int size() {
+        return partitions.values().stream().mapToInt(Partition::size).sum();
+    }
+
+    /**
+     * 다른 인스턴스가 저장한 임베딩 반영.
+     * 먼저 발급된 작은 id 가 더 늦게 커밋될 수 있어 lastSeq - syncOverlap 부터 다시 읽음 (lastSeq 는 뒤로 가지 않음)
+     */
+    @Scheduled(fixedDelayString = "${ai.local-index.sync-delay-ms:10000}", initialDelayString = "${ai.local-index.sync-delay-ms:10000}")
+    public void sync() {
+        if (!enabled) return;
+        try {
+            long seen = lastSeq;
+            long seq = store.loadActive(Math.max(0L, seen - syncOverlap), LOAD_PAGE, this::addLocal);
+            lastSeq = Math.max(seen, seq);
+        } catch (Exception e) {
+            log.warn("[LocalIndex] sync failed", e);
+        }
+    }
+
+    /** 전체 재구성 (종료/삭제된 신고의 이미지 제거), 실패하면 기존 인덱스 유지 */
+    @Scheduled(cron = "0 0 5 * * *", zone = "Asia/Seoul")
+    public void rebuild() {
+        if (!enabled) return;
+        try {
+            Map<String, Partition> next = new ConcurrentHashMap<>();
+            long seq = store.loadActive(0L, LOAD_PAGE,
+                    v -> { if (isValid(v)) next.computeIfAbsent(v.species(), s -> new Partition()).add(v); });
+            partitions = next;
+            lastSeq = seq;
+            log.info("[LocalIndex] rebuilt size={}, lastSeq={}", size(), seq);
+        } catch (Exception e) {
+            log.warn("[LocalIndex] rebuild failed", e);
+        }
+    }
+
+    private void addLocal(Vectors v) {
+        if (!isValid(v)) return;
+        partitions.computeIfAbsent(v.species(), s -> new Partition()).add(v);
+    }
+
+    private void removeLocal(Collection<Long> imageIds) {
+        if (!enabled || imageIds.isEmpty()) return;
+        int removed = 0;
+        for (Partition p : partitions.values()) removed += p.removeAll(imageIds);
+        if (removed > 0) log.info("[LocalIndex] removed count={}", removed);
+    }
+
+    private static List<Long> parseIds(String body) {
+        List<Long> ids = new ArrayList<>();
+        for (String s : body.split(",")) {
+            if (!s.isBlank()) ids.add(Long.parseLong(s.trim()));
+        }
+        return ids;
+    }
+
+    private static boolean isValid(Vectors v) {
+        return v != null && v.species() != null
+                && v.body() != null && v.body().length == DIM
+                && v.face() != null && v.face().length == DIM;
+    }
+
+    /** 유사도 서비스 응답의 base64(float32 LE) 벡터 → float[] (없으면 null) */
+    public static float[] decode(String b64) {
+        if (b64 == null || b64.isEmpty()) return null;
+        return ImageEmbeddingStore.fromBytes(Base64.getDecoder().decode(b64));
+    }
+
+    /**
+     * 종 하나의 벡터 묶음. 행 i 의 벡터는 body[i*DIM .. (i+1)*DIM) (연속 배열 → 캐시 친화적 순차 스캔)
+     * 쓰기(추가)는 드물고 읽기(검색)가 많아 읽기/쓰기 락
+     */
+    static final class Partition {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> pos = new HashMap<>();
+        private long[] ids = new long[256];
+        private float[] body = new float[256 * DIM];
+        private float[] face = new float[256 * DIM];
+        private int size;
+
+        void add(Vectors v) {
+            lock.writeLock().lock();
+            try {
+                if (pos.containsKey(v.imageId())) return;
+                if (size == ids.length) {
+                    int cap = ids.length * 2;
+                    ids = Arrays.copyOf(ids, cap);
+                    body = Arrays.copyOf(body, cap * DIM);
+                    face = Arrays.copyOf(face, cap * DIM);
+                }
+                ids[size] = v.imageId();
+                System.arraycopy(v.body(), 0, body, size * DIM, DIM);
+                System.arraycopy(v.face(), 0, face, size * DIM, DIM);
+                pos.put(v.imageId(), size);
+                size++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /** 마지막 행을 빈 자리로 옮겨 채움 (배열 연속성 유지) → 제거한 개수 */
+        int removeAll(Collection<Long> imageIds) {
+            lock.writeLock().lock();
+            try {
+                int removed = 0;
+                for (Long id : imageIds) {
+                    Integer i = pos.remove(id);
+                    if (i == null) continue;
+                    int last = size - 1;
+                    if (i != last) {
+                        ids[i] = ids[last];
+                        System.arraycopy(body, last * DIM, body, i * DIM, DIM);
+                        System.arraycopy(face, last * DIM, face, i * DIM, DIM);
+                        pos.put(ids[i], i);
+                    }
+                    size--;
+                    removed++;
+                }
+                return removed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Hit> topK(float[] qBody, float[] qFace, double wFace, int k, Set<Long> allowIds) {
+            lock.readLock().lock();
+            try {
+                // 최소 힙으로 상위 k 유지
+                PriorityQueue<Hit> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Hit::score));
+                if (allowIds == null) {
+                    for (int i = 0; i < size; i++) offer(heap, k, i, score(qBody, qFace, wFace, i));
+                } else {
+                    for (Long id : allowIds) {
+                        Integer i = pos.get(id);
+                        if (i != null) offer(heap, k, i, score(qBody, qFace, wFace, i));
+                    }
+                }
+                List<Hit> out = new ArrayList<>(heap);
+                out.sort(Comparator.comparingDouble(Hit::score).reversed());
+                return out;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private double score(float[] qBody, float[] qFace, double wFace, int i) {
+            int off = i * DIM;
+            return wFace * dot(qFace, face, off) + (1 - wFace) * dot(qBody, body, off);
+        }
+
+        private void offer(PriorityQueue<Hit> heap, int k, int i, double score) {
+            if (heap.size() < k) {
+                heap.add(new Hit(ids[i], score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Hit(ids[i], score));
+            }
+        }
+
+        // 누산기 4개로 나눠 의존성 체인을 끊음 (JIT 언롤/파이프라이닝)
+        private static double dot(float[] q, float[] m, int off) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            for (int j = 0; j < DIM; j += 4) {
+                s0 += q[j] * m[off + j];
+                s1 += q[j + 1] * m[off + j + 1];
+                s2 += q[j + 2] * m[off + j + 2];
+                s3 += q[j + 3] * m[off + j + 3];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+    }
+}
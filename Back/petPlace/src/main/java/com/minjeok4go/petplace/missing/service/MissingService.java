@@ -22,24 +22,20 @@ import com.minjeok4go.petplace.region.repository.RegionRepository;
 import com.minjeok4go.petplace.image.service.ImageService;
 import com.minjeok4go.petplace.image.dto.ImageRequest;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
-import com.minjeok4go.petplace.image.entity.Image;
-import com.minjeok4go.petplace.image.repository.ImageRepository;
+import com.minjeok4go.petplace.image.dto.ImageSyncResult;
 import com.minjeok4go.petplace.common.constant.RefType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
@@ -47,8 +43,6 @@ import java.util.concurrent.Executor;
 @Transactional(readOnly = true)
 public class MissingService {
 
-    private final TaskExecutor appTaskExecutor; // ← 네가 만든 @Bean taskExecutor 주입
-
     private final MissingReportRepository missingReportRepository;
     private final SightingRepository sightingRepository;
     private final SightingMatchRepository sightingMatchRepository;
@@ -56,8 +50,7 @@ public class MissingService {
     private final PetRepository petRepository;
     private final RegionRepository regionRepository;
     private final ImageService imageService; // 기존 ImageService 활용
-    private final ImageRepository imageRepository; // 이미지 삭제용
-    private final IndexingService indexingService; // ← 비동기 인덱싱 호출용
+    private final AiJobService aiJobService; // ← AI 인덱싱/매칭 작업 큐 (같은 트랜잭션에 등록)
 
 //    private final AIMatchingService aiMatchingService;
 
@@ -101,53 +94,17 @@ public class MissingService {
         /* 3) 이미지 저장 (DB src는 /images/... , 실제 파일은 /data/images/에 저장되어 있어야 함) */
         saveImages(request.getImages(), missingReport.getId(), RefType.MISSING_REPORT);
 
-        /* 4) 커밋 후 인덱싱 트리거 (비동기) */
-        //   - 커밋까지 성공해야만 인덱싱 실행 → 인덱스 오염 방지
+        /* 4) 인덱싱 작업 등록 (같은 트랜잭션 → 커밋돼야 워커가 실행, 롤백되면 작업도 사라짐) */
+        //   - 실패 시 AiJobWorker 가 백오프 재시도, 한도 초과 시 DEAD (재실행 API 로 복구)
         final Long reportId = missingReport.getId();
         final String species = deduceSpeciesFromPet(pet); // "dog" | "cat" 로 매핑 (아래 헬퍼 참고)
-
-        runAfterCommit(() -> {
-            // ⚠️ 여기서 예외가 나더라도 본 트랜잭션엔 영향 없음(이미 커밋 완료)
-            //    인덱싱 실패는 로깅/재시도(옵션)로 대응
-            try {
-                indexingService.indexMissingReportImages(reportId, species);
-            } catch (Exception e) {
-                log.error("커밋 후 인덱싱 실패 - reportId={}, species={}", reportId, species, e);
-            }
-        });
+        aiJobService.enqueueIndexReport(reportId, species, null);
 
         /* 5) 응답 빌드 (방금 저장한 이미지 목록을 함께 내려주기) */
         List<ImageResponse> imageResponses = imageService.getImages(RefType.MISSING_REPORT, reportId);
         return MissingReportResponse.from(missingReport, imageResponses);
     }
 
-    /**
-     * 트랜잭션 "커밋 후(afterCommit)"에 작업을 실행하는 헬퍼.
-     * - 실제 트랜잭션이 활성화되어 있으면 afterCommit 훅에 등록
-     * - 트랜잭션이 없으면(비정상 경로/테스트) 즉시 실행
-     * - Spring 6에서는 TransactionSynchronizationAdapter가 제거됨 → TransactionSynchronization 사용
-     */
-    private void runAfterCommit(Runnable task) {
-        Runnable safe = () -> {
-            try {
-                task.run();
-            } catch (Exception e) {
-                log.error("afterCommit 작업 실행 중 오류", e);
-            }
-        };
-
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    appTaskExecutor.execute(safe); // ✅ 비동기 실행만
-                }
-            });
-        } else {
-            appTaskExecutor.execute(safe);         // ✅ 트랜잭션 없을 때도 비동기만
-        }
-    }
-
     /**
      * Pet 엔티티에서 검색 엔진이 요구하는 species 문자열("dog"/"cat")을 도출.
      * - 프로젝트 도메인에 따라 enum/문자열 필드 중 하나를 사용
@@ -205,39 +162,20 @@ public class MissingService {
         // 4. 이미지 조회하여 Response 생성
         List<ImageResponse> imageResponses = imageService.getImages(RefType.SIGHTING, sighting.getId());
 
-        // 5) 커밋 후 비동기 매칭 트리거
-        //    - 커밋 성공 후에만 FastAPI를 호출(롤백 시 인덱스/매칭 오염 방지)
-        final Long sightingId = sighting.getId();
-        final String species = safeSpecies(request.getSpecies());   // "dog" | "cat" (요청에 없으면 기본 dog)
-        final Integer xmin = request.getXmin();
-        final Integer ymin = request.getYmin();
-        final Integer xmax = request.getXmax();
-        final Integer ymax = request.getYmax();
-        final Double  wFace = request.getWFace();                   // null 이면 서버 기본값 사용
-        final String  firstImgSrc = imageResponses.isEmpty() ? null : imageResponses.get(0).getSrc(); // 대표 1장
-
-
-
-        runAfterCommit(() -> {
-            if (firstImgSrc == null) {
-                log.warn("매칭 생략: 이미지 없음 sightingId={}", sightingId);
-                return;
-            }
-            try {
-                // IndexingService가 /images/** → /data/images/**로 매핑 후
-                // aiSimilarityClient.searchStreaming(...) 호출해서 결과를 SightingMatch에 저장
-                indexingService.searchForSighting(
-                        sightingId,
-                        species,
-                        firstImgSrc,        // "/images/sighting_images/xxx.jpg"
-                        xmin, ymin, xmax, ymax,
-                        30,                 // topK
-                        wFace
-                );
-            } catch (Exception e) {
-                log.error("목격 매칭 트리거 실패 sightingId={}", sightingId, e);
-            }
-        });
+        // 5) 매칭 작업 등록 (같은 트랜잭션 → 커밋 후 AiJobWorker 가 FastAPI 호출, 실패 시 재시도)
+        final String firstImgSrc = imageResponses.isEmpty() ? null : imageResponses.get(0).getSrc(); // 대표 1장
+        if (firstImgSrc == null) {
+            log.warn("매칭 생략: 이미지 없음 sightingId={}", sighting.getId());
+        } else {
+            aiJobService.enqueueSearchSighting(new AiJobService.SearchSightingPayload(
+                    sighting.getId(),
+                    safeSpecies(request.getSpecies()), // "dog" | "cat" (요청에 없으면 기본 dog)
+                    firstImgSrc,                       // "/images/sighting_images/xxx.jpg"
+                    request.getXmin(), request.getYmin(), request.getXmax(), request.getYmax(),
+                    30,                                // topK
+                    request.getWFace()                 // null 이면 서버 기본값 사용
+            ));
+        }
 
         // 6) 즉시 응답 (비동기 매칭은 백그라운드에서 진행)
         return SightingResponse.from(sighting, imageResponses);
@@ -472,11 +410,21 @@ public class MissingService {
      * 이미지 저장 공통 메서드 (기존 ImageService 활용)
      */
     private void saveImages(List<MissingImageRequest> imageRequests, Long refId, RefType refType) {
-        if (imageRequests == null || imageRequests.isEmpty()) return;
+        List<ImageRequest> reqs = toImageRequests(imageRequests, refId, refType);
+        if (reqs.isEmpty()) return;
+
+        // 한 번의 배치 INSERT 로 저장 (검증은 toImageRequests 에서 먼저 끝냄)
+        List<Long> ids = imageService.createImages(reqs);
+        log.debug("이미지 저장 완료 - refId: {}, refType: {}, count: {}", refId, refType, ids.size());
+    }
+
+    /** 요청 이미지 검증 + 변환 (경로 규칙, 같은 요청 내 중복 src 제거, sort 기본값) */
+    private List<ImageRequest> toImageRequests(List<MissingImageRequest> imageRequests, Long refId, RefType refType) {
+        if (imageRequests == null || imageRequests.isEmpty()) return List.of();
 
         // 중복 src 방지용 (선택)
         Set<String> seen = new HashSet<>();
-        int idx = 0;
+        List<ImageRequest> out = new ArrayList<>(imageRequests.size());
 
         for (MissingImageRequest imgReq : imageRequests) {
             if (imgReq == null) continue;
@@ -493,31 +441,18 @@ public class MissingService {
 
             // 2) sort 기본값 처리 (null이면 순서대로)
             Integer sort = imgReq.getSort();
-            if (sort == null) sort = idx;
+            if (sort == null) sort = out.size();
 
-            ImageRequest imageRequest = ImageRequest.builder()
+            out.add(ImageRequest.builder()
                     .refId(refId)
                     .refType(refType)
                     .src(src)
                     .sort(sort)
-                    .build();
-
-            // 3) 실제 저장
-            try {
-                imageService.createImages(imageRequest); // 단건 저장 메서드라면 이대로
-                // imageService.createImages(List<ImageRequest>) 형태의 배치가 있다면
-                // 위 루프를 List로 모은 뒤 한 번에 호출하는 게 DB round-trip에 유리
-            } catch (Exception e) {
-                // 한 장 실패해도 나머지 진행 (필요시 정책에 맞게 조정)
-                log.warn("이미지 저장 실패 - refId={}, refType={}, src={}", refId, refType, src, e);
-            }
-
-            idx++;
-            log.debug("이미지 저장 완료 - refId: {}, refType: {}, src: {}, sort: {}", refId, refType, src, sort);
+                    .build());
         }
+        return out;
     }
 
-
     /**
      * 실종 신고 수정
      */
@@ -557,8 +492,16 @@ public class MissingService {
 
         missingReport = missingReportRepository.save(missingReport);
 
-        // 기존 이미지 삭제 후 새 이미지 저장
-        updateImages(missingReport.getId(), RefType.MISSING_REPORT, request.getImages());
+        // 기존 이미지와 비교해 바뀐 것만 반영 (유지된 이미지는 id 그대로 → 기존 AI 인덱스 유효)
+        ImageSyncResult synced = updateImages(missingReport.getId(), RefType.MISSING_REPORT, request.getImages());
+
+        // 새로 추가된 이미지만 인덱싱 작업 등록, 빠진 이미지는 인덱스 제거 작업 등록 (둘 다 커밋과 함께 저장)
+        if (!synced.getAddedIds().isEmpty()) {
+            aiJobService.enqueueIndexReport(missingReport.getId(), deduceSpeciesFromPet(pet), synced.getAddedIds());
+        }
+        if (!synced.getRemovedIds().isEmpty()) {
+            aiJobService.enqueueDeindexImages(missingReport.getId(), synced.getRemovedIds());
+        }
 
         // 수정된 정보 조회하여 반환
         List<ImageResponse> imageResponses = imageService.getImages(RefType.MISSING_REPORT, missingReport.getId());
@@ -596,7 +539,7 @@ public class MissingService {
 
         sighting = sightingRepository.save(sighting);
 
-        // 기존 이미지 삭제 후 새 이미지 저장
+        // 기존 이미지와 비교해 바뀐 것만 반영
         updateImages(sighting.getId(), RefType.SIGHTING, request.getImages());
 
         // 수정된 정보 조회하여 반환
@@ -605,18 +548,9 @@ public class MissingService {
     }
 
     /**
-     * 이미지 업데이트 (기존 이미지 삭제 후 새 이미지 저장)
+     * 이미지 업데이트 (추가/정렬 변경/삭제만 반영)
      */
-    private void updateImages(Long refId, RefType refType, List<MissingImageRequest> newImages) {
-        // 기존 이미지 조회
-        List<Image> existingImages = imageRepository.findByRefTypeAndRefIdOrderBySortAsc(refType, refId);
-        
-        // 기존 이미지 삭제
-        if (!existingImages.isEmpty()) {
-            imageRepository.deleteAll(existingImages);
-        }
-
-        // 새 이미지 저장
-        saveImages(newImages, refId, refType);
+    private ImageSyncResult updateImages(Long refId, RefType refType, List<MissingImageRequest> newImages) {
+        return imageService.syncImages(refType, refId, toImageRequests(newImages, refId, refType));
     }
 }
\ No newline at end of file
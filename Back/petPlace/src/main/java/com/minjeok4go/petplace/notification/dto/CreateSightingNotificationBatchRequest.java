@@ -0,0 +1,18 @@
+package com.minjeok4go.petplace.notification.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 목격 제보 1건에서 나온 여러 매칭 알림을 한 번에 저장/발송
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateSightingNotificationBatchRequest {
+
+    @NotNull
+    private List<CreateSightingNotificationRequest> items;
+}
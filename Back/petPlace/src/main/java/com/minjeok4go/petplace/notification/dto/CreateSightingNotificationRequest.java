@@ -1,8 +1,6 @@
 package com.minjeok4go.petplace.notification.dto;
 
 import com.minjeok4go.petplace.common.constant.RefType;
-import com.minjeok4go.petplace.missing.entity.MissingReport;
-import com.minjeok4go.petplace.missing.entity.Sighting;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -25,9 +23,7 @@ public class CreateSightingNotificationRequest {
     @NotNull
     private Long refId;
 
+    // 실종 반려동물 이름 (커밋 후 비동기 리스너에서 엔티티 지연 로딩을 하지 않도록 값으로 전달)
     @NotNull
-    private MissingReport miss;
-
-    @NotNull
-    private Sighting sight;
+    private String petName;
 }
@@ -0,0 +1,80 @@
+package com.minjeok4go.petplace.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minjeok4go.petplace.common.constant.NotificationType;
+import com.minjeok4go.petplace.common.constant.RefType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 알림 행 일괄 저장.
+ * Notification 은 IDENTITY 라 JPA 로는 행마다 INSERT 가 나가므로 JDBC 배치 1번으로 저장하고
+ * 생성된 id(푸시 data 의 notificationId)를 요청 순서대로 돌려줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+class NotificationBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notification (target_user_id, type, ref_type, ref_id, title, body, data_json, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** 저장 + 푸시 한 건 단위 */
+    record Draft(Long targetUserId, NotificationType type, RefType refType, Long refId,
+                 String title, String body, Map<String, String> data) {}
+
+    @Transactional
+    public List<Long> insertAll(List<Draft> drafts) {
+        if (drafts.isEmpty()) return List.of();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Draft d : drafts) {
+                    ps.setLong(1, d.targetUserId());
+                    ps.setString(2, d.type().name());
+                    ps.setString(3, d.refType().name());
+                    ps.setLong(4, d.refId());
+                    ps.setString(5, d.title());
+                    ps.setString(6, d.body());
+                    ps.setString(7, toJson(d.data()));
+                    ps.setTimestamp(8, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(drafts.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) keys.add(rs.getLong(1));
+                }
+                return keys;
+            }
+        });
+        return ids == null ? List.of() : ids;
+    }
+
+    private String toJson(Map<String, String> data) {
+        if (data == null) return null;
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("notification data 직렬화 실패", e);
+        }
+    }
+}
@@ -26,8 +26,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -38,6 +41,10 @@ public class NotificationService {
     private final UserDeviceTokenRepository userDeviceTokenRepository;
     private final NotificationRepository notificationRepository;
     private final AuthService authService;
+    private final NotificationBatchWriter notificationBatchWriter;
+
+    // FCM sendEach 한 번에 보낼 수 있는 최대 메시지 수
+    private static final int FCM_BATCH_LIMIT = 500;
 
     @Transactional(readOnly = true)
     public Slice<NotificationResponse> getMyNotifications(String tokenUserId, int page, int size) {
@@ -133,10 +140,22 @@ public class NotificationService {
     @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handle(CreateSightingNotificationRequest req) {
+        sendAndStoreAll(List.of(sightingDraft(req)));
+    }
+
+    // 매칭 여러 건 → 알림 INSERT 배치 1번 + 토큰 조회 1번 + FCM sendEach 묶음
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(CreateSightingNotificationBatchRequest batch) {
+        if (batch.getItems() == null || batch.getItems().isEmpty()) return;
+        sendAndStoreAll(batch.getItems().stream().map(NotificationService::sightingDraft).toList());
+    }
+
+    private static NotificationBatchWriter.Draft sightingDraft(CreateSightingNotificationRequest req) {
         String title = "실종 신고가 매칭됐어요";
-        String body  = req.getSenderNickname() + "님이 " + req.getMiss().getPet().getName() + "를 발견했습니다";
+        String body  = req.getSenderNickname() + "님이 " + req.getPetName() + "를 발견했습니다";
 
-        sendAndStore(
+        return new NotificationBatchWriter.Draft(
                 req.getTargetUserId(),
                 NotificationType.SIGHT,
                 RefType.SIGHTING,
@@ -155,41 +174,63 @@ public class NotificationService {
                                 String title,
                                 String body,
                                 Map<String,String> data) {
+        sendAndStoreAll(List.of(new NotificationBatchWriter.Draft(
+                targetUserId, notificationType, refType, refId, title, body, Map.copyOf(data))));
+    }
+
+    /**
+     * 알림 여러 건 저장 + 푸시.
+     * 1) 알림 행 JDBC 배치 INSERT (생성 id 는 푸시 data 의 notificationId)
+     * 2) 대상 유저들의 활성 토큰 IN 조회 1번
+     * 3) FCM sendEach (호출당 최대 {@value #FCM_BATCH_LIMIT}건)
+     * 4) 실패 토큰 일괄 비활성화 (UPDATE 1번)
+     */
+    protected void sendAndStoreAll(List<NotificationBatchWriter.Draft> drafts) {
         // 1) 알림 DB 저장
-        Notification notification = notificationRepository.save(new Notification(
-                targetUserId, notificationType, refType, refId, title, body, Map.copyOf(data)
-        ));
+        List<Long> ids = notificationBatchWriter.insertAll(drafts);
 
         // 2) 토큰 조회
-        List<String> tokens = userDeviceTokenRepository.findAllByUserIdAndActiveTrue(targetUserId)
-                .stream().map(UserDeviceToken::getToken).toList();
-        if (tokens.isEmpty()) return;
-
-        // 3) 멀티 전송
-        List<Message> messages = tokens.stream().map(t ->
-                Message.builder()
+        Set<Long> targetIds = drafts.stream().map(NotificationBatchWriter.Draft::targetUserId).collect(Collectors.toSet());
+        Map<Long, List<String>> tokensByUser = userDeviceTokenRepository.findAllByUserIdInAndActiveTrue(targetIds).stream()
+                .collect(Collectors.groupingBy(UserDeviceToken::getUserId,
+                        Collectors.mapping(UserDeviceToken::getToken, Collectors.toList())));
+        if (tokensByUser.isEmpty()) return;
+
+        // 3) 멀티 전송 (메시지 i 의 토큰 = sentTokens i)
+        List<Message> messages = new ArrayList<>();
+        List<String> sentTokens = new ArrayList<>();
+        for (int i = 0; i < drafts.size(); i++) {
+            NotificationBatchWriter.Draft d = drafts.get(i);
+            for (String t : tokensByUser.getOrDefault(d.targetUserId(), List.of())) {
+                messages.add(Message.builder()
                         .setToken(t)
-                        .setNotification(NotificationCompat(title, body))
-                        .putAllData(data)
-                        .putData("notificationId", String.valueOf(notification.getId()))
-                        .build()
-        ).toList();
-
-
-        log.debug("[FCM] sent: {}", notification);
-
-        try {
-            var res = firebase.sendEach(messages);
-            var responses = res.getResponses();
-            for (int i = 0; i < responses.size(); i++) {
-                if (!responses.get(i).isSuccessful()) {
-                    // 죽은 토큰 비활성화
-                    userDeviceTokenRepository.findByUserIdAndToken(targetUserId, tokens.get(i))
-                            .ifPresent(UserDeviceToken::deactivate);
+                        .setNotification(NotificationCompat(d.title(), d.body()))
+                        .putAllData(d.data())
+                        .putData("notificationId", String.valueOf(ids.get(i)))
+                        .build());
+                sentTokens.add(t);
+            }
+        }
+
+        log.debug("[FCM] sending: notifications={}, messages={}", drafts.size(), messages.size());
+
+        List<String> deadTokens = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += FCM_BATCH_LIMIT) {
+            int to = Math.min(from + FCM_BATCH_LIMIT, messages.size());
+            try {
+                var responses = firebase.sendEach(messages.subList(from, to)).getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    if (!responses.get(i).isSuccessful()) deadTokens.add(sentTokens.get(from + i));
                 }
+            } catch (FirebaseMessagingException ex) {
+                // 로깅/재시도는 환경에 맞게
+                log.warn("[FCM] sendEach failed: messages={}", to - from, ex);
             }
-        } catch (FirebaseMessagingException ex) {
-            // 로깅/재시도는 환경에 맞게
+        }
+
+        // 4) 죽은 토큰 비활성화
+        if (!deadTokens.isEmpty()) {
+            userDeviceTokenRepository.deactivateByUserIdInAndTokenIn(targetIds, deadTokens);
         }
     }
 
@@ -1,17 +1,31 @@
 package com.minjeok4go.petplace.pet.repository;
 
+import com.minjeok4go.petplace.common.constant.Animal;
 import com.minjeok4go.petplace.pet.entity.Pet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
+
+    /** (userId, animal) 경량 프로젝션 */
+    interface UserAnimal {
+        Long getUserId();
+        Animal getAnimal();
+    }
+
     List<Pet> findByUserId(Long userId);
 
     Optional<Pet> findByIdAndUserId(Long id, Long userId);
 
     List<Pet> findByUserIdIn(Collection<Long> userIds); // collection은 다양한 자료구조(List,Set)등을 사용할 수 있게 만들어줌
 
+    // 추천 배치 청크 단위 조회 (엔티티 대신 userId/animal 만)
+    @Query("select p.userId as userId, p.animal as animal from Pet p where p.userId in :userIds")
+    List<UserAnimal> findAnimalsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
 }
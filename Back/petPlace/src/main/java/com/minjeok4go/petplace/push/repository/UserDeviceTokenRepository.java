@@ -2,7 +2,12 @@ package com.minjeok4go.petplace.push.repository;
 
 import com.minjeok4go.petplace.push.entity.UserDeviceToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +15,16 @@ public interface UserDeviceTokenRepository extends JpaRepository<UserDeviceToken
 
     List<UserDeviceToken> findAllByUserIdAndActiveTrue(Long userId);
 
+    // 알림 여러 건 발송 시 대상 유저들의 활성 토큰 일괄 조회
+    List<UserDeviceToken> findAllByUserIdInAndActiveTrue(Collection<Long> userIds);
+
+    // FCM 전송 실패 토큰 일괄 비활성화
+    @Modifying
+    @Transactional
+    @Query("update UserDeviceToken t set t.active = false, t.updatedAt = local datetime where t.userId in :userIds and t.token in :tokens")
+    int deactivateByUserIdInAndTokenIn(@Param("userIds") Collection<Long> userIds,
+                                       @Param("tokens") Collection<String> tokens);
+
     Optional<UserDeviceToken> findByUserIdAndToken(Long userId, String token);
 
     boolean existsByUserIdAndToken(Long userId, String token);
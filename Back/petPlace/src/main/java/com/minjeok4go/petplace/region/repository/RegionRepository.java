@@ -2,6 +2,18 @@ package com.minjeok4go.petplace.region.repository;
 
 import com.minjeok4go.petplace.region.entity.Region;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface RegionRepository extends JpaRepository<Region, Long> {
+
+    interface IdName {
+        Long getId();
+        String getName();
+    }
+
+    // 지역 코드 사전(RegionCodes)용 (geometry 제외)
+    @Query("select r.id as id, r.name as name from Region r")
+    List<IdName> findAllIdNames();
 }
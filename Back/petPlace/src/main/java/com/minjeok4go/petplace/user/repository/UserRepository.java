@@ -2,14 +2,25 @@ package com.minjeok4go.petplace.user.repository;
 
 import com.minjeok4go.petplace.user.entity.LoginType;
 import com.minjeok4go.petplace.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /** 추천 배치 그룹핑용 경량 프로젝션 (엔티티/연관관계 로딩 없음) */
+    interface UserGroupRow {
+        Long getId();
+        LocalDate getBirthday();
+        String getGender();
+        Long getRegionId();
+    }
+
     // --- 기존 메서드 (변경 없음) ---
     @Query("SELECT u FROM User u WHERE u.userName = :userName")
     Optional<User> findByUserName(@Param("userName") String userName);
@@ -59,4 +70,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.ci = :ci")
     List<User> findAllByCi(@Param("ci") String ci);
+
+    /**
+     * 추천 배치용 키셋 페이지 스캔 (id > lastId 오름차순, 탈퇴 유저 제외)
+     * - 사용: findGroupRowsAfter(lastId, PageRequest.of(0, chunkSize))
+     */
+    @Query("""
+        SELECT u.id AS id, u.birthday AS birthday, u.gender AS gender, u.region.id AS regionId
+        FROM User u
+        WHERE u.id > :lastId AND u.deletedAt IS NULL
+        ORDER BY u.id ASC
+        """)
+    List<UserGroupRow> findGroupRowsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 개인 프로필 일괄 재계산용 키셋 스캔 (활성 유저 id 만)
+    @Query("SELECT u.id FROM User u WHERE u.id > :lastId AND u.deletedAt IS NULL ORDER BY u.id ASC")
+    List<Long> findActiveIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 피드 작성자 피처(나이대/지역) 벌크 조회용
+    @Query("""
+        SELECT u.id AS id, u.birthday AS birthday, u.gender AS gender, u.region.id AS regionId
+        FROM User u
+        WHERE u.id IN :ids
+        """)
+    List<UserGroupRow> findGroupRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
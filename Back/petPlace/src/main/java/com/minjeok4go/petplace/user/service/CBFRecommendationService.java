@@ -1,20 +1,21 @@
 package com.minjeok4go.petplace.user.service;
 
-import com.minjeok4go.petplace.comment.repository.CommentRepository;
 import com.minjeok4go.petplace.common.constant.Animal;
 import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.config.RecommendationProps;
 import com.minjeok4go.petplace.feed.dto.FeedDetailResponse;
 import com.minjeok4go.petplace.feed.dto.FeedListResponse;
-import com.minjeok4go.petplace.feed.dto.FeedTagJoin;
+import com.minjeok4go.petplace.feed.dto.RecommendationCursorResponse;
 import com.minjeok4go.petplace.feed.dto.TagResponse;
 import com.minjeok4go.petplace.feed.entity.Feed;
 import com.minjeok4go.petplace.feed.repository.FeedRepository;
 import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
-import com.minjeok4go.petplace.feed.repository.TagRepository;
+import com.minjeok4go.petplace.feed.service.TagDictionary;
 import com.minjeok4go.petplace.image.dto.ImageResponse;
 import com.minjeok4go.petplace.image.entity.Image;
 import com.minjeok4go.petplace.image.repository.ImageRepository;
-import com.minjeok4go.petplace.like.repository.LikeRepository;
+import com.minjeok4go.petplace.like.service.LikeCounterService;
+import com.minjeok4go.petplace.like.service.LikeCounterService.LikeView;
 import com.minjeok4go.petplace.pet.entity.Pet;
 import com.minjeok4go.petplace.pet.repository.PetRepository;
 import com.minjeok4go.petplace.region.entity.Region;
@@ -22,22 +23,27 @@ import com.minjeok4go.petplace.region.repository.RegionRepository;
 import com.minjeok4go.petplace.user.entity.User;
 import com.minjeok4go.petplace.user.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -52,29 +58,53 @@ public class CBFRecommendationService {
     private final UserGroupService userGroupService;
     private final PetRepository petRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
     private final RegionRepository regionRepository;
-    private final LikeRepository likeRepository;
+    private final RegionCodes regionCodes;
+    private final LikeCounterService likeCounterService;
     private final RecommendationCacheService recommendationCacheService;
 
     // 개인 프로필(태그/동물) 읽기용
     private final CBFUserProfileService userProfileService;
 
+    // 재랭크용 피드 피처 캐시(L1 Caffeine + L2 Redis)
+    private final FeedFeatureService feedFeatureService;
+
+    // 후보 생성 단계 (전체 인기/최신/급상승/선호 태그)
+    private final RecommendationCandidateService recommendationCandidateService;
+
     // 피드 ↔ 태그 매핑 읽기용
     private final FeedTagRepository feedTagRepository;
-    private final TagRepository tagRepository;
 
-    // 가중치
-    private static final double WEIGHT_LIKE = 20.0;
-    private static final double WEIGHT_COMMENT = 15.0;
-    private static final double WEIGHT_SAME_ANIMAL_WRITER = 24.0;
-    private static final double WEIGHT_NEW_FEED = 10.0;
+    // 태그 id → 이름 (메모리 사전, DB 왕복 없음)
+    private final TagDictionary tagDictionary;
+
+    // 커서 조회 페이지 크기 상한 (FeedTimelineService 와 동일), 윈도우/스냅샷 크기가 요청값을 따라 커지지 않도록
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
+    // 가중치 (FeedScoringKernel, RecommendationScoreUpdater 증분 반영에서도 동일 값을 사용)
+    static final double WEIGHT_LIKE = 20.0;
+    static final double WEIGHT_COMMENT = 15.0;
+    static final double WEIGHT_SAME_ANIMAL_WRITER = 24.0;
+    static final double WEIGHT_NEW_FEED = 10.0;
+    static final double WEIGHT_SAME_AGE = 5.0;
+    static final double WEIGHT_SAME_REGION = 5.0;
     private final ImageRepository imageRepository;
 
+    // 그룹 단위 배치 팬아웃 전용 풀 (AsyncConfig#recommendationBatchExecutor, 필드명으로 주입)
+    // 리스너가 쓰는 recommendationExecutor 와 분리해 배치가 리스너를 굶기거나 같은 풀에서 join 하지 않게 함
+    private final ThreadPoolTaskExecutor recommendationBatchExecutor;
+    private final RecommendationProps recommendationProps;
+
+    // 배치 청크 사이 영속성 컨텍스트 정리용
+    private final EntityManager entityManager;
+
+    // 그룹 점수 버퍼 (recommendationBatchExecutor 워커 스레드별 재사용)
+    private static final ThreadLocal<double[]> SCORE_BUFFER = ThreadLocal.withInitial(() -> new double[0]);
+
     /**
      * 배치: 그룹별 추천 ZSET 생성 (N+1 제거, 파이프라인 적용)
      * - regions: 전체 로드 캐시
-     * - users: 전체 로드 → petsByUser IN 조회
+     * - users: 키셋 페이지 스캔(id, birthday, gender, regionId) → 청크별 pet animal IN 조회
      * - feeds: 상위 200 한 번만
      * - writer info/pets: IN 조회
      */
@@ -85,69 +115,39 @@ public class CBFRecommendationService {
     }
     /**
      * 후보 피드들에 대해 유저 개인의 태그/동물 선호 기반 가산점을 계산한다.
-     * - tagPref: Redis Hash("prof:u:{uid}:tag")에서 읽은 {tagName -> score}
-     * - myAnimals: Redis Set("prof:u:{uid}:animal")에서 읽은 동물명 집합
-     * - feedTags: 후보 feedId -> 태그명 목록
+     * - profile: prof:u:{uid}:tag(tagId -> score) + :animal(동물명) 을 Redis 왕복 1회로 읽은 값
+     * - features: 피드 피처 캐시(tagIds 포함) → 태그 선호는 tagId 로 바로 합산
+     * - 동물 매칭은 태그명 비교 → 태그명은 메모리 사전(TagDictionary)에서 바로 찾음
      */
 
-    private Map<Long, Double> computePersonalCbfBoost(Long userId, List<Long> candidateIds) {
+    private Map<Long, Double> computePersonalCbfBoost(Long userId, List<Long> candidateIds,
+                                                      Map<Long, FeedFeature> features) {
         // 1) 유저 개인 프로필 로딩 (빈 경우 빠르게 반환)
-        Map<String, Double> tagPref = userProfileService.loadTagPref(userId);
-        Set<String> myAnimals = userProfileService.loadAnimals(userId);
-        boolean hasPrefs = (tagPref != null && !tagPref.isEmpty()) || (myAnimals != null && !myAnimals.isEmpty());
-        if (!hasPrefs || candidateIds == null || candidateIds.isEmpty()) {
+        UserProfileVector profile = userProfileService.loadProfile(userId);
+        if (profile.isEmpty() || candidateIds == null || candidateIds.isEmpty()) {
             return Collections.emptyMap();
         }
+        Set<String> myAnimals = profile.animals();
 
-        // 2) 후보 피드의 (feedId, tagId) 일괄 로딩 → tagId -> tagName 매핑
-        // --- 권장: FeedTagRepository에 프로젝션 메서드(findFeedTagPairsByFeedIdIn)가 있을 때 ---
-        Map<Long, List<String>> feedTags = new HashMap<>();
-        List<FeedTagRepository.FeedTagPair> pairs =
-                feedTagRepository.findFeedTagPairsByFeedIdIn(candidateIds);
-
-        if (pairs != null && !pairs.isEmpty()) {
-            Set<Long> tagIds = pairs.stream()
-                    .map(FeedTagRepository.FeedTagPair::getTagId)
-                    .collect(Collectors.toSet());
-
-            Map<Long, String> tagIdToName = tagRepository.findByIdIn(tagIds).stream()
-                    .collect(Collectors.toMap(com.minjeok4go.petplace.feed.entity.Tag::getId,
-                            com.minjeok4go.petplace.feed.entity.Tag::getName));
-
-            for (FeedTagRepository.FeedTagPair p : pairs) {
-                String name = tagIdToName.get(p.getTagId());
-                if (name != null) {
-                    feedTags.computeIfAbsent(p.getFeedId(), k -> new ArrayList<>()).add(name);
-                }
-            }
-        } else {
-            // --- 대안: 프로젝션이 없다면 (후보 수가 작을 때만) per-feed 조회로 대체 ---
-            for (Long fid : candidateIds) {
-                List<Long> tagIds = feedTagRepository.findTagIdByFeedId(fid);
-                if (tagIds == null || tagIds.isEmpty()) continue;
-                var tags = tagRepository.findByIdIn(tagIds).stream()
-                        .map(com.minjeok4go.petplace.feed.entity.Tag::getName)
-                        .toList();
-                if (!tags.isEmpty()) feedTags.put(fid, new ArrayList<>(tags));
-            }
-        }
-
-        // 3) 개인 가산점 계산
+        // 2) 개인 가산점 계산
         final double W_ANIMAL = 2.0; // 동물 매칭 시 가산치(튜닝 포인트)
         Map<Long, Double> boost = new HashMap<>(candidateIds.size());
 
         for (Long fid : candidateIds) {
+            FeedFeature f = features.get(fid);
+            if (f == null) continue;
             double personal = 0.0;
 
-            // 3-1) 태그 선호 합
-            for (String tag : feedTags.getOrDefault(fid, List.of())) {
-                personal += tagPref.getOrDefault(tag, 0.0);
+            // 2-1) 태그 선호 합
+            for (long t : f.tagIds()) {
+                personal += profile.weightOf(t);
             }
 
-            // 3-2) (옵션) 동물 매칭 가산
-            if (myAnimals != null && !myAnimals.isEmpty()) {
-                for (String t : feedTags.getOrDefault(fid, List.of())) {
-                    if (myAnimals.contains(t)) { personal += W_ANIMAL; break; }
+            // 2-2) (옵션) 동물 매칭 가산
+            if (!myAnimals.isEmpty()) {
+                for (long t : f.tagIds()) {
+                    String name = tagDictionary.nameOf(t);
+                    if (name != null && myAnimals.contains(name)) { personal += W_ANIMAL; break; }
                 }
             }
 
@@ -160,19 +160,11 @@ public class CBFRecommendationService {
     public void batchRecommendationToRedis() {
         LocalDate today = LocalDate.now();
 
-        // 1) 후보 피드 1회 조회
-        List<Feed> feeds = feedRepository.findTop200ByOrderByLikesDesc();
+        // 1) 후보 피드 1회 조회 (후보 생성 단계: 전체 인기 ∪ 급상승 ∪ 최신)
+        List<Feed> feeds = loadBatchCandidates();
         if (feeds.isEmpty()) return;
 
-        List<Long> feedIds = feeds.stream().map(Feed::getId).toList();
-
-        // 2) 댓글 수 벌크 조회 (feedId -> count)
-        List<Object[]> commentCounts =
-                commentRepository.countByFeedIdInAndDeletedAtIsNullGroupByFeedId(feedIds);
-        Map<Long, Integer> feedIdToCommentCount = new HashMap<>(feedIds.size());
-        for (Object[] row : commentCounts) {
-            feedIdToCommentCount.put((Long) row[0], ((Long) row[1]).intValue());
-        }
+        // 2) 댓글 수는 feeds.comment_count(비정규화 컬럼)를 그대로 사용 → 집계 쿼리 없음
 
         // 3) 작성자 정보/펫 정보 일괄 조회
         Set<Long> writerIds = feeds.stream()
@@ -194,93 +186,23 @@ public class CBFRecommendationService {
         Map<Long, String> regionNameCache = regionRepository.findAll().stream()
                 .collect(Collectors.toMap(Region::getId, Region::getName));
 
-        // 5) 모든 사용자 + 사용자별 펫을 IN 조회로 미리 로드 (N+1 제거)
-        List<User> users = userRepository.findAll();
-        List<Long> userIds = users.stream().map(User::getId).toList();
-        Map<Long, List<Pet>> petsByUser = petRepository.findByUserIdIn(userIds).stream()
-                .collect(Collectors.groupingBy(p -> p.getUser().getId()));
-        // 6) 사용자별 점수 계산 → Redis 파이프라인으로 저장
-        for (User user : users) {
-            List<Pet> pets = petsByUser.getOrDefault(user.getId(), Collections.emptyList());
-
-            // 그룹키 생성 시 캐시 리졸버 사용 (regions N+1 방지)
-            String groupKey = userGroupService.determineGroupKey(
-                    user, pets, id -> regionNameCache.getOrDefault(id, "UNKNOWN")
-            );
-            String redisKey = "group:" + groupKey;
-
-            // 유저 나이대/지역 미리 계산
-            int userAge = Period.between(user.getBirthday(), today).getYears();
-            int userAgeGroup = (userAge / 10) * 10;
-            String userRegionName = regionNameCache.getOrDefault(user.getRegionId(), "UNKNOWN");
+        Map<Long, Long> regionCodeById = regionCodes.snapshot();
 
-            Map<Long, Double> scores = new HashMap<>(feedIds.size());
+        // 5) 사용자를 청크 단위로 스캔하며 그룹 단위로 접기 (전체 User/Pet 엔티티 적재 X)
+        Map<String, GroupProfile> groups = scanGroupProfiles(regionNameCache, regionCodeById, today);
 
-            for (Feed feed : feeds) {
-                int commentCount = feedIdToCommentCount.getOrDefault(feed.getId(), 0);
-
-                // 작성자 캐시
-                User writer = (feed.getUserId() == null) ? null : writerMap.get(feed.getUserId());
-                int writerAgeGroup = -1;
-                String writerRegionName = null;
-                Set<Animal> writerAnimalSet = Collections.emptySet();
-
-                if (writer != null) {
-                    int writerAge = Period.between(writer.getBirthday(), today).getYears();
-                    writerAgeGroup = (writerAge / 10) * 10;
-                    writerRegionName = regionNameCache.getOrDefault(writer.getRegionId(), "UNKNOWN");
-                    writerAnimalSet = writerAnimals.getOrDefault(writer.getId(), Collections.emptySet());
-                }
-
-                double score = calculateScore(
-                        user, pets, feed, commentCount,
-                        writerAgeGroup, writerRegionName, writerAnimalSet,
-                        userAgeGroup, userRegionName,
-                        today
-                );
-                scores.put(feed.getId(), score);
-            }
-
-            // Redis 파이프라인으로 대량 ZADD
-            redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
-                var keySer = redisTemplate.getStringSerializer();
-                byte[] key = keySer.serialize(redisKey);
-                for (Map.Entry<Long, Double> e : scores.entrySet()) {
-                    conn.zAdd(key, e.getValue(), keySer.serialize(String.valueOf(e.getKey())));
-                }
-                return null;
-            });
+        // 6) 후보 1회 인코딩 → 그룹별 커널 점수 계산 → Redis 파이프라인으로 저장
+        FeedScoringKernel.Encoded candidates = encodeCandidates(
+                feeds, writerMap, writerAnimals, regionCodeById, today);
+        int newSince = newSinceEpochDay(today);
+        double[] scores = new double[candidates.size()];
+        long batchId = System.currentTimeMillis();
+        for (GroupProfile group : groups.values()) {
+            FeedScoringKernel.score(candidates, group.animalMask, group.ageGroup, group.regionCode, newSince, scores);
+            publishGroupScores(group, candidates, scores, batchId);
         }
     }
 
-    private double calculateScore(
-            User user, List<Pet> pets, Feed feed, int commentCount,
-            int writerAgeGroup, String writerRegionName, Set<Animal> writerAnimalSet,
-            int userAgeGroup, String userRegionName,
-            LocalDate today
-    ) {
-        double score = 0;
-
-        score += feed.getLikes() * WEIGHT_LIKE;
-        score += commentCount * WEIGHT_COMMENT;
-
-        if (!pets.isEmpty() && writerAnimalSet != null && !writerAnimalSet.isEmpty()) {
-            boolean sameAnimalWithWriter = pets.stream()
-                    .anyMatch(myPet -> writerAnimalSet.contains(myPet.getAnimal()));
-            if (sameAnimalWithWriter) score += WEIGHT_SAME_ANIMAL_WRITER;
-        }
-
-        if (writerAgeGroup != -1 && writerAgeGroup == userAgeGroup) score += 5;
-        if (writerRegionName != null && writerRegionName.equals(userRegionName)) score += 5;
-
-        if (feed.getCreatedAt() != null &&
-                feed.getCreatedAt().isAfter(today.minusDays(2).atStartOfDay())) {
-            score += WEIGHT_NEW_FEED;
-        }
-
-        return score;
-    }
-
     public List<FeedListResponse> getRecommendedFeeds(Long userId, int page, int size) {
         if (userId == null) {
             throw new AccessDeniedException("로그인이 필요합니다.");
@@ -302,23 +224,187 @@ public class CBFRecommendationService {
                 redisTemplate.opsForZSet().reverseRangeWithScores(redisKey, start, end);
 
         List<Long> candidateIds = new ArrayList<>();
-        Map<Long, Double> zsetScore = new HashMap<>(); // 배치 시점 점수(순서 힌트)
         if (tuples != null) {
             for (ZSetOperations.TypedTuple<String> t : tuples) {
                 if (t == null || t.getValue() == null) continue;
-                long fid = Long.parseLong(t.getValue());
-                candidateIds.add(fid);
-                zsetScore.put(fid, Optional.ofNullable(t.getScore()).orElse(1.0));
+                candidateIds.add(Long.parseLong(t.getValue()));
             }
         }
 
-        // 캐시 비어있을 때 안전망: DB Top200 (라이브)
+        // 캐시 비어있을 때 안전망: 후보 생성 단계 (내 지역 최신 ∪ 선호 태그 ∪ 급상승 ∪ 전체 인기)
         if (candidateIds.isEmpty()) {
-            List<Feed> fallback = feedRepository.findTop200ByOrderByLikesDesc(); // 반드시 deletedAt 제외/보조정렬 포함 권장
-            candidateIds = fallback.stream().map(Feed::getId).toList();
-            for (Long id : candidateIds) zsetScore.put(id, 1.0);
+            candidateIds = fallbackCandidates(userId, user);
         }
 
+        // === [B]~[F] 핀고정 + 피처 재계산 + 개인 가산 + 최종 정렬 ===
+        RankedWindow window = rankWindow(userId, user, pets, redisKey, candidateIds, fetch);
+
+        // === [G] 페이지 사이즈만큼 잘라서 반환 준비 ===
+        List<Long> finalIds = window.ids().stream().limit(size).toList();
+        if (finalIds.isEmpty()) return List.of();
+
+        // === [H] HYDRATE (본문/이미지/태그/좋아요 여부) - 최종 페이지 분만 1회 ===
+        return hydrate(userId, finalIds, window.scores(), window.features());
+    }
+
+    /**
+     * 커서 기반 추천 조회 (/api/recommend/group/cursor).
+     * - 첫 페이지: 그룹 ZSET 상위 윈도우(recommendation.cursor-window-size)를 한 번 재랭크 →
+     *   유저별 단기 리스트(rec_snap:{uid}:{snapId})로 스냅샷 → 이후 페이지는 LRANGE 로 O(page size)
+     *   (점수 변화/lazy-clean 이 있어도 세션 안에서는 순서가 고정 → 중복/누락 없음)
+     * - 스냅샷을 다 읽었거나 만료되면: 윈도우 꼬리(score, feedId)부터 ZREVRANGEBYSCORE ... LIMIT 로 이어 읽기
+     */
+    public RecommendationCursorResponse getRecommendedFeedsByCursor(Long userId, String cursor, int size) {
+        if (userId == null) {
+            throw new AccessDeniedException("로그인이 필요합니다.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다.");
+        }
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        final RecommendationCursor c = RecommendationCursor.decode(cursor);
+        final Duration snapshotTtl = Duration.ofMinutes(recommendationProps.getCursorSnapshotMinutes());
+
+        // 0) 그룹 키 산출 + 유저/펫 로드
+        List<Pet> pets = petRepository.findByUserId(userId);
+        User user = userRepository.getReferenceById(userId);
+        String redisKey = "group:" + userGroupService.determineGroupKey(user, pets);
+
+        // === 첫 페이지: 윈도우 재랭크 → 스냅샷 ===
+        if (c == null) {
+            int windowSize = Math.max(size, recommendationProps.getCursorWindowSize());
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(redisKey, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0, windowSize);
+
+            List<Long> candidateIds = new ArrayList<>();
+            ZSetOperations.TypedTuple<String> tail = null;
+            if (tuples != null) {
+                for (ZSetOperations.TypedTuple<String> t : tuples) {
+                    if (t == null || t.getValue() == null || t.getScore() == null) continue;
+                    candidateIds.add(Long.parseLong(t.getValue()));
+                    tail = t;
+                }
+            }
+            // 윈도우가 ZSET 끝까지 포함하면 이어 읽을 꼬리 없음
+            if (candidateIds.size() < windowSize) tail = null;
+
+            // 캐시 비어있을 때 안전망: 후보 생성 단계 (스냅샷으로만 제공, 이어 읽기 없음)
+            if (candidateIds.isEmpty()) {
+                candidateIds = fallbackCandidates(userId, user);
+            }
+
+            RankedWindow window = rankWindow(userId, user, pets, redisKey, candidateIds, windowSize);
+            double tailScore = (tail == null) ? Double.NaN : tail.getScore();
+            String tailMember = (tail == null) ? null : tail.getValue();
+
+            List<Long> firstIds = window.ids().stream().limit(size).toList();
+            List<Long> restIds = window.ids().subList(firstIds.size(), window.ids().size());
+
+            String snapId = null;
+            if (!restIds.isEmpty()) {
+                snapId = Long.toString(System.currentTimeMillis(), 36);
+                List<String> entries = new ArrayList<>(restIds.size());
+                for (Long id : restIds) entries.add(id + ":" + window.scores().getOrDefault(id, 1.0));
+                recommendationCacheService.saveSnapshot(userId, snapId, entries, snapshotTtl);
+            }
+
+            RecommendationCursor next = new RecommendationCursor(snapId, 0L, tailScore, tailMember);
+            boolean hasNext = next.hasSnapshot() || next.hasTail();
+            return new RecommendationCursorResponse(
+                    hydrate(userId, firstIds, window.scores(), window.features()),
+                    hasNext ? next.encode() : null, hasNext);
+        }
+
+        // === 스냅샷 구간: LRANGE offset..offset+size-1 ===
+        if (c.hasSnapshot()) {
+            RecommendationCacheService.SnapshotPage page =
+                    recommendationCacheService.readSnapshot(userId, c.snapId(), c.offset(), size, snapshotTtl);
+            if (!page.entries().isEmpty()) {
+                List<Long> ids = new ArrayList<>(page.entries().size());
+                Map<Long, Double> scores = new HashMap<>(page.entries().size());
+                for (String e : page.entries()) {
+                    int sep = e.indexOf(':');
+                    long id = Long.parseLong(e.substring(0, sep));
+                    ids.add(id);
+                    scores.put(id, Double.parseDouble(e.substring(sep + 1)));
+                }
+                // 스냅샷 이후 삭제된 글만 제외 (순서/위치는 그대로 → 다음 커서는 항상 offset + size)
+                Map<Long, FeedFeature> features = feedFeatureService.getFeatures(ids);
+                List<Long> liveIds = ids.stream().filter(features::containsKey).toList();
+
+                long nextOffset = c.offset() + size;
+                RecommendationCursor next = (nextOffset < page.length())
+                        ? new RecommendationCursor(c.snapId(), nextOffset, c.tailScore(), c.tailMember())
+                        : new RecommendationCursor(null, 0L, c.tailScore(), c.tailMember());
+                boolean hasNext = next.hasSnapshot() || next.hasTail();
+                return new RecommendationCursorResponse(
+                        hydrate(userId, liveIds, scores, features),
+                        hasNext ? next.encode() : null, hasNext);
+            }
+            // 만료(또는 소진)된 스냅샷 → 윈도우 꼬리부터 이어 읽기
+        }
+
+        if (!c.hasTail()) {
+            return new RecommendationCursorResponse(List.of(), null, false);
+        }
+        return continueFromTail(userId, redisKey, c.tailScore(), c.tailMember(), size);
+    }
+
+    /**
+     * 스냅샷 밖 구간: (tailScore, tailMember) 다음부터 그룹 ZSET 순서 그대로 size 개.
+     * - ZREVRANGEBYSCORE key tailScore -inf WITHSCORES LIMIT offset count
+     * - 같은 점수는 멤버 문자열 내림차순이므로 score == tailScore && member >= tailMember 는 이미 읽은 것
+     */
+    private RecommendationCursorResponse continueFromTail(Long userId, String redisKey,
+                                                          double tailScore, String tailMember, int size) {
+        final int batch = size + 16; // 동점 구간 건너뛰기 여유
+        List<ZSetOperations.TypedTuple<String>> picked = new ArrayList<>(size);
+        long offset = 0L;
+
+        while (picked.size() < size) {
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(redisKey, Double.NEGATIVE_INFINITY, tailScore, offset, batch);
+            if (tuples == null || tuples.isEmpty()) break;
+            for (ZSetOperations.TypedTuple<String> t : tuples) {
+                if (t == null || t.getValue() == null || t.getScore() == null) continue;
+                if (t.getScore() == tailScore && t.getValue().compareTo(tailMember) >= 0) continue;
+                picked.add(t);
+                if (picked.size() >= size) break;
+            }
+            if (tuples.size() < batch) break; // ZSET 끝
+            offset += tuples.size();
+        }
+
+        List<Long> ids = new ArrayList<>(picked.size());
+        Map<Long, Double> scores = new HashMap<>(picked.size());
+        for (ZSetOperations.TypedTuple<String> t : picked) {
+            long id = Long.parseLong(t.getValue());
+            ids.add(id);
+            scores.put(id, t.getScore());
+        }
+
+        // 죽은 멤버 lazy-clean (커서 위치는 ZSET 점수 기준이라 제거해도 밀리지 않음)
+        Map<Long, FeedFeature> features = feedFeatureService.getFeatures(ids);
+        removeDeadMembers(redisKey, ids, features);
+        List<Long> liveIds = ids.stream().filter(features::containsKey).toList();
+
+        // 페이지를 꽉 채웠으면 다음이 있다고 보고 마지막 항목을 새 꼬리로 (끝이면 다음 호출이 빈 페이지)
+        boolean hasNext = picked.size() >= size;
+        ZSetOperations.TypedTuple<String> last = picked.isEmpty() ? null : picked.get(picked.size() - 1);
+        RecommendationCursor next = (last == null) ? null
+                : new RecommendationCursor(null, 0L, last.getScore(), last.getValue());
+        return new RecommendationCursorResponse(
+                hydrate(userId, liveIds, scores, features),
+                hasNext ? next.encode() : null, hasNext);
+    }
+
+    /**
+     * 후보 ID 목록 → 최종 순서 (offset/커서 모드 공용).
+     * [B] 내 최근 글 핀고정 [C] 풀 구성 [D] 피처 재계산 [E] 개인 가산 [F] 최종 정렬
+     * @param limit 풀/결과 최대 크기
+     */
+    private RankedWindow rankWindow(Long userId, User user, List<Pet> pets, String redisKey,
+                                    List<Long> candidateIds, long limit) {
         // === [B] 내 최근 글(3시간 내 최대 3개) 핀고정 후보 추가 ===
         LocalDateTime threeMinutesAgo = LocalDateTime.now().minusMinutes(3);
         List<Long> myRecentFeedIds = feedRepository
@@ -327,136 +413,94 @@ public class CBFRecommendationService {
         // === [C] 1차 풀 구성(핀고정 우선 + 후보) → 중복 제거 후 오버샘플 크기 제한 ===
         List<Long> pool = Stream.concat(myRecentFeedIds.stream(), candidateIds.stream())
                 .distinct()
-                .limit(fetch)
+                .limit(limit)
                 .toList();
-        if (pool.isEmpty()) return List.of();
+        if (pool.isEmpty()) return RankedWindow.EMPTY;
 
-        // === [D] 실시간 정합성 오버레이 ===
-        // D-1) 살아있는 글만 남기기(soft delete 제외) + 지워진 멤버는 Redis에서 lazy-clean
-        List<Feed> alive = feedRepository.findAllActiveByIdIn(pool);
-        Map<Long, Feed> aliveById = alive.stream().collect(Collectors.toMap(Feed::getId, Function.identity()));
+        // === [D] 실시간 정합성 오버레이 (피드 피처 캐시 기반 → 순수 인메모리 계산) ===
+        // D-1) 피처 일괄 조회(L1 Caffeine → L2 Redis → miss 분만 DB)
+        //      - soft delete 된 글은 피처가 없음 → 지워진 멤버는 Redis에서 lazy-clean
+        Map<Long, FeedFeature> features = feedFeatureService.getFeatures(pool);
+        removeDeadMembers(redisKey, pool, features);
 
-        List<Object> deadMembers = pool.stream()
-                .filter(id -> !aliveById.containsKey(id))
-                .map(String::valueOf)
-                .map(Object.class::cast)
-                .toList();
-        if (!deadMembers.isEmpty()) {
-            redisTemplate.opsForZSet().remove(redisKey, deadMembers.toArray(new Object[0]));
-        }
         // 실존 ID만 대상으로 후속 계산
-        List<Long> liveIds = pool.stream().filter(aliveById::containsKey).toList();
-        if (liveIds.isEmpty()) return List.of();
-
-        // D-2) 현재 DB 상태로 "배치 점수"를 미니 재계산(좋아요/댓글/최신성/작성자 특성 반영)
-        //      - 윈도우 내에서만 계산하므로 비용 작음
-        // 댓글 수(삭제 제외) 벌크 조회
-//        List<Object[]> commentCountsRows =
-//                commentRepository.countByFeedIdInAndDeletedAtIsNullGroupByFeedId(liveIds);
-//        Map<Long, Integer> commentCount = new HashMap<>(liveIds.size());
-//        for (Object[] row : commentCountsRows) {
-//            commentCount.put((Long) row[0], ((Long) row[1]).intValue());
-//        }
-//
-        List<Object[]> rows =
-                commentRepository.countByFeedIdInAndDeletedAtIsNullGroupByFeedId(liveIds);
-
-        Map<Long, Integer> commentCount = new HashMap<>(liveIds.size());
-        for (Object[] row : rows) {
-            Long fid = ((Number) row[0]).longValue();
-            int cnt  = ((Number) row[1]).intValue();
-            commentCount.put(fid, cnt);
-        }
-        // 작성자/작성자 동물
-        Set<Long> writerIds = alive.stream()
-                .map(Feed::getUserId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Map<Long, User> writerMap = userRepository.findAllById(writerIds).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
-        Map<Long, Set<Animal>> writerAnimals = petRepository.findByUserIdIn(writerIds).stream()
-                .collect(Collectors.groupingBy(
-                        p -> p.getUser().getId(),
-                        Collectors.mapping(Pet::getAnimal, Collectors.toSet())
-                ));
-
-        // 지역명 resolve(필요한 regionId만)
-        Set<Long> regionIds = new HashSet<>();
-        for (Feed f : alive) {
-            if (f.getRegionId() != null) regionIds.add(f.getRegionId());
-        }
-        if (user.getRegionId() != null) regionIds.add(user.getRegionId());
-        Map<Long, String> regionNameCache = regionRepository.findAllById(regionIds).stream()
-                .collect(Collectors.toMap(Region::getId, Region::getName));
+        List<Long> liveIds = pool.stream().filter(features::containsKey).toList();
+        if (liveIds.isEmpty()) return RankedWindow.EMPTY;
 
-        // 유저 나이대/지역명
+        // D-2) 피처(좋아요/댓글/최신성/작성자 특성)로 "배치 점수"를 미니 재계산
+        //      - liveIds 순서 그대로 프리미티브 배열로 인코딩 → 커널이 double[] 에 점수 기록 (박싱 Map 없음)
         LocalDate today = LocalDate.now();
         int userAge = Period.between(user.getBirthday(), today).getYears();
         int userAgeGroup = (userAge / 10) * 10;
-        String userRegionName = regionNameCache.getOrDefault(user.getRegionId(), "UNKNOWN");
-
-        // 현재 상태로 기본 점수 재계산
-        Map<Long, Double> rtBaseScore = new HashMap<>(liveIds.size());
-        for (Long fid : liveIds) {
-            Feed f = aliveById.get(fid);
-            int cmtCnt = commentCount.getOrDefault(fid, 0);
+        long userRegionCode = regionCodes.codeOf(user.getRegionId()); // 배치/FeedFeature 와 같은 이름 단위 코드
+        int myAnimalMask = FeedFeature.animalMask(pets.stream().map(Pet::getAnimal).toList());
 
-            User writer = (f.getUserId() == null) ? null : writerMap.get(f.getUserId());
-            int writerAgeGroup = -1;
-            String writerRegionName = null;
-            Set<Animal> writerAnimalSet = Collections.emptySet();
-
-            if (writer != null) {
-                int writerAge = Period.between(writer.getBirthday(), today).getYears();
-                writerAgeGroup = (writerAge / 10) * 10;
-                writerRegionName = regionNameCache.getOrDefault(writer.getRegionId(), "UNKNOWN");
-                writerAnimalSet = writerAnimals.getOrDefault(writer.getId(), Collections.emptySet());
-            }
-
-            double s = calculateScore(
-                    user, pets, f, cmtCnt,
-                    writerAgeGroup, writerRegionName, writerAnimalSet,
-                    userAgeGroup, userRegionName,
-                    today
-            );
-            rtBaseScore.put(fid, s);
-        }
+        FeedScoringKernel.Encoded encoded = FeedScoringKernel.Encoded.of(liveIds, features);
+        final int n = encoded.size();
+        double[] scores = new double[n];
+        FeedScoringKernel.score(encoded, myAnimalMask, userAgeGroup, userRegionCode, newSinceEpochDay(today), scores);
 
         // === [E] 개인 CBF 가산점 적용(프로필 캐시 기반) ===
-        Map<Long, Double> cbfBoost = computePersonalCbfBoost(userId, liveIds);
+        Map<Long, Double> cbfBoost = computePersonalCbfBoost(userId, liveIds, features);
         double ALPHA = 0.5;
-
-        Map<Long, Double> finalScoreById = new HashMap<>(liveIds.size());
-        for (Long id : liveIds) {
-            double base = rtBaseScore.getOrDefault(id, zsetScore.getOrDefault(id, 1.0)); // 재계산 점수 우선, 없으면 배치 점수
-            double cbf  = cbfBoost.getOrDefault(id, 0.0);
-            finalScoreById.put(id, base + ALPHA * cbf);
+        if (!cbfBoost.isEmpty()) {
+            for (int i = 0; i < n; i++) {
+                scores[i] += ALPHA * cbfBoost.getOrDefault(encoded.id(i), 0.0);
+            }
         }
 
-        // === [F] 최종 정렬: "내 최근 글"을 최상단 고정, 나머지는 최종 점수로 내림차순 ===
+        // === [F] 최종 정렬: "내 최근 글"을 최상단 고정, 나머지는 최종 점수 상위 K (핀 개수만큼 여유) ===
         Set<Long> pinSet = new LinkedHashSet<>(myRecentFeedIds); // 순서 유지
-        List<Long> sortedByScore = liveIds.stream()
-                .sorted(Comparator.comparingDouble(id -> finalScoreById.getOrDefault(id, 0.0)).reversed())
-                .toList();
+        Map<Long, Double> finalScoreById = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (pinSet.contains(encoded.id(i))) finalScoreById.put(encoded.id(i), scores[i]);
+        }
 
-        List<Long> ordered = new ArrayList<>((int) fetch);
+        List<Long> ordered = new ArrayList<>((int) Math.min(limit, n));
         // 1) 핀 고정
         for (Long id : myRecentFeedIds) {
-            if (aliveById.containsKey(id)) ordered.add(id);
-            if (ordered.size() >= fetch) break;
+            if (features.containsKey(id)) ordered.add(id);
+            if (ordered.size() >= limit) break;
         }
-        // 2) 점수 정렬(핀 제외)
-        for (Long id : sortedByScore) {
+        // 2) 점수 상위 K (핀 제외)
+        int[] top = new int[n];
+        int ranked = FeedScoringKernel.topK(scores, n, (int) Math.min(n, limit + pinSet.size()), top);
+        for (int r = 0; r < ranked && ordered.size() < limit; r++) {
+            long id = encoded.id(top[r]);
             if (pinSet.contains(id)) continue;
             ordered.add(id);
-            if (ordered.size() >= fetch) break;
+            finalScoreById.put(id, scores[top[r]]);
         }
+        return new RankedWindow(ordered, finalScoreById, features);
+    }
 
-        // === [G] 페이지 사이즈만큼 잘라서 반환 준비 ===
-        List<Long> finalIds = ordered.stream().limit(size).toList();
+    /** 배치 후보 피드 엔티티 (삭제 글 제외) */
+    private List<Feed> loadBatchCandidates() {
+        List<Long> ids = recommendationCandidateService.batchCandidates();
+        return ids.isEmpty() ? List.of() : feedRepository.findAllActiveByIdIn(ids);
+    }
+
+    /** 그룹 ZSET 이 비었을 때의 개인 후보 */
+    private List<Long> fallbackCandidates(Long userId, User user) {
+        return recommendationCandidateService.userCandidates(user.getRegionId(), userProfileService.loadProfile(userId));
+    }
+
+    /** 피처가 없는(삭제된) 멤버를 그룹 ZSET 에서 lazy-clean */
+    private void removeDeadMembers(String redisKey, List<Long> ids, Map<Long, FeedFeature> features) {
+        Object[] deadMembers = ids.stream()
+                .filter(id -> !features.containsKey(id))
+                .map(String::valueOf)
+                .toArray();
+        if (deadMembers.length > 0) {
+            redisTemplate.opsForZSet().remove(redisKey, deadMembers);
+        }
+    }
+
+    /** HYDRATE (본문/이미지/태그/좋아요 여부) - 최종 페이지 분만 1회, finalIds 순서 유지 */
+    private List<FeedListResponse> hydrate(Long userId, List<Long> finalIds,
+                                           Map<Long, Double> finalScoreById, Map<Long, FeedFeature> features) {
         if (finalIds.isEmpty()) return List.of();
 
-        // === [H] HYDRATE (이미지/태그/좋아요 여부) ===
         List<Feed> feeds = feedRepository.findAllById(finalIds);
         Map<Long, Feed> feedById = feeds.stream().collect(Collectors.toMap(Feed::getId, Function.identity()));
 
@@ -467,12 +511,12 @@ public class CBFRecommendationService {
                         Collectors.mapping(ImageResponse::new, Collectors.toList())
                 ));
 
-        List<FeedTagJoin> tagRows = feedTagRepository.findAllByFeedIdIn(finalIds);
-        Map<Long, List<TagResponse>> tagsByFeed = tagRows.stream()
-                .collect(Collectors.groupingBy(FeedTagJoin::getFeedId,
-                        Collectors.mapping(r -> new TagResponse(r.getTagId(), r.getTagName()), Collectors.toList())));
+        Map<Long, List<TagResponse>> tagsByFeed = feedTagRepository.findFeedTagPairsByFeedIdIn(finalIds).stream()
+                .collect(Collectors.groupingBy(FeedTagRepository.FeedTagPair::getFeedId,
+                        Collectors.mapping(r -> tagDictionary.toResponse(r.getTagId()), Collectors.toList())));
 
-        Set<Long> likedIds = likeRepository.findFeedIdsLikedByUser(userId, finalIds);
+        // 좋아요 여부/수는 상세와 같은 기준 (Redis write-behind 미반영분 포함)
+        Map<Long, LikeView> likes = likeCounterService.peekAll(finalIds, userId);
 
         List<FeedListResponse> out = new ArrayList<>(finalIds.size());
         for (Long id : finalIds) {
@@ -482,8 +526,9 @@ public class CBFRecommendationService {
             double finalScore = finalScoreById.getOrDefault(id, 1.0);
             List<ImageResponse> imgs = imagesByFeed.getOrDefault(id, List.of());
             List<TagResponse> tags  = tagsByFeed.getOrDefault(id, List.of());
-            boolean liked           = likedIds.contains(id);
-            int cmtCnt              = commentCount.getOrDefault(id, 0); // ✅ 이미 위에서 벌크로 뽑아놨던 그 값
+            LikeView like           = likes.get(id);
+            FeedFeature feature     = features.get(id);
+            int cmtCnt              = (feature == null) ? 0 : feature.commentCount(); // ✅ 피처 캐시의 댓글 수
 
 
 //            FeedListResponse dto = FeedListResponse.from(f, finalScore, cmtCnt);
@@ -503,13 +548,13 @@ public class CBFRecommendationService {
             dto.setCreatedAt(f.getCreatedAt());
             dto.setUpdatedAt(f.getUpdatedAt());
             dto.setDeletedAt(f.getDeletedAt());
-            dto.setLikes(f.getLikes());
+            dto.setLikes(like.count() != null ? like.count() : f.getLikes());
             dto.setViews(f.getViews());
             dto.setScore(finalScore);
             dto.setCommentCount(cmtCnt);
             dto.setTags(tags);
             dto.setImages(imgs);
-            dto.setLiked(liked);
+            dto.setLiked(like.liked());
             out.add(dto);
         }
         return out;
@@ -527,15 +572,18 @@ public class CBFRecommendationService {
 // ===================== C/W 측정 가능한 @Async 배치 =====================
 // =====================================================================
 // [비동기 배치] 그룹별 추천 랭킹(ZSET) 미리 계산하여 Redis에 저장 + C/W(계산 vs I/O) 시간 측정
-//  - 후보 풀: 좋아요 상위 200개 피드
+//  - 후보 풀: RecommendationCandidateService (전체 인기 ∪ 급상승 ∪ 최신, 크기는 recommendation.candidate-*)
 //  - N+1 제거: 필요한 모든 부가정보(댓글수/작성자/펫/지역/유저펫)를 한 번에 벌크 로딩 → 인메모리 Map 캐시로 사용
 //  - 그룹핑: userGroupService.determineGroupKey(...) 에서 groupKey를 생성 (예: 나이대/지역/동물조합 등)
-//  - 저장: group:{groupKey} 라는 ZSET 키에 (member=feedId, score=추천점수)로 ZADD (파이프라이닝)
-//  - 타이밍: CPU(계산) 구간과 I/O(레디스 저장) 구간을 분리 측정하여 평균(ms/건)과 W/C 비율 로그 출력
-//  - @Async: 호출자는 즉시 반환, 실제 배치는 백그라운드 스레드에서 수행
+//           점수는 그룹 속성에만 의존하므로 사용자 → 고유 그룹으로 먼저 접고, 그룹당 1회만 계산/저장
+//  - 병렬화: 그룹 단위 작업을 recommendationBatchExecutor 풀로 팬아웃 (O(users × 200) → O(groups × 200))
+//  - 저장: group:{groupKey}:v{batchId} 버전 키에 (member=feedId, score=추천점수)로 ZADD (파이프라이닝)
+//          → RENAME 으로 group:{groupKey} 와 원자적 교체 (recommendation.atomic-swap)
+//  - 타이밍: CPU(계산) 구간과 I/O(레디스 저장) 구간을 그룹별로 분리 측정하여 평균(ms/건)과 W/C 비율 로그 출력
+//  - @Async: 호출자는 즉시 반환, 실제 배치는 전용 스레드(recommendationBatchRunner)에서 수행
 // =====================================================================
     @Scheduled(cron ="0 0 3 * * *", zone = "Asia/Seoul") // 새벽 3시마다 배치실행
-    @Async("recommendationExecutor") // executor 빈 이름을 등록했을 때. 없다면 @Async 만 사용해도 됨.
+    @Async("recommendationBatchRunner")
     public void batchRecommendationToRedisAsync() {
 
         // ============================================================
@@ -550,6 +598,7 @@ public class CBFRecommendationService {
             return;
         }
         final long batchStartMs = System.currentTimeMillis();
+        final long batchId = batchStartMs; // 버전 키 접미사(group:{key}:v{batchId})
 
         long cpuNsTotal = 0L;   // 전체 사용자 처리 동안의 "계산(CPU) 구간" 누적 시간(ns)
         long ioNsTotal  = 0L;   // 전체 사용자 처리 동안의 "I/O(레디스 저장) 구간" 누적 시간(ns)
@@ -560,22 +609,13 @@ public class CBFRecommendationService {
             // 여기서 말하는 "캐시"는 Redis 캐시가 아니라, N+1 방지용으로 메모리에 들고 있는 Map을 뜻합니다.
             final LocalDate today = LocalDate.now();
 
-            // (1) 후보 피드 풀: 좋아요 상위 200개만 한 번에 뽑아, 이후 계산 범위를 제한합니다.
-            final List<Feed> feeds = feedRepository.findTop200ByOrderByLikesDesc();
+            // (1) 후보 피드 풀: 후보 생성 단계(전체 인기 ∪ 급상승 ∪ 최신, 삭제 글 제외)에서 한 번에 뽑아 계산 범위를 제한합니다.
+            final List<Feed> feeds = loadBatchCandidates();
             if (feeds.isEmpty()) {
                 log.info("CBF batch: no feeds, skip");
                 return; // 후보가 없으면 아무 것도 하지 않고 종료
             }
-            final List<Long> feedIds = feeds.stream().map(Feed::getId).toList();
-
-            // (2) 댓글수 벌크 조회 → feedId -> commentCount 맵 구성 (그룹핑 쿼리 결과를 메모리에 저장)
-            final List<Object[]> commentCounts =
-                    commentRepository.countByFeedIdInAndDeletedAtIsNullGroupByFeedId(feedIds);
-            final Map<Long, Integer> feedIdToCommentCount = new HashMap<>(feedIds.size());
-            for (Object[] row : commentCounts) {
-                // row[0]=feedId(Long), row[1]=count(Long) 가정
-                feedIdToCommentCount.put((Long) row[0], ((Long) row[1]).intValue());
-            }
+            // (2) 댓글수는 feeds.comment_count(비정규화 컬럼, 이벤트 증감 + 야간 보정)를 그대로 사용 → 그룹핑 집계 없음
 
             // (3) 작성자(User)와 작성자의 반려동물(Animal set) 정보를 한 번에 로딩
             final Set<Long> writerIds = feeds.stream()
@@ -598,61 +638,47 @@ public class CBFRecommendationService {
             final Map<Long, String> regionNameCache = regionRepository.findAll().stream()
                     .collect(Collectors.toMap(Region::getId, Region::getName));
 
-            // (5) 모든 사용자와 각 사용자의 반려동물을 한 번에 로딩하여 맵 구성 (userId -> pets[])
-            final List<User> users = userRepository.findAll();
-            final List<Long> userIds = users.stream().map(User::getId).toList();
-            final Map<Long, List<Pet>> petsByUser = petRepository.findByUserIdIn(userIds).stream()
-                    .collect(Collectors.groupingBy(p -> p.getUser().getId()));
-
-            // ===== 메인 루프: 사용자별로 "그룹키 생성 → 점수 계산 → Redis 저장" =====
-            for (User user : users) {
-                final List<Pet> pets = petsByUser.getOrDefault(user.getId(), Collections.emptyList());
-
-                // [그룹핑] 여기서 groupKey를 생성합니다. (이 단계가 "그룹핑"의 실체)
-                // 예: "10s:Seoul:Dog" 형식 등. 실제 키는 userGroupService 구현에 따름.
-                final String groupKey = userGroupService.determineGroupKey(
-                        user, pets, id -> regionNameCache.getOrDefault(id, "UNKNOWN")
-                );
-
-                // Redis ZSET 키 네임스페이스: "group:{groupKey}"
-                // 같은 그룹의 사용자라면 동일한 키를 참조합니다.
-                final String redisKey = "group:" + groupKey;
-
-                // --- [CPU 구간] 점수 계산 시작 ---
-                final long t0 = System.nanoTime();
-
-                // 사용자 1명에 대해, 후보 200개 피드 각각의 점수를 계산하여 feedId -> score 맵 생성
-                final Map<Long, Double> scores = computeScoresForUser(
-                        user, pets, feeds, feedIdToCommentCount,
-                        writerMap, writerAnimals, regionNameCache, today
-                );
-
-                final long t1 = System.nanoTime();
-                cpuNsTotal += (t1 - t0); // 계산 구간 누적
-                // --- [CPU 구간] 종료 ---
-
-                // --- [I/O 구간] Redis 저장 시작 ---
-                final long t2 = System.nanoTime();
-
-                // 점수 맵을 레디스 ZSET에 파이프라이닝으로 ZADD.
-                // member=feedId, score=추천점수 → 높은 점수일수록 상단 노출.
-                // 반환값은 ZADD한 총 건수 (itemsTotal에 누적)
-                itemsTotal += writeScoresToRedis(redisKey, scores);
-
-                // 추가: 이 그룹에 어떤 feedId들이 들어갔는지 기록
-                for (Long fid : scores.keySet()) {
-                    recommendationCacheService.rememberMembership(fid, groupKey);
-                }
-
-                final long t3 = System.nanoTime();
-                ioNsTotal += (t3 - t2); // I/O 구간 누적
-                // --- [I/O 구간] 종료 ---
-
-                // [선택] 원자적 공개를 원하면 "임시키에 쌓고 → RENAME으로 스왑" 패턴을 쓰세요.
-                // ex)
-                // String tmpKey = "group:" + groupKey + ":tmp:" + System.currentTimeMillis();
-                // writeScoresToRedis(tmpKey, scores);
-                // conn.rename(tmpKey, redisKey);  // 이러면 중간 상태 노출 없이 스왑 가능
+            // (5) 그룹핑: 사용자를 키셋 페이지(청크)로 스캔하며 groupKey 단위로 접기 (점수는 그룹 속성에만 의존)
+            //     - 청크마다 경량 프로젝션 + pet animal IN 조회 → 힙 사용량이 유저 수와 무관하게 평탄
+            //     - 지역 비교는 이름 기준 → 같은 이름의 지역 id 들을 하나의 코드로 정규화 (조회 재랭크와 같은 RegionCodes)
+            final Map<Long, Long> regionCodeById = regionCodes.snapshot();
+            final Map<String, GroupProfile> groups = scanGroupProfiles(regionNameCache, regionCodeById, today);
+            final int usersTotal = groups.values().stream().mapToInt(g -> g.members).sum();
+            log.info("[CBF Batch] users={} → groups={}", usersTotal, groups.size());
+
+            // (6) 후보 200개를 병렬 프리미티브 배열로 한 번만 인코딩 (작성자 나이대/지역 코드/동물 마스크/작성일)
+            //     - 이후 그룹별 계산은 FeedScoringKernel 이 배열만 훑음 (Period/Set/String 비교, 박싱 없음)
+            final FeedScoringKernel.Encoded candidates = encodeCandidates(
+                    feeds, writerMap, writerAnimals, regionCodeById, today);
+            final int newSince = newSinceEpochDay(today);
+
+            // ===== 메인 루프: 그룹별 "점수 계산 → Redis 저장"을 recommendationBatchExecutor 풀로 팬아웃 =====
+            // - 그룹 하나가 실패해도 나머지 그룹은 계속 진행(해당 그룹은 로그만 남기고 null)
+            final List<CompletableFuture<GroupTiming>> futures = new ArrayList<>(groups.size());
+            for (GroupProfile group : groups.values()) {
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> processGroup(group, candidates, newSince, batchId), recommendationBatchExecutor)
+                        .exceptionally(ex -> {
+                            log.warn("[CBF Batch] group failed key={}", group.groupKey, ex);
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            // ===== 그룹별 타이밍 집계 =====
+            GroupTiming slowest = null;
+            int failedGroups = 0;
+            for (CompletableFuture<GroupTiming> f : futures) {
+                final GroupTiming t = f.join();
+                if (t == null) { failedGroups++; continue; }
+                cpuNsTotal += t.cpuNs();
+                ioNsTotal  += t.ioNs();
+                itemsTotal += t.items();
+                if (slowest == null || t.totalNs() > slowest.totalNs()) slowest = t;
+            }
+            if (slowest != null) {
+                log.info("[CBF Batch] slowest group key={}, members={}, total={} ms, failedGroups={}",
+                        slowest.groupKey(), slowest.members(), slowest.totalNs() / 1_000_000.0, failedGroups);
             }
 
             // ===== 최종 요약 로그: 평균 계산/저장 시간 및 W/C 비율 =====
@@ -675,79 +701,218 @@ public class CBFRecommendationService {
     }
 
     /**
-     * [순수 계산 단계] 사용자 1명에 대해 후보 피드들의 추천 점수를 계산하여 feedId -> score 맵을 만듭니다.
-     *  - I/O 호출을 절대 넣지 마세요. (이 메서드는 "CPU 구간" 시간 측정을 위한 순수 계산 전용)
-     *  - 가중치 합산 로직은 calculateScore(...)에 캡슐화되어 있음 (이미 네 코드에 존재)
+     * [그룹핑 단계] 사용자 테이블을 키셋 페이지(id 오름차순)로 스캔하며 groupKey 단위로 접어
+     * 그룹별 점수 입력값(GroupProfile)을 만듭니다.
+     *  - 추천 점수는 나이대/지역/보유 동물에만 의존하므로, 같은 그룹은 한 번만 계산하면 됩니다.
+     *  - 청크마다 (id, birthday, gender, regionId) 프로젝션 + (userId, animal) IN 조회만 수행
+     *    → IN 절 크기는 청크 크기로 제한되고, 청크 사이에 영속성 컨텍스트를 비워 힙이 평탄하게 유지됨
+     *  - 보유 동물은 그룹 구성원 전체의 합집합 (HASPET 그룹 안에서도 고양이/토끼 등이 섞여 있을 수 있음)
+     *  - 삽입 순서를 유지(LinkedHashMap)하여 로그/디버깅 시 순서가 안정적입니다.
      */
-    private Map<Long, Double> computeScoresForUser(
-            User user,
-            List<Pet> pets,
+    private Map<String, GroupProfile> scanGroupProfiles(Map<Long, String> regionNameCache,
+                                                        Map<Long, Long> regionCodeById,
+                                                        LocalDate today) {
+        final int chunkSize = Math.max(1, recommendationProps.getBatchChunkSize());
+        final Map<String, GroupProfile> groups = new LinkedHashMap<>();
+
+        long lastId = 0L;
+        while (true) {
+            final List<UserRepository.UserGroupRow> rows =
+                    userRepository.findGroupRowsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) break;
+
+            final List<Long> chunkIds = rows.stream().map(UserRepository.UserGroupRow::getId).toList();
+            final Map<Long, Set<Animal>> animalsByUser = new HashMap<>(chunkIds.size());
+            for (PetRepository.UserAnimal ua : petRepository.findAnimalsByUserIdIn(chunkIds)) {
+                if (ua.getAnimal() == null) continue;
+                animalsByUser.computeIfAbsent(ua.getUserId(), k -> EnumSet.noneOf(Animal.class)).add(ua.getAnimal());
+            }
+
+            for (UserRepository.UserGroupRow row : rows) {
+                if (row.getBirthday() == null) continue; // 생년월일 없으면 나이대 산출 불가 → 스킵
+                final Set<Animal> animals = animalsByUser.getOrDefault(row.getId(), Collections.emptySet());
+                final String regionName = regionNameCache.getOrDefault(row.getRegionId(), "UNKNOWN");
+
+                // [그룹핑] 실제 키 형식은 userGroupService 구현에 따름 (ageGroup_gender_region_petStatus)
+                final String groupKey = userGroupService.determineGroupKey(
+                        row.getBirthday(), row.getGender(), regionName, animals
+                );
+
+                final GroupProfile group = groups.computeIfAbsent(groupKey, k -> {
+                    final int age = Period.between(row.getBirthday(), today).getYears();
+                    final long regionCode = (row.getRegionId() == null) ? FeedScoringKernel.UNKNOWN_REGION
+                            : regionCodeById.getOrDefault(row.getRegionId(), FeedScoringKernel.UNKNOWN_REGION);
+                    return new GroupProfile(k, (age / 10) * 10, regionName, regionCode);
+                });
+                group.addMember(animals);
+            }
+
+            lastId = chunkIds.get(chunkIds.size() - 1);
+            entityManager.clear(); // 청크 간 영속성 컨텍스트 비우기 (트랜잭션 안에서 호출돼도 누적 X)
+            if (rows.size() < chunkSize) break;
+        }
+        return groups;
+    }
+
+    /**
+     * [인코딩 단계] 후보 피드 + 작성자 정보를 FeedScoringKernel 병렬 배열로 한 번만 변환합니다.
+     *  - 작성자 나이대/지역 코드/동물 마스크/작성일(epoch day)은 그룹과 무관하므로 배치당 1회만 계산
+     *  - 결과는 읽기 전용으로 모든 그룹 작업이 공유
+     */
+    private FeedScoringKernel.Encoded encodeCandidates(
             List<Feed> feeds,
-            Map<Long, Integer> feedIdToCommentCount, // feedId -> 댓글 수
             Map<Long, User> writerMap,               // 작성자 id -> User
             Map<Long, Set<Animal>> writerAnimals,    // 작성자 id -> 작성자의 동물 종 집합
-            Map<Long, String> regionNameCache,       // regionId -> regionName (표기용/동등비교용)
+            Map<Long, Long> regionCodeById,          // regionId -> 지역 코드(이름 단위)
             LocalDate today
     ) {
-        // 사용자 나이/지역을 미리 계산 (반복에서 재계산 방지)
-        final int userAge = Period.between(user.getBirthday(), today).getYears();
-        final int userAgeGroup = (userAge / 10) * 10; // 20대/30대...
-        final String userRegionName = regionNameCache.getOrDefault(user.getRegionId(), "UNKNOWN");
-
-        final Map<Long, Double> scores = new HashMap<>(feeds.size());
-
-        // 후보 200개 피드를 하나씩 돌며 점수 합산
+        final FeedScoringKernel.Encoded encoded = new FeedScoringKernel.Encoded(feeds.size());
         for (Feed feed : feeds) {
-            final int commentCount = feedIdToCommentCount.getOrDefault(feed.getId(), 0);
-
-            // 피드 작성자 데이터 resolve (없을 수도 있음)
             final User writer = (feed.getUserId() == null) ? null : writerMap.get(feed.getUserId());
-            int writerAgeGroup = -1;
-            String writerRegionName = null;
-            Set<Animal> writerAnimalSet = Collections.emptySet();
+            int writerAgeGroup = FeedScoringKernel.UNKNOWN_AGE;
+            long writerRegionCode = FeedScoringKernel.UNKNOWN_REGION;
+            int writerAnimalMask = 0;
 
             if (writer != null) {
-                final int writerAge = Period.between(writer.getBirthday(), today).getYears();
-                writerAgeGroup = (writerAge / 10) * 10;
-                writerRegionName = regionNameCache.getOrDefault(writer.getRegionId(), "UNKNOWN");
-                writerAnimalSet = writerAnimals.getOrDefault(writer.getId(), Collections.emptySet());
+                if (writer.getBirthday() != null) {
+                    writerAgeGroup = (Period.between(writer.getBirthday(), today).getYears() / 10) * 10;
+                }
+                if (writer.getRegionId() != null) {
+                    writerRegionCode = regionCodeById.getOrDefault(writer.getRegionId(), FeedScoringKernel.UNKNOWN_REGION);
+                }
+                writerAnimalMask = FeedFeature.animalMask(writerAnimals.get(writer.getId()));
             }
 
-            // 실제 가중치 합산 로직(좋아요/댓글/동물 일치/나이대/지역/최신성 등)은 calculateScore(...)로 캡슐화
-            final double score = calculateScore(
-                    user, pets, feed, commentCount,
-                    writerAgeGroup, writerRegionName, writerAnimalSet,
-                    userAgeGroup, userRegionName,
-                    today
+            encoded.add(
+                    feed.getId(),
+                    (feed.getLikes() == null) ? 0 : feed.getLikes(),
+                    (feed.getCommentCount() == null) ? 0 : feed.getCommentCount(),
+                    writerAgeGroup, writerRegionCode, writerAnimalMask,
+                    (feed.getCreatedAt() == null) ? FeedScoringKernel.UNKNOWN_DAY
+                            : (int) feed.getCreatedAt().toLocalDate().toEpochDay()
             );
-            scores.put(feed.getId(), score);
         }
-        return scores;
+        return encoded;
+    }
+
+    /** 이 날짜(epoch day) 이후 작성된 글이 신규 가산 대상 (오늘 기준 2일 전 0시부터) */
+    private static int newSinceEpochDay(LocalDate today) {
+        return (int) today.minusDays(2).toEpochDay();
+    }
+
+    /**
+     * [그룹 1건 처리] 점수 계산(CPU) → Redis 저장(I/O)을 수행하고 구간별 시간을 반환합니다.
+     *  - recommendationBatchExecutor 워커 스레드에서 실행되므로 공유 상태를 변경하지 않습니다.
+     *  - 점수 버퍼는 워커 스레드별로 재사용 (그룹 수만큼 배열을 새로 만들지 않음)
+     */
+    private GroupTiming processGroup(
+            GroupProfile group,
+            FeedScoringKernel.Encoded candidates,
+            int newSinceEpochDay,
+            long batchId
+    ) {
+        double[] scores = SCORE_BUFFER.get();
+        if (scores.length < candidates.size()) {
+            scores = new double[candidates.size()];
+            SCORE_BUFFER.set(scores);
+        }
+
+        // --- [CPU 구간] 점수 계산 ---
+        final long t0 = System.nanoTime();
+        FeedScoringKernel.score(candidates, group.animalMask, group.ageGroup, group.regionCode, newSinceEpochDay, scores);
+        final long t1 = System.nanoTime();
+
+        // --- [I/O 구간] Redis 저장 (ZADD 파이프라인 + 세대 교체 + feed_groups 역인덱스) ---
+        final long items = publishGroupScores(group, candidates, scores, batchId);
+        final long t2 = System.nanoTime();
+
+        final GroupTiming timing = new GroupTiming(group.groupKey, group.members, t1 - t0, t2 - t1, items);
+        log.debug("[CBF Group] key={}, members={}, cpu={} ms, io={} ms, items={}",
+                timing.groupKey(), timing.members(),
+                timing.cpuNs() / 1_000_000.0, timing.ioNs() / 1_000_000.0, timing.items());
+        return timing;
     }
 
     /**
-     * [저장 단계] feedId -> score 맵을 Redis ZSET에 파이프라이닝으로 저장합니다.
-     *  - 키: group:{groupKey}
+     * [공개 단계] 그룹 점수를 리더(getRecommendedFeeds)에게 공개합니다.
+     *  - atomicSwap=true : group:{key}:v{batchId} 에 전부 쓴 뒤 RENAME 으로 라이브 키와 교체
+     *                      → 배치 도중에도 반쯤 쓰인 ZSET 이 보이지 않고, 후보 풀에서 빠진 피드는 이전 세대와 함께 사라짐
+     *  - atomicSwap=false: 기존 방식(라이브 키에 직접 ZADD, 빠진 피드는 TTL 만료까지 잔류)
+     * @return 실제로 ZADD한 개수
+     */
+    private long publishGroupScores(GroupProfile group, FeedScoringKernel.Encoded candidates,
+                                    double[] scores, long batchId) {
+        final String groupKey = group.groupKey;
+        // 새 글 실시간 편입(RecommendationScoreUpdater)에서 지역 → 그룹을 찾을 수 있도록 등록
+        recommendationCacheService.registerGroupRegion(
+                groupKey, group.regionName, Duration.ofHours(recommendationProps.getGroupTtlHours()));
+
+        if (!recommendationProps.isAtomicSwap()) {
+            final long written = writeScoresToRedis("group:" + groupKey, candidates, scores);
+            recommendationCacheService.rememberMemberships(candidates.idList(), groupKey);
+            return written;
+        }
+        final String buildKey = recommendationCacheService.buildKey(groupKey, batchId);
+        final long written = writeScoresToRedis(buildKey, candidates, scores);
+        recommendationCacheService.publishGeneration(groupKey, buildKey, candidates.idList());
+        return written;
+    }
+
+    /**
+     * [저장 단계] 후보 id[i] -> scores[i] 를 Redis ZSET에 파이프라이닝으로 저장합니다.
+     *  - 키: group:{groupKey} 또는 빌드용 버전 키 group:{groupKey}:v{batchId}
      *  - member: feedId (문자열)
      *  - score: 추천 점수(더 높을수록 랭킹 상단)
      *  - 성능 팁: 파이프라이닝은 네트워크 RTT를 크게 줄여주므로, 스레드만 늘리는 것보다 효과적입니다.
      * @return 실제로 ZADD한 개수 (itemsTotal에 누적하여 평균 산출에 사용)
      */
-    private long writeScoresToRedis(String redisKey, Map<Long, Double> scores) {
+    private long writeScoresToRedis(String redisKey, FeedScoringKernel.Encoded candidates, double[] scores) {
         final var keySer = redisTemplate.getStringSerializer();
         final byte[] key = keySer.serialize(redisKey);
         final long[] written = {0L};
 
         // 파이프라이닝으로 다건 ZADD
         redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
-            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            for (int i = 0; i < candidates.size(); i++) {
                 // member는 feedId 문자열, score는 계산된 점수
-                conn.zAdd(key, e.getValue(), keySer.serialize(String.valueOf(e.getKey())));
+                conn.zAdd(key, scores[i], keySer.serialize(String.valueOf(candidates.id(i))));
                 written[0]++;
             }
-            conn.expire(key, 48 * 60 * 60); // 48시간 TTL (초 단위) (TimeToLive) 48시간이 지나면 redis가 알아서 삭제
+            conn.expire(key, recommendationProps.getGroupTtlHours() * 60L * 60L); // 기본 48시간 TTL (초 단위), RENAME 후에도 유지됨
             return null;
         });
         return written[0];
     }
+
+    /** 배치 그룹 단위 점수 입력값 (groupKey를 구성하는 속성 + 구성원 보유 동물 합집합 비트마스크) */
+    private static final class GroupProfile {
+        final String groupKey;
+        final int ageGroup;
+        final String regionName;
+        final long regionCode;
+        int animalMask;
+        int members;
+
+        GroupProfile(String groupKey, int ageGroup, String regionName, long regionCode) {
+            this.groupKey = groupKey;
+            this.ageGroup = ageGroup;
+            this.regionName = regionName;
+            this.regionCode = regionCode;
+        }
+
+        void addMember(Set<Animal> memberAnimals) {
+            members++;
+            animalMask |= FeedFeature.animalMask(memberAnimals);
+        }
+    }
+
+    /** 재랭크 결과 (최종 순서 + 최종 점수 + 사용한 피처) */
+    private record RankedWindow(List<Long> ids, Map<Long, Double> scores, Map<Long, FeedFeature> features) {
+        static final RankedWindow EMPTY = new RankedWindow(List.of(), Map.of(), Map.of());
+    }
+
+    /** 그룹 1건 처리 결과 (CPU/IO 구간 시간(ns) + ZADD 건수) */
+    private record GroupTiming(String groupKey, int members, long cpuNs, long ioNs, long items) {
+        long totalNs() { return cpuNs + ioNs; }
+    }
 }
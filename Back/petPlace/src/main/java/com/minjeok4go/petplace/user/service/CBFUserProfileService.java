@@ -1,19 +1,27 @@
 package com.minjeok4go.petplace.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.minjeok4go.petplace.comment.repository.CommentRepository;
-import com.minjeok4go.petplace.feed.entity.Tag;
+import com.minjeok4go.petplace.config.RecommendationProps;
 import com.minjeok4go.petplace.feed.repository.FeedRepository;
 import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
-import com.minjeok4go.petplace.feed.repository.TagRepository;
 import com.minjeok4go.petplace.like.repository.LikeRepository;
 import com.minjeok4go.petplace.pet.repository.PetRepository;
+import com.minjeok4go.petplace.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,6 +32,15 @@ import java.util.stream.Collectors;
  *
  * - CBF 개인화 가산점 계산의 입력 데이터(태그 선호, 보유 동물)를 제공
  * - 추천 랭킹 엔진(CBFRecommendationService)은 여기서 읽기만 하면 됨
+ * - 재계산은 유저 청크 단위: 청크당 그룹 쿼리 몇 번 + Redis 파이프라인 1회
+ *
+ * Redis 구조
+ * - prof:u:{uid}:tag    (HASH)  tagId -> 선호 점수
+ * - prof:u:{uid}:animal (SET)   보유 동물명(Animal.name())
+ *
+ * 조회 경로 near-cache
+ * - L1: 인스턴스 로컬 Caffeine (짧은 TTL, 크기 제한) → 같은 유저의 연속 스크롤은 메모리에서 응답
+ * - invalidate/재계산 시 "prof:invalidate" 채널로 uid 목록을 발행 → 모든 인스턴스가 L1 에서 제거
  */
 @Service
 @RequiredArgsConstructor
@@ -38,99 +55,57 @@ public class CBFUserProfileService {
     /** Redis TTL (개인 프로필의 신선도 유지) */
     private static final Duration PROFILE_TTL = Duration.ofHours(48);
 
+    /** feed-tag IN 절 최대 크기 (청크 유저들의 상호작용 피드가 많을 때 쪼개서 조회) */
+    private static final int FEED_IN_LIMIT = 1000;
+
+    private static final String KEY_PREFIX = "prof:u:";
+    private static final String LOCK_KEY = "cbf_profile_lock";
+
+    /** L1 무효화 채널 (메시지: 쉼표로 구분한 uid 목록) */
+    static final String INVALIDATE_CHANNEL = "prof:invalidate";
+
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
     private final FeedTagRepository feedTagRepository;
-    private final TagRepository tagRepository;
     private final PetRepository petRepository;
     private final FeedRepository feedRepository;
+    private final UserRepository userRepository;
     private final RedisTemplate<String, String> redisTemplate;
+    private final RecommendationProps recommendationProps;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // pub/sub 메시지가 유실돼도 TTL 안에 Redis 값으로 수렴
+    private final Cache<Long, UserProfileVector> local = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    @PostConstruct
+    void subscribeInvalidation() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            for (String uid : body.split(",")) {
+                if (uid.isBlank()) continue;
+                try {
+                    local.invalidate(Long.parseLong(uid.trim()));
+                } catch (NumberFormatException ignore) {
+                    // 잘못된 메시지는 무시
+                }
+            }
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    static String tagKey(Long userId)    { return KEY_PREFIX + userId + ":tag"; }
+    static String animalKey(Long userId) { return KEY_PREFIX + userId + ":animal"; }
 
     /**
      * 유저 한 명의 개인 프로필(태그 선호 벡터 + 보유 동물 세트)을 재계산하여 Redis에 저장.
-     * - 읽기 전용 트랜잭션으로 DB 일관성 확보 (쓰기 작업은 Redis에만 수행)
+     * - 청크 재계산 경로를 크기 1로 그대로 사용
      * - 예외는 잡아서 경고 로그로 남기고 종료(호출자에 오류 전파 X)
      */
-    @Transactional(readOnly = true)
     public void buildAndCacheUserProfile(Long userId) {
         try {
-            // 1) 내 글 / 좋아요 / 댓글 → 피드 ID 수집
-            List<Long> myFeedIds   = safeList(feedRepository.findIdsByUserId(userId));
-            List<Long> likeFeedIds = safeList(likeRepository.findFeedIdsByUserId(userId));
-            List<Long> cmtFeedIds  = safeList(commentRepository.findFeedIdsByUserId(userId));
-
-            // 2) 통합 후보 피드 집합(중복 제거)
-            Set<Long> allFeedIds = new HashSet<>();
-            allFeedIds.addAll(myFeedIds);
-            allFeedIds.addAll(likeFeedIds);
-            allFeedIds.addAll(cmtFeedIds);
-
-            // 3) 보유 동물 세트 (상호작용 없어도 항상 최신값으로 유지)
-            //    LinkedHashSet 사용 이유: 일관된 순서를 유지(주로 디버깅 가독성)
-            Set<String> myAnimals = petRepository.findByUserId(userId).stream()
-                    .map(p -> p.getAnimal().name())
-                    .collect(Collectors.toCollection(java.util.LinkedHashSet::new));
-
-            // 4) 태그 선호 점수 누적
-            Map<String, Double> tagScore = new HashMap<>();
-            if (!allFeedIds.isEmpty()) {
-                // 4-1) (feedId, tagId) 벌크 조회 → 개별 루프에서 DB 왕복 방지
-                List<FeedTagRepository.FeedTagPair> pairs =
-                        feedTagRepository.findFeedTagPairsByFeedIdIn(allFeedIds);
-
-                if (!pairs.isEmpty()) {
-                    // 4-2) tagId -> tagName 매핑 (한 번에 로드)
-                    Set<Long> tagIds = pairs.stream()
-                            .map(FeedTagRepository.FeedTagPair::getTagId)
-                            .collect(Collectors.toSet());
-
-                    Map<Long, String> tagIdToName = tagRepository.findByIdIn(tagIds).stream()
-                            .collect(Collectors.toMap(Tag::getId, Tag::getName));
-
-                    // 4-3) 포함 여부 O(1) 체크를 위해 Set 로 변환
-                    Set<Long> mineSet = new HashSet<>(myFeedIds);
-                    Set<Long> likeSet = new HashSet<>(likeFeedIds);
-                    Set<Long> cmtSet  = new HashSet<>(cmtFeedIds);
-
-                    // 4-4) 태그별로 가중치 누적(한 피드가 여러 경로에 포함되면 모두 더함)
-                    for (FeedTagRepository.FeedTagPair p : pairs) {
-                        Long fid  = p.getFeedId();
-                        String tn = tagIdToName.get(p.getTagId());
-                        if (tn == null) continue; // 태그 삭제 등 방어
-
-                        if (mineSet.contains(fid)) tagScore.merge(tn, W_MINE, Double::sum);
-                        if (likeSet.contains(fid)) tagScore.merge(tn, W_LIKE, Double::sum);
-                        if (cmtSet.contains(fid))  tagScore.merge(tn, W_CMT,  Double::sum);
-                    }
-                }
-            }
-
-            // 5) Redis 저장 (HSET: 태그/가중치, SET: 동물)
-            String tagKey    = "prof:u:" + userId + ":tag";
-            String animalKey = "prof:u:" + userId + ":animal";
-
-            // 5-1) 태그 선호 벡터: 비어 있으면 기존 캐시 삭제(신선도 보장)
-            if (!tagScore.isEmpty()) {
-                Map<String, String> payload = new HashMap<>(tagScore.size());
-                tagScore.forEach((k, v) -> payload.put(k, String.valueOf(v)));
-                redisTemplate.opsForHash().putAll(tagKey, payload);
-                redisTemplate.expire(tagKey, PROFILE_TTL);
-            } else {
-                redisTemplate.delete(tagKey);
-            }
-
-            // 5-2) 보유 동물 세트: 항상 최신 값으로 교체
-            redisTemplate.delete(animalKey);
-            if (!myAnimals.isEmpty()) {
-                for (String a : myAnimals) {
-                    redisTemplate.opsForSet().add(animalKey, a);
-                }
-                redisTemplate.expire(animalKey, PROFILE_TTL);
-            }
-
-            log.debug("[Profile] rebuilt user profile uid={}, tags={}, animals={}",
-                    userId, tagScore.size(), myAnimals.size());
-
+            rebuildChunk(List.of(userId));
         } catch (Exception e) {
             // 비동기로도 자주 호출될 수 있으니 오염 방지를 위해 경고 로그만 남김
             log.warn("[Profile] build failed uid={}", userId, e);
@@ -138,49 +113,100 @@ public class CBFUserProfileService {
     }
 
     /**
-     * 조회 시 재랭크 단계에서 사용하는 태그 선호 벡터 로더.
-     * - Redis Hash("prof:u:{uid}:tag") → Map<String tagName, Double score>
-     * - 빈 경우 Map.of() 반환(Null 반환 금지)
+     * 조회 시 재랭크 단계에서 사용하는 개인 프로필 로더.
+     * - L1 hit 이면 네트워크 없이 반환, miss 면 Redis 에서 읽어 L1 에 적재(빈 프로필도 캐시)
+     * - 빈 경우 UserProfileVector.EMPTY 반환(Null 반환 금지)
      */
-    @Transactional(readOnly = true)
-    public Map<String, Double> loadTagPref(Long userId) {
-        var raw = redisTemplate.opsForHash().entries("prof:u:" + userId + ":tag");
-        if (raw == null || raw.isEmpty()) return Map.of();
-
-        Map<String, Double> out = new HashMap<>(raw.size());
-        raw.forEach((k, v) -> {
-            // value 는 문자열로 저장되어 있으므로 Double 로 파싱
-            out.put((String) k, Double.parseDouble(String.valueOf(v)));
-        });
-        return out;
-        // 주의: 여기서 DB/HDD I/O 를 추가하지 말 것(재랭크 경로 핫패스)
+    public UserProfileVector loadProfile(Long userId) {
+        return local.get(userId, this::readProfile);
     }
 
     /**
-     * 조회 시 재랭크 단계에서 사용하는 보유 동물 세트 로더.
-     * - Redis Set("prof:u:{uid}:animal") → Set<String animalName>
-     * - 빈 경우 Set.of() 반환
+     * Redis 에서 프로필 읽기.
+     * - HGETALL(tag) + SMEMBERS(animal) 을 파이프라인 한 번(왕복 1회)으로 읽음
+     * - 태그명 필드(구 포맷)는 TTL 만료 전까지 남아 있을 수 있으므로 숫자가 아닌 필드는 무시
      */
-    @Transactional(readOnly = true)
-    public Set<String> loadAnimals(Long userId) {
-        var members = redisTemplate.opsForSet().members("prof:u:" + userId + ":animal");
-        return (members == null) ? Set.of() : members;
+    private UserProfileVector readProfile(Long userId) {
+        List<Object> res = redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redisTemplate.getStringSerializer();
+            conn.hGetAll(ser.serialize(tagKey(userId)));
+            conn.sMembers(ser.serialize(animalKey(userId)));
+            return null;
+        });
+        // 주의: 여기서 DB/HDD I/O 를 추가하지 말 것(재랭크 경로 핫패스)
+
+        Map<Long, Double> tagScore = new HashMap<>();
+        if (!res.isEmpty() && res.get(0) instanceof Map<?, ?> raw) {
+            raw.forEach((k, v) -> {
+                try {
+                    tagScore.put(Long.parseLong(String.valueOf(k)), Double.parseDouble(String.valueOf(v)));
+                } catch (NumberFormatException ignore) {
+                    // 구 포맷(태그명 키) 잔여 필드
+                }
+            });
+        }
+        Set<String> animals = new LinkedHashSet<>();
+        if (res.size() > 1 && res.get(1) instanceof Set<?> members) {
+            members.forEach(m -> animals.add(String.valueOf(m)));
+        }
+        if (tagScore.isEmpty() && animals.isEmpty()) return UserProfileVector.EMPTY;
+        return UserProfileVector.of(tagScore, animals);
     }
 
     /**
-     * 활성 유저 다건에 대해 프로필을 배치 갱신.
-     * - 실패한 유저는 개별 try-catch 로 스킵하여 나머지에 영향 주지 않음
+     * 지정 유저 다건에 대해 프로필을 배치 갱신.
+     * - 청크(recommendation.batch-chunk-size) 단위 벌크 재계산, 실패한 청크만 스킵
      * - @Async: 호출자는 즉시 반환(백그라운드 실행)
      */
     @Async
     public void refreshAllProfilesBatch(List<Long> userIds) {
         if (userIds == null || userIds.isEmpty()) return;
-        for (Long uid : userIds) {
+        final int chunkSize = Math.max(1, recommendationProps.getBatchChunkSize());
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
             try {
-                buildAndCacheUserProfile(uid);
+                rebuildChunk(chunk);
             } catch (Exception e) {
-                log.warn("[Profile] batch build failed uid={}", uid, e);
+                log.warn("[Profile] batch build failed chunk={}..{}", chunk.get(0), chunk.get(chunk.size() - 1), e);
+            }
+        }
+    }
+
+    /**
+     * 활성 유저 전체 프로필 재계산 (그룹 추천 배치 전에 실행).
+     * - 유저 id 키셋 페이지 스캔 → 청크마다 rebuildChunk
+     * - 다른 인스턴스와 중복 실행되지 않도록 Redis 락 사용
+     */
+    @Scheduled(cron = "0 30 2 * * *", zone = "Asia/Seoul")
+    @Async("recommendationExecutor")
+    public void refreshAllActiveProfiles() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (Boolean.FALSE.equals(locked)) {
+            log.warn("[Profile] 이미 실행 중이어서 스킵합니다.");
+            return;
+        }
+        final long startMs = System.currentTimeMillis();
+        final int chunkSize = Math.max(1, recommendationProps.getBatchChunkSize());
+        long users = 0L;
+        int failedChunks = 0;
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<Long> ids = userRepository.findActiveIdsAfter(lastId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) break;
+                try {
+                    users += rebuildChunk(ids);
+                } catch (Exception e) {
+                    failedChunks++;
+                    log.warn("[Profile] chunk failed after uid={}", lastId, e);
+                }
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < chunkSize) break;
             }
+        } finally {
+            log.info("[Profile] refreshed users={}, failedChunks={} in {} ms",
+                    users, failedChunks, System.currentTimeMillis() - startMs);
+            try { redisTemplate.delete(LOCK_KEY); } catch (Exception ignore) {}
         }
     }
 
@@ -189,12 +215,130 @@ public class CBFUserProfileService {
      * - 다음 조회 시 콜드 상태로 동작하며, 필요하면 build 를 재호출
      */
     public void invalidate(Long userId) {
-        redisTemplate.delete("prof:u:" + userId + ":tag");
-        redisTemplate.delete("prof:u:" + userId + ":animal");
+        redisTemplate.delete(List.of(tagKey(userId), animalKey(userId)));
+        evictLocal(List.of(userId));
     }
 
-    /** null-safe 리스트 변환 유틸 */
-    private static <T> List<T> safeList(List<T> in) {
-        return (in == null) ? Collections.emptyList() : in;
+    /** 이 인스턴스 L1 제거 + 다른 인스턴스에 무효화 발행 */
+    private void evictLocal(List<Long> userIds) {
+        local.invalidateAll(userIds);
+        try {
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL,
+                    userIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            // 발행 실패 시 다른 인스턴스는 L1 TTL 만료로 수렴
+            log.warn("[Profile] invalidate publish failed users={}", userIds.size(), e);
+        }
+    }
+
+    /**
+     * 유저 청크의 프로필을 한 번에 재계산하여 저장.
+     * 1) 내 글/좋아요/댓글 (userId, feedId) 그룹 쿼리 3회
+     * 2) 청크 전체 피드의 (feedId, tagId) 를 IN 조회 (FEED_IN_LIMIT 단위)
+     * 3) 보유 동물 (userId, animal) IN 조회 1회
+     * 4) tagId 키 선호 벡터 계산 → Redis 파이프라인 1회로 교체 저장
+     * @return 처리한 유저 수
+     */
+    int rebuildChunk(List<Long> userIds) {
+        if (userIds.isEmpty()) return 0;
+
+        // 1) 상호작용 피드 (한 피드가 여러 경로에 포함되면 모두 더함)
+        Map<Long, Set<Long>> mine  = groupByUser(feedRepository.findUserFeedPairsByUserIdIn(userIds));
+        Map<Long, Set<Long>> liked = groupByUser(likeRepository.findUserFeedPairsByUserIdIn(userIds));
+        Map<Long, Set<Long>> cmted = groupByUser(commentRepository.findUserFeedPairsByUserIdIn(userIds));
+
+        // 2) feedId -> tagIds
+        Set<Long> allFeedIds = new HashSet<>();
+        mine.values().forEach(allFeedIds::addAll);
+        liked.values().forEach(allFeedIds::addAll);
+        cmted.values().forEach(allFeedIds::addAll);
+        Map<Long, List<Long>> tagsByFeed = loadTagsByFeed(allFeedIds);
+
+        // 3) 보유 동물 세트 (상호작용 없어도 항상 최신값으로 유지)
+        Map<Long, Set<String>> animals = new HashMap<>();
+        for (PetRepository.UserAnimal ua : petRepository.findAnimalsByUserIdIn(userIds)) {
+            if (ua.getAnimal() == null) continue;
+            animals.computeIfAbsent(ua.getUserId(), k -> new LinkedHashSet<>()).add(ua.getAnimal().name());
+        }
+
+        // 4) 태그 선호 점수 누적 (tagId 키)
+        Map<Long, Map<Long, Double>> vectors = new HashMap<>(userIds.size());
+        for (Long uid : userIds) {
+            Map<Long, Double> v = new HashMap<>();
+            accumulate(v, mine.get(uid),  W_MINE, tagsByFeed);
+            accumulate(v, liked.get(uid), W_LIKE, tagsByFeed);
+            accumulate(v, cmted.get(uid), W_CMT,  tagsByFeed);
+            if (!v.isEmpty()) vectors.put(uid, v);
+        }
+
+        writeProfiles(userIds, vectors, animals);
+        evictLocal(userIds);
+        log.debug("[Profile] rebuilt chunk users={}, feeds={}", userIds.size(), allFeedIds.size());
+        return userIds.size();
+    }
+
+    private Map<Long, List<Long>> loadTagsByFeed(Set<Long> feedIds) {
+        Map<Long, List<Long>> out = new HashMap<>(feedIds.size());
+        if (feedIds.isEmpty()) return out;
+        List<Long> ids = new ArrayList<>(feedIds);
+        for (int from = 0; from < ids.size(); from += FEED_IN_LIMIT) {
+            List<Long> part = ids.subList(from, Math.min(from + FEED_IN_LIMIT, ids.size()));
+            for (FeedTagRepository.FeedTagPair p : feedTagRepository.findFeedTagPairsByFeedIdIn(part)) {
+                out.computeIfAbsent(p.getFeedId(), k -> new ArrayList<>(4)).add(p.getTagId());
+            }
+        }
+        return out;
+    }
+
+    private static void accumulate(Map<Long, Double> vector, Set<Long> feedIds, double weight,
+                                   Map<Long, List<Long>> tagsByFeed) {
+        if (feedIds == null) return;
+        for (Long fid : feedIds) {
+            for (Long tagId : tagsByFeed.getOrDefault(fid, List.of())) {
+                vector.merge(tagId, weight, Double::sum);
+            }
+        }
+    }
+
+    /**
+     * 청크 전체를 파이프라인 1회로 교체 저장 (유저마다 DEL → HMSET/SADD → EXPIRE).
+     * - 태그 벡터/동물이 비어 있으면 키를 지운 상태로 둠(신선도 보장)
+     */
+    private void writeProfiles(List<Long> userIds,
+                               Map<Long, Map<Long, Double>> vectors,
+                               Map<Long, Set<String>> animals) {
+        final long ttlSec = PROFILE_TTL.toSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redisTemplate.getStringSerializer();
+            for (Long uid : userIds) {
+                byte[] tagKey = ser.serialize(tagKey(uid));
+                byte[] animalKey = ser.serialize(animalKey(uid));
+                conn.del(tagKey, animalKey);
+
+                Map<Long, Double> v = vectors.get(uid);
+                if (v != null) {
+                    Map<byte[], byte[]> hash = new HashMap<>(v.size());
+                    v.forEach((tagId, score) ->
+                            hash.put(ser.serialize(String.valueOf(tagId)), ser.serialize(String.valueOf(score))));
+                    conn.hMSet(tagKey, hash);
+                    conn.expire(tagKey, ttlSec);
+                }
+
+                Set<String> a = animals.get(uid);
+                if (a != null && !a.isEmpty()) {
+                    conn.sAdd(animalKey, a.stream().map(ser::serialize).toArray(byte[][]::new));
+                    conn.expire(animalKey, ttlSec);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Map<Long, Set<Long>> groupByUser(List<FeedRepository.UserFeedPair> pairs) {
+        Map<Long, Set<Long>> out = new HashMap<>();
+        for (FeedRepository.UserFeedPair p : pairs) {
+            out.computeIfAbsent(p.getUserId(), k -> new HashSet<>()).add(p.getFeedId());
+        }
+        return out;
     }
 }
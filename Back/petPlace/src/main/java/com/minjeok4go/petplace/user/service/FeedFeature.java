@@ -0,0 +1,48 @@
+package com.minjeok4go.petplace.user.service;
+
+//(추천 재랭크용 피드 피처 - 점수 계산에 필요한 값만 압축 보관)
+import com.minjeok4go.petplace.common.constant.Animal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+
+/**
+ * @param writerAgeGroup   작성자 나이대(20, 30 ...), 알 수 없으면 -1
+ * @param writerRegionCode 작성자 지역 코드 ({@link RegionCodes}, 이름 단위), 알 수 없으면 -1
+ * @param writerAnimalMask 작성자 보유 동물 비트마스크 (1 << Animal.ordinal())
+ * @param createdAtMillis  작성 시각(epoch ms), 없으면 Long.MIN_VALUE
+ */
+public record FeedFeature(
+        long feedId,
+        long writerId,
+        int likes,
+        int commentCount,
+        long createdAtMillis,
+        int writerAgeGroup,
+        long writerRegionCode,
+        int writerAnimalMask,
+        long[] tagIds
+) {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public static int animalMask(Collection<Animal> animals) {
+        int mask = 0;
+        if (animals == null) return mask;
+        for (Animal a : animals) {
+            if (a != null) mask |= 1 << a.ordinal();
+        }
+        return mask;
+    }
+
+    public static long toEpochMilli(LocalDateTime t) {
+        return (t == null) ? Long.MIN_VALUE : t.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    /** 작성일(로컬 날짜)의 epoch day, 없으면 Integer.MIN_VALUE (FeedScoringKernel 인코딩용) */
+    public int createdEpochDay() {
+        if (createdAtMillis == Long.MIN_VALUE) return FeedScoringKernel.UNKNOWN_DAY;
+        return (int) Instant.ofEpochMilli(createdAtMillis).atZone(ZONE).toLocalDate().toEpochDay();
+    }
+}
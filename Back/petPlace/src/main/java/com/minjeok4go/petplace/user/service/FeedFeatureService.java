@@ -0,0 +1,250 @@
+package com.minjeok4go.petplace.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.minjeok4go.petplace.common.constant.Animal;
+import com.minjeok4go.petplace.feed.dto.FeedInteractionEvent;
+import com.minjeok4go.petplace.feed.entity.Feed;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
+import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
+import com.minjeok4go.petplace.pet.repository.PetRepository;
+import com.minjeok4go.petplace.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 추천 재랭크(getRecommendedFeeds) 경로에서 쓰는 피드 피처(FeedFeature) 캐시.
+ *
+ * - L1: 인스턴스 로컬 Caffeine (짧은 TTL → 다른 인스턴스의 쓰기도 곧 반영)
+ * - L2: Redis Hash("feed_feat:{feedId}") 파이프라인 HGETALL 1 RTT
+ * - miss: DB 벌크 로드(피드/댓글수/작성자/작성자 동물/태그) 후 L1/L2 채움
+ * - 쓰기 반영: 좋아요 이벤트는 HINCRBY, 댓글은 CommentCountService 가 comment_count 갱신 후 evict, 피드 수정/삭제는 evict
+ *
+ * soft delete 된 피드는 피처가 없으므로 "피처 없음 = 죽은 글"로 취급합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedFeatureService {
+
+    private static final String KEY_PREFIX = "feed_feat:";
+    private static final Duration REDIS_TTL = Duration.ofHours(24);
+
+    // Redis Hash 필드명
+    private static final String F_WRITER  = "uid";
+    private static final String F_LIKES   = "likes";
+    private static final String F_CMT     = "cmt";
+    private static final String F_CREATED = "created";
+    private static final String F_AGE     = "wAge";
+    private static final String F_REGION  = "wRegionCode"; // 지역 코드(RegionCodes), 예전 "wRegion"(regionId) 해시는 decode 실패 → DB 재적재
+    private static final String F_ANIMALS = "wAnimals";
+    private static final String F_TAGS    = "tags";
+
+    /** 해시가 있을 때만 HINCRBY (부분 해시 생성 방지) */
+    private static final RedisScript<Long> HINCR_IF_EXISTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            end
+            return -1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final FeedRepository feedRepository;
+    private final UserRepository userRepository;
+    private final PetRepository petRepository;
+    private final FeedTagRepository feedTagRepository;
+    private final RegionCodes regionCodes;
+
+    private final Cache<Long, FeedFeature> local = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .build();
+
+    /**
+     * 후보 피드들의 피처를 일괄 조회 (L1 → L2 → DB).
+     * - 반환 맵에 없는 id 는 삭제되었거나 존재하지 않는 피드
+     */
+    public Map<Long, FeedFeature> getFeatures(Collection<Long> feedIds) {
+        if (feedIds == null || feedIds.isEmpty()) return Map.of();
+
+        Map<Long, FeedFeature> out = new HashMap<>(local.getAllPresent(feedIds));
+        List<Long> l1Miss = feedIds.stream().distinct().filter(id -> !out.containsKey(id)).toList();
+        if (l1Miss.isEmpty()) return out;
+
+        // L2: 파이프라인 HGETALL (빈 맵 = 없음)
+        List<Object> rows = redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            for (Long id : l1Miss) {
+                conn.hGetAll(ser.serialize(KEY_PREFIX + id));
+            }
+            return null;
+        });
+
+        List<Long> l2Miss = new ArrayList<>();
+        for (int i = 0; i < l1Miss.size(); i++) {
+            Long id = l1Miss.get(i);
+            Object row = (i < rows.size()) ? rows.get(i) : null;
+            FeedFeature f = (row instanceof Map<?, ?> m && !m.isEmpty()) ? decode(id, m) : null;
+            if (f == null) {
+                l2Miss.add(id);
+            } else {
+                out.put(id, f);
+                local.put(id, f);
+            }
+        }
+        if (l2Miss.isEmpty()) return out;
+
+        // DB: miss 분만 벌크 로드 → L2/L1 채우기
+        Map<Long, FeedFeature> loaded = loadFromDb(l2Miss);
+        if (!loaded.isEmpty()) {
+            store(loaded.values());
+            local.putAll(loaded);
+            out.putAll(loaded);
+        }
+        return out;
+    }
+
+    /** 피드 수정/삭제 시 호출 (태그/지역 등 변경 반영) */
+    public void evict(Long feedId) {
+        local.invalidate(feedId);
+        redis.delete(KEY_PREFIX + feedId);
+    }
+
+    /**
+     * 좋아요 증감을 피처 카운터에 반영 (커밋 이후).
+     * 댓글은 feeds.comment_count 증감이 비동기라 여기서 HINCRBY 하면 DB 재적재와 엇갈림 → CommentCountService 가 UPDATE 후 evict
+     */
+    @Async("recommendationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(FeedInteractionEvent event) {
+        if (event.getKind() != FeedInteractionEvent.Kind.LIKE
+                || event.getFeedId() == null || event.getDelta() == 0) return;
+        try {
+            redis.execute(HINCR_IF_EXISTS, List.of(KEY_PREFIX + event.getFeedId()),
+                    F_LIKES, String.valueOf(event.getDelta()));
+        } catch (Exception e) {
+            // 실패 시 L2 를 지워 다음 조회에서 DB 값으로 재적재
+            log.warn("[FeedFeature] delta failed feed={}", event.getFeedId(), e);
+            redis.delete(KEY_PREFIX + event.getFeedId());
+        } finally {
+            local.invalidate(event.getFeedId());
+        }
+    }
+
+    /** miss 분 DB 벌크 로드 (쿼리 4회 고정: 피드(댓글수 포함)/작성자/작성자 동물/태그) */
+    private Map<Long, FeedFeature> loadFromDb(List<Long> feedIds) {
+        List<Feed> feeds = feedRepository.findAllActiveByIdIn(feedIds);
+        if (feeds.isEmpty()) return Map.of();
+        List<Long> liveIds = feeds.stream().map(Feed::getId).toList();
+
+        Set<Long> writerIds = feeds.stream()
+                .map(Feed::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, UserRepository.UserGroupRow> writers = writerIds.isEmpty() ? Map.of()
+                : userRepository.findGroupRowsByIdIn(writerIds).stream()
+                        .collect(Collectors.toMap(UserRepository.UserGroupRow::getId, r -> r));
+
+        Map<Long, Set<Animal>> writerAnimals = new HashMap<>();
+        if (!writerIds.isEmpty()) {
+            for (PetRepository.UserAnimal ua : petRepository.findAnimalsByUserIdIn(writerIds)) {
+                writerAnimals.computeIfAbsent(ua.getUserId(), k -> EnumSet.noneOf(Animal.class)).add(ua.getAnimal());
+            }
+        }
+
+        Map<Long, List<Long>> tagsByFeed = new HashMap<>();
+        for (FeedTagRepository.FeedTagPair p : feedTagRepository.findFeedTagPairsByFeedIdIn(liveIds)) {
+            tagsByFeed.computeIfAbsent(p.getFeedId(), k -> new ArrayList<>()).add(p.getTagId());
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<Long, FeedFeature> out = new HashMap<>(feeds.size());
+        for (Feed f : feeds) {
+            UserRepository.UserGroupRow w = (f.getUserId() == null) ? null : writers.get(f.getUserId());
+            int ageGroup = -1;
+            long regionCode = FeedScoringKernel.UNKNOWN_REGION;
+            if (w != null) {
+                if (w.getBirthday() != null) {
+                    ageGroup = (Period.between(w.getBirthday(), today).getYears() / 10) * 10;
+                }
+                regionCode = regionCodes.codeOf(w.getRegionId());
+            }
+            long[] tagIds = tagsByFeed.getOrDefault(f.getId(), List.of()).stream()
+                    .mapToLong(Long::longValue).toArray();
+
+            out.put(f.getId(), new FeedFeature(
+                    f.getId(),
+                    (f.getUserId() == null) ? -1L : f.getUserId(),
+                    (f.getLikes() == null) ? 0 : f.getLikes(),
+                    (f.getCommentCount() == null) ? 0 : f.getCommentCount(),
+                    FeedFeature.toEpochMilli(f.getCreatedAt()),
+                    ageGroup,
+                    regionCode,
+                    FeedFeature.animalMask(writerAnimals.get(f.getUserId())),
+                    tagIds
+            ));
+        }
+        return out;
+    }
+
+    /** L2 저장 (파이프라인 HSET + EXPIRE) */
+    private void store(Collection<FeedFeature> features) {
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            long ttlSec = REDIS_TTL.toSeconds();
+            for (FeedFeature f : features) {
+                byte[] key = ser.serialize(KEY_PREFIX + f.feedId());
+                Map<byte[], byte[]> hash = new HashMap<>(8);
+                hash.put(ser.serialize(F_WRITER),  ser.serialize(String.valueOf(f.writerId())));
+                hash.put(ser.serialize(F_LIKES),   ser.serialize(String.valueOf(f.likes())));
+                hash.put(ser.serialize(F_CMT),     ser.serialize(String.valueOf(f.commentCount())));
+                hash.put(ser.serialize(F_CREATED), ser.serialize(String.valueOf(f.createdAtMillis())));
+                hash.put(ser.serialize(F_AGE),     ser.serialize(String.valueOf(f.writerAgeGroup())));
+                hash.put(ser.serialize(F_REGION),  ser.serialize(String.valueOf(f.writerRegionCode())));
+                hash.put(ser.serialize(F_ANIMALS), ser.serialize(String.valueOf(f.writerAnimalMask())));
+                hash.put(ser.serialize(F_TAGS),    ser.serialize(Arrays.stream(f.tagIds())
+                        .mapToObj(String::valueOf).collect(Collectors.joining(","))));
+                conn.hMSet(key, hash);
+                conn.expire(key, ttlSec);
+            }
+            return null;
+        });
+    }
+
+    /** Redis Hash → FeedFeature (필드 누락/파싱 실패 시 null → DB 재적재) */
+    private FeedFeature decode(Long feedId, Map<?, ?> m) {
+        try {
+            String tags = String.valueOf(m.get(F_TAGS));
+            long[] tagIds = (tags == null || tags.isBlank() || "null".equals(tags)) ? new long[0]
+                    : Arrays.stream(tags.split(",")).mapToLong(Long::parseLong).toArray();
+            return new FeedFeature(
+                    feedId,
+                    Long.parseLong(String.valueOf(m.get(F_WRITER))),
+                    Integer.parseInt(String.valueOf(m.get(F_LIKES))),
+                    Integer.parseInt(String.valueOf(m.get(F_CMT))),
+                    Long.parseLong(String.valueOf(m.get(F_CREATED))),
+                    Integer.parseInt(String.valueOf(m.get(F_AGE))),
+                    Long.parseLong(String.valueOf(m.get(F_REGION))),
+                    Integer.parseInt(String.valueOf(m.get(F_ANIMALS))),
+                    tagIds
+            );
+        } catch (RuntimeException e) {
+            log.debug("[FeedFeature] decode failed feed={}", feedId, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.minjeok4go.petplace.user.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.minjeok4go.petplace.user.service.CBFRecommendationService.*;
+
+/**
+ * 추천 점수 계산 전용 프리미티브 커널 (배치 그룹 점수 / 조회 시 재랭크 공용).
+ *
+ * - 후보 피드를 병렬 프리미티브 배열(Encoded)로 한 번만 인코딩 → 그룹/유저마다 재사용
+ * - 점수는 호출자가 넘긴 double[] 에 기록 (박싱 Map, Period 계산, Set/String 비교 없음)
+ * - 상위 K 선택은 int 인덱스 최소 힙 (동점이면 앞선 후보 우선)
+ *
+ * 가중치/규칙은 CBFRecommendationService 와 동일:
+ *   좋아요·댓글 수, 작성자와 같은 동물(비트마스크 AND), 같은 나이대, 같은 지역 코드, 최근 2일 내 작성
+ */
+public final class FeedScoringKernel {
+
+    /** 나이대/지역 코드/작성일을 알 수 없을 때 */
+    public static final int UNKNOWN_AGE = -1;
+    public static final long UNKNOWN_REGION = -1L;
+    public static final int UNKNOWN_DAY = Integer.MIN_VALUE;
+
+    private FeedScoringKernel() {
+    }
+
+    /** 후보 피드 병렬 배열. 인코딩이 끝나면 읽기 전용으로 여러 스레드에서 공유해도 안전 */
+    public static final class Encoded {
+        private final long[] ids;
+        private final int[] likes;
+        private final int[] comments;
+        private final byte[] ageGroup;
+        private final long[] regionCode;
+        private final int[] animalMask;
+        private final int[] createdEpochDay;
+        private int size;
+
+        public Encoded(int capacity) {
+            this.ids = new long[capacity];
+            this.likes = new int[capacity];
+            this.comments = new int[capacity];
+            this.ageGroup = new byte[capacity];
+            this.regionCode = new long[capacity];
+            this.animalMask = new int[capacity];
+            this.createdEpochDay = new int[capacity];
+        }
+
+        public void add(long id, int likes, int comments, int ageGroup,
+                        long regionCode, int animalMask, int createdEpochDay) {
+            int i = size++;
+            this.ids[i] = id;
+            this.likes[i] = likes;
+            this.comments[i] = comments;
+            this.ageGroup[i] = (byte) ((ageGroup < 0 || ageGroup > Byte.MAX_VALUE) ? UNKNOWN_AGE : ageGroup);
+            this.regionCode[i] = regionCode;
+            this.animalMask[i] = animalMask;
+            this.createdEpochDay[i] = createdEpochDay;
+        }
+
+        public int size() { return size; }
+
+        public long id(int i) { return ids[i]; }
+
+        /** I/O 단계(역인덱스 등)에서만 사용하는 박싱 id 목록 */
+        public List<Long> idList() {
+            return Arrays.stream(ids, 0, size).boxed().toList();
+        }
+
+        /** 조회 시 재랭크용: 피처 캐시 → 병렬 배열 (지역 코드는 배치와 같은 RegionCodes 기준) */
+        public static Encoded of(List<Long> feedIds, Map<Long, FeedFeature> features) {
+            Encoded e = new Encoded(feedIds.size());
+            for (Long id : feedIds) {
+                FeedFeature f = features.get(id);
+                if (f == null) continue;
+                e.add(f.feedId(), f.likes(), f.commentCount(), f.writerAgeGroup(),
+                        f.writerRegionCode(), f.writerAnimalMask(), f.createdEpochDay());
+            }
+            return e;
+        }
+    }
+
+    /**
+     * feeds 전체의 점수를 out[0..size) 에 기록.
+     * @param newSinceEpochDay 이 날짜(epoch day) 이후 작성된 글은 신규 가산
+     */
+    public static void score(Encoded feeds, int myAnimalMask, int userAgeGroup, long userRegionCode,
+                             int newSinceEpochDay, double[] out) {
+        final int n = feeds.size;
+        final int[] likes = feeds.likes;
+        final int[] comments = feeds.comments;
+        final int[] animalMask = feeds.animalMask;
+        final byte[] ageGroup = feeds.ageGroup;
+        final long[] regionCode = feeds.regionCode;
+        final int[] created = feeds.createdEpochDay;
+
+        for (int i = 0; i < n; i++) {
+            double s = likes[i] * WEIGHT_LIKE + comments[i] * WEIGHT_COMMENT;
+            if ((myAnimalMask & animalMask[i]) != 0) s += WEIGHT_SAME_ANIMAL_WRITER;
+            if (ageGroup[i] != UNKNOWN_AGE && ageGroup[i] == userAgeGroup) s += WEIGHT_SAME_AGE;
+            if (regionCode[i] != UNKNOWN_REGION && regionCode[i] == userRegionCode) s += WEIGHT_SAME_REGION;
+            if (created[i] >= newSinceEpochDay) s += WEIGHT_NEW_FEED;
+            out[i] = s;
+        }
+    }
+
+    /**
+     * scores[0..n) 중 상위 k 개의 인덱스를 점수 내림차순으로 outIdx 에 기록.
+     * - outIdx 는 최소 k 칸, 힙 저장소로 그대로 사용(추가 할당 없음)
+     * @return 기록한 개수 (min(k, n))
+     */
+    public static int topK(double[] scores, int n, int k, int[] outIdx) {
+        k = Math.min(k, n);
+        if (k <= 0) return 0;
+
+        int heapSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (heapSize < k) {
+                outIdx[heapSize] = i;
+                siftUp(outIdx, heapSize++, scores);
+            } else if (worse(outIdx[0], i, scores)) {
+                outIdx[0] = i;
+                siftDown(outIdx, 0, heapSize, scores);
+            }
+        }
+        // 최소 힙을 뒤에서부터 꺼내 채우면 내림차순 정렬
+        for (int end = heapSize - 1; end > 0; end--) {
+            int tmp = outIdx[0];
+            outIdx[0] = outIdx[end];
+            outIdx[end] = tmp;
+            siftDown(outIdx, 0, end, scores);
+        }
+        return heapSize;
+    }
+
+    /** a 가 b 보다 순위가 낮은가 (점수 낮음, 동점이면 뒤쪽 인덱스가 낮은 순위) */
+    private static boolean worse(int a, int b, double[] scores) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int i, double[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(heap[i], heap[parent], scores)) break;
+            int tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int i, int size, double[] scores) {
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= size) return;
+            int r = l + 1;
+            int worst = (r < size && worse(heap[r], heap[l], scores)) ? r : l;
+            if (!worse(heap[worst], heap[i], scores)) return;
+            int tmp = heap[i];
+            heap[i] = heap[worst];
+            heap[worst] = tmp;
+            i = worst;
+        }
+    }
+}
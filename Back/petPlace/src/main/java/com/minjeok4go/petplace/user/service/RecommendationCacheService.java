@@ -1,10 +1,18 @@
 package com.minjeok4go.petplace.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -14,12 +22,133 @@ public class RecommendationCacheService {
 
     private static final String GROUP_KEY_PREFIX = "group:";          // ZSET: group:<groupKey>
     private static final String FEED_GROUPS_KEY_PREFIX = "feed_groups:"; // SET: feed_groups:<feedId> -> groupKey 모음
+    private static final String REGION_GROUPS_KEY_PREFIX = "region_groups:"; // SET: region_groups:<regionName> -> groupKey 모음
+    private static final String SNAPSHOT_KEY_PREFIX = "rec_snap:";          // LIST: rec_snap:<userId>:<snapId> -> "feedId:score" (커서 페이지용)
+
+    /**
+     * 소속 그룹 ZSET 에 이미 있는 멤버만 ZINCRBY (원자적, 1 RTT)
+     * - 만료된 그룹 키를 새로 만들거나, lazy-clean 으로 빠진 글을 되살리지 않도록 ZSCORE 로 확인
+     * KEYS: group 키들 / ARGV[1]=feedId, ARGV[2]=delta
+     */
+    private static final RedisScript<Long> INCR_IF_MEMBER = new DefaultRedisScript<>("""
+            local n = 0
+            for _, key in ipairs(KEYS) do
+              if redis.call('ZSCORE', key, ARGV[1]) then
+                redis.call('ZINCRBY', key, ARGV[2], ARGV[1])
+                n = n + 1
+              end
+            end
+            return n
+            """, Long.class);
+
+    /**
+     * 살아있는 그룹 ZSET 에만 새 글을 ZADD NX 로 편입하고 역인덱스도 함께 기록 (원자적, 1 RTT)
+     * KEYS[1]=feed_groups:<feedId>, KEYS[2..]=group 키들 / ARGV[1]=feedId, ARGV[2]=score, ARGV[3]=group 키 접두사
+     */
+    private static final RedisScript<Long> ADMIT_IF_EXISTS = new DefaultRedisScript<>("""
+            local n = 0
+            for i = 2, #KEYS do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('ZADD', KEYS[i], 'NX', ARGV[2], ARGV[1])
+                redis.call('SADD', KEYS[1], string.sub(KEYS[i], #ARGV[3] + 1))
+                n = n + 1
+              end
+            end
+            return n
+            """, Long.class);
 
     /** 배치에서 ZADD할 때 함께 호출해서, feed가 어떤 그룹에 들어갔는지 인덱싱 */
     public void rememberMembership(Long feedId, String groupKey) {
         redis.opsForSet().add(FEED_GROUPS_KEY_PREFIX + feedId, groupKey);
     }
 
+    /** 그룹 하나에 들어간 feed들을 한 번의 파이프라인으로 인덱싱 (배치 I/O 왕복 최소화) */
+    public void rememberMemberships(Collection<Long> feedIds, String groupKey) {
+        if (feedIds == null || feedIds.isEmpty()) return;
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            byte[] member = ser.serialize(groupKey);
+            for (Long fid : feedIds) {
+                conn.sAdd(ser.serialize(FEED_GROUPS_KEY_PREFIX + fid), member);
+            }
+            return null;
+        });
+    }
+
+    /** 그룹에서 빠진 feed들의 역인덱스 정리 (다음 evict 때 불필요한 ZREM 방지) */
+    public void forgetMemberships(Collection<String> feedIds, String groupKey) {
+        if (feedIds == null || feedIds.isEmpty()) return;
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            byte[] member = ser.serialize(groupKey);
+            for (String fid : feedIds) {
+                conn.sRem(ser.serialize(FEED_GROUPS_KEY_PREFIX + fid), member);
+            }
+            return null;
+        });
+    }
+
+    /** 배치 빌드용 버전 키: group:<groupKey>:v<batchId> (RENAME 전까지 리더에게 보이지 않음) */
+    public String buildKey(String groupKey, long batchId) {
+        return GROUP_KEY_PREFIX + groupKey + ":v" + batchId;
+    }
+
+    /**
+     * 다 쓴 버전 키를 라이브 키(group:<groupKey>)로 원자적 교체.
+     * - RENAME 은 이전 세대를 덮어쓰므로, 리더는 "이전 세대 전체" 또는 "새 세대 전체"만 보게 됨
+     * - TTL 은 빌드 키에 걸어둔 값이 그대로 이어짐
+     * - 역인덱스: 새 멤버는 교체 전에 등록, 이전 세대에만 있던 멤버는 교체 후 제거
+     */
+    public void publishGeneration(String groupKey, String buildKey, Collection<Long> feedIds) {
+        String liveKey = GROUP_KEY_PREFIX + groupKey;
+        Set<String> previous = redis.opsForZSet().range(liveKey, 0, -1);
+
+        rememberMemberships(feedIds, groupKey);
+        redis.rename(buildKey, liveKey);
+
+        if (previous != null && !previous.isEmpty()) {
+            Set<String> current = feedIds.stream().map(String::valueOf).collect(Collectors.toSet());
+            List<String> dropped = previous.stream().filter(m -> !current.contains(m)).toList();
+            forgetMemberships(dropped, groupKey);
+        }
+    }
+
+    /** 배치가 그룹을 공개할 때 지역 → 그룹 레지스트리에 등록 (새 글 편입 대상 조회용) */
+    public void registerGroupRegion(String groupKey, String regionName, Duration ttl) {
+        String key = REGION_GROUPS_KEY_PREFIX + regionName;
+        redis.opsForSet().add(key, groupKey);
+        redis.expire(key, ttl);
+    }
+
+    /**
+     * 좋아요/댓글 증감을 feed 가 속한 모든 그룹 ZSET 에 반영.
+     * @return 실제로 점수가 바뀐 그룹 수
+     */
+    public long incrementScore(Long feedId, double delta) {
+        Set<String> groups = redis.opsForSet().members(FEED_GROUPS_KEY_PREFIX + feedId);
+        if (groups == null || groups.isEmpty()) return 0L;
+
+        List<String> keys = groups.stream().map(g -> GROUP_KEY_PREFIX + g).toList();
+        Long n = redis.execute(INCR_IF_MEMBER, keys, String.valueOf(feedId), String.valueOf(delta));
+        return n == null ? 0L : n;
+    }
+
+    /**
+     * 새 글을 해당 지역 그룹들의 후보로 편입 (이미 있으면 점수 유지).
+     * @return 편입된 그룹 수
+     */
+    public long admitNewFeed(Long feedId, String regionName, double score) {
+        Set<String> groups = redis.opsForSet().members(REGION_GROUPS_KEY_PREFIX + regionName);
+        if (groups == null || groups.isEmpty()) return 0L;
+
+        List<String> keys = new ArrayList<>(groups.size() + 1);
+        keys.add(FEED_GROUPS_KEY_PREFIX + feedId);
+        for (String g : groups) keys.add(GROUP_KEY_PREFIX + g);
+
+        Long n = redis.execute(ADMIT_IF_EXISTS, keys, String.valueOf(feedId), String.valueOf(score), GROUP_KEY_PREFIX);
+        return n == null ? 0L : n;
+    }
+
     /** 특정 feed가 수정/삭제되면 모든 소속 그룹 캐시에서 제거 */
     public void evictByFeedId(Long feedId) {
         String idxKey = FEED_GROUPS_KEY_PREFIX + feedId;
@@ -31,4 +160,43 @@ public class RecommendationCacheService {
         }
         redis.delete(idxKey);
     }
+
+    /** 커서 페이지네이션: 재랭크된 윈도우를 유저별 단기 리스트로 저장 (RPUSH + EXPIRE, 1 RTT) */
+    public void saveSnapshot(Long userId, String snapId, List<String> entries, Duration ttl) {
+        if (entries == null || entries.isEmpty()) return;
+        String key = SNAPSHOT_KEY_PREFIX + userId + ":" + snapId;
+        redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            byte[] k = ser.serialize(key);
+            conn.rPush(k, entries.stream().map(ser::serialize).toArray(byte[][]::new));
+            conn.expire(k, ttl.toSeconds());
+            return null;
+        });
+    }
+
+    /**
+     * 스냅샷의 [offset, offset + count) 구간 조회 + TTL 연장 (LRANGE + LLEN + EXPIRE, 1 RTT)
+     * - 만료/없는 스냅샷이면 length = 0
+     */
+    public SnapshotPage readSnapshot(Long userId, String snapId, long offset, int count, Duration ttl) {
+        String key = SNAPSHOT_KEY_PREFIX + userId + ":" + snapId;
+        List<Object> res = redis.executePipelined((RedisCallback<Object>) conn -> {
+            var ser = redis.getStringSerializer();
+            byte[] k = ser.serialize(key);
+            conn.lRange(k, offset, offset + count - 1);
+            conn.lLen(k);
+            conn.expire(k, ttl.toSeconds());
+            return null;
+        });
+        List<String> entries = new ArrayList<>();
+        if (!res.isEmpty() && res.get(0) instanceof List<?> l) {
+            l.forEach(e -> entries.add(String.valueOf(e)));
+        }
+        long length = (res.size() > 1 && res.get(1) instanceof Long n) ? n : 0L;
+        return new SnapshotPage(entries, length);
+    }
+
+    /** 스냅샷 구간 조회 결과 (entries: "feedId:score") */
+    public record SnapshotPage(List<String> entries, long length) {
+    }
 }
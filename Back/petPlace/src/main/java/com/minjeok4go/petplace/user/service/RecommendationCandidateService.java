@@ -0,0 +1,135 @@
+package com.minjeok4go.petplace.user.service;
+
+import com.minjeok4go.petplace.config.RecommendationProps;
+import com.minjeok4go.petplace.feed.repository.FeedRepository;
+import com.minjeok4go.petplace.feed.repository.FeedTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 추천 후보 생성 단계 (배치 / 조회 시 캐시 miss 안전망 공용).
+ *
+ * 여러 소스를 섞어 후보 풀을 구성합니다. 각 소스는 인덱스를 타는 조회 또는 Redis ZSET 이라
+ * feeds 테이블 크기와 무관하게 저렴합니다.
+ * - 전체 인기: deleted_at IS NULL + likes 내림차순 (idx_feeds_deleted_likes)
+ * - 최신: id 내림차순 (PK, IDENTITY 라 작성 순서와 동일) / 지역 최신은 region_id FK 인덱스
+ * - 급상승: 좋아요 증감을 시간 버킷 ZSET(trend:likes:{epochHour})에 누적 → 최근 N 시간 합산
+ * - 선호 태그: 개인 CBF 프로필 상위 태그의 최신 글 (조회 경로 전용)
+ *
+ * 풀 크기는 recommendation.candidate-* 설정으로 조정합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationCandidateService {
+
+    private static final String TREND_KEY_PREFIX = "trend:likes:";    // ZSET: trend:likes:<epochHour> -> feedId 별 좋아요 증감
+    private static final String TREND_AGG_KEY = "trend:likes:agg";    // ZSET: 최근 N 시간 합산 (짧은 TTL 캐시)
+    private static final Duration TREND_AGG_TTL = Duration.ofSeconds(60);
+
+    private final FeedRepository feedRepository;
+    private final FeedTagRepository feedTagRepository;
+    private final StringRedisTemplate redis;
+    private final RecommendationProps recommendationProps;
+
+    /** 배치(그룹 공통) 후보: 전체 인기 ∪ 급상승 ∪ 최신 */
+    public List<Long> batchCandidates() {
+        return merge(List.of(
+                globalTop(recommendationProps.getCandidateTopSize()),
+                trending(recommendationProps.getCandidateTrendingSize()),
+                recent(recommendationProps.getCandidateRecentSize())
+        ));
+    }
+
+    /** 조회 시 그룹 캐시가 비었을 때: 내 지역 최신 ∪ 선호 태그 ∪ 급상승 ∪ 전체 인기 */
+    public List<Long> userCandidates(Long regionId, UserProfileVector profile) {
+        List<List<Long>> sources = new ArrayList<>(4);
+        if (regionId != null) {
+            sources.add(recentInRegion(regionId, recommendationProps.getCandidateRecentSize()));
+        }
+        sources.add(tagMatched(profile, recommendationProps.getCandidateTagSize()));
+        sources.add(trending(recommendationProps.getCandidateTrendingSize()));
+        sources.add(globalTop(recommendationProps.getCandidateTopSize()));
+        return merge(sources);
+    }
+
+    /** 좋아요 증감을 현재 시간 버킷에 누적 (버킷은 집계 창 + 1시간 뒤 만료) */
+    public void recordLike(Long feedId, int delta) {
+        String key = TREND_KEY_PREFIX + currentHour();
+        redis.opsForZSet().incrementScore(key, String.valueOf(feedId), delta);
+        redis.expire(key, Duration.ofHours(recommendationProps.getCandidateTrendingHours() + 1L));
+    }
+
+    List<Long> globalTop(int size) {
+        if (size <= 0) return List.of();
+        return feedRepository.findTopActiveIds(PageRequest.of(0, size));
+    }
+
+    List<Long> recent(int size) {
+        if (size <= 0) return List.of();
+        return feedRepository.findRecentActiveIds(PageRequest.of(0, size));
+    }
+
+    List<Long> recentInRegion(Long regionId, int size) {
+        if (size <= 0) return List.of();
+        return feedRepository.findRecentActiveIdsByRegionId(regionId, PageRequest.of(0, size));
+    }
+
+    /** 프로필 상위 태그(가중치 순)에 달린 최신 글 */
+    List<Long> tagMatched(UserProfileVector profile, int size) {
+        if (size <= 0 || profile == null || profile.tagIds().length == 0) return List.of();
+        int topN = Math.min(recommendationProps.getCandidateTagCount(), profile.tagIds().length);
+        Integer[] idx = new Integer[profile.tagIds().length];
+        for (int i = 0; i < idx.length; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> Double.compare(profile.weights()[b], profile.weights()[a]));
+        List<Long> tagIds = new ArrayList<>(topN);
+        for (int i = 0; i < topN; i++) tagIds.add(profile.tagIds()[idx[i]]);
+        return feedTagRepository.findRecentActiveFeedIdsByTagIdIn(tagIds, PageRequest.of(0, size));
+    }
+
+    /** 최근 N 시간 버킷 합산(ZUNIONSTORE) 상위, 합산 결과는 짧게 캐시 */
+    List<Long> trending(int size) {
+        if (size <= 0) return List.of();
+        try {
+            if (!Boolean.TRUE.equals(redis.hasKey(TREND_AGG_KEY))) {
+                long now = currentHour();
+                List<String> others = new ArrayList<>();
+                for (int h = 1; h < recommendationProps.getCandidateTrendingHours(); h++) {
+                    others.add(TREND_KEY_PREFIX + (now - h));
+                }
+                redis.opsForZSet().unionAndStore(TREND_KEY_PREFIX + now, others, TREND_AGG_KEY);
+                redis.expire(TREND_AGG_KEY, TREND_AGG_TTL);
+            }
+            Set<String> members = redis.opsForZSet()
+                    .reverseRangeByScore(TREND_AGG_KEY, 1, Double.POSITIVE_INFINITY, 0, size);
+            if (members == null) return List.of();
+            return members.stream().map(Long::valueOf).toList();
+        } catch (Exception e) {
+            // 급상승은 보조 소스 → 실패해도 나머지 후보로 진행
+            log.warn("[Candidate] trending lookup failed", e);
+            return List.of();
+        }
+    }
+
+    /** 소스별 목록을 라운드로빈으로 섞어 중복 제거 (앞 소스 우선, 한 소스가 풀을 독점하지 않도록) */
+    static List<Long> merge(List<List<Long>> sources) {
+        LinkedHashSet<Long> out = new LinkedHashSet<>();
+        int maxLen = sources.stream().mapToInt(List::size).max().orElse(0);
+        for (int i = 0; i < maxLen; i++) {
+            for (List<Long> s : sources) {
+                if (i < s.size() && s.get(i) != null) out.add(s.get(i));
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / Duration.ofHours(1).toMillis();
+    }
+}
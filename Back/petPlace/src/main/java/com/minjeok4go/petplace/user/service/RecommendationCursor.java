@@ -0,0 +1,52 @@
+package com.minjeok4go.petplace.user.service;
+
+//(추천 커서 페이지네이션 - 클라이언트에는 Base64URL 불투명 문자열로만 노출)
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * @param snapId     재랭크 윈도우 스냅샷 id, 스냅샷을 다 소비했으면 null
+ * @param offset     스냅샷 안에서 다음 페이지 시작 위치
+ * @param tailScore  그룹 ZSET 이어 읽기 기준 점수 (스냅샷 밖 구간), 이어 읽을 ZSET 이 없으면 NaN
+ * @param tailMember 같은 점수일 때의 tiebreak 기준 feedId (ZREVRANGE 순서 = 멤버 문자열 내림차순)
+ */
+record RecommendationCursor(String snapId, long offset, double tailScore, String tailMember) {
+
+    private static final String VERSION = "v1";
+    private static final String NONE = "-";
+
+    boolean hasSnapshot() {
+        return snapId != null;
+    }
+
+    boolean hasTail() {
+        return !Double.isNaN(tailScore) && tailMember != null;
+    }
+
+    String encode() {
+        String raw = String.join("|", VERSION,
+                snapId == null ? NONE : snapId,
+                String.valueOf(offset),
+                hasTail() ? String.valueOf(tailScore) : NONE,
+                hasTail() ? tailMember : NONE);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** null/빈 문자열이면 첫 페이지(null 반환), 형식이 잘못되면 IllegalArgumentException */
+    static RecommendationCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] p = raw.split("\\|", -1);
+            if (p.length != 5 || !VERSION.equals(p[0])) throw new IllegalArgumentException();
+            String snapId = NONE.equals(p[1]) ? null : p[1];
+            long offset = Long.parseLong(p[2]);
+            double tailScore = NONE.equals(p[3]) ? Double.NaN : Double.parseDouble(p[3]);
+            String tailMember = NONE.equals(p[4]) ? null : p[4];
+            if (offset < 0) throw new IllegalArgumentException();
+            return new RecommendationCursor(snapId, offset, tailScore, tailMember);
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.minjeok4go.petplace.user.service;
+
+import com.minjeok4go.petplace.feed.dto.FeedCreatedEvent;
+import com.minjeok4go.petplace.feed.dto.FeedInteractionEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 배치 사이(하루 1회)에도 그룹 추천 ZSET 이 신선하도록, 좋아요/댓글/새 글 이벤트를
+ * 커밋 이후 비동기로 받아 Redis 점수에 증분 반영하는 컨슈머.
+ *
+ * - 좋아요/댓글: feed_groups:{feedId} 역인덱스로 소속 그룹을 찾아 ZINCRBY (가중치는 배치와 동일)
+ * - 새 글: 작성자 지역의 그룹들에 "신규 글" 기본 점수로 편입(ZADD NX)
+ * - 좋아요 증감은 급상승 후보 집계(trend:likes:{epochHour})에도 누적
+ * - 실패는 경고 로그만 남김(다음 배치에서 어차피 전체 재계산됨)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationScoreUpdater {
+
+    private final RecommendationCacheService recommendationCacheService;
+    private final UserGroupService userGroupService;
+    private final RecommendationCandidateService recommendationCandidateService;
+
+    @Async("recommendationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(FeedInteractionEvent event) {
+        if (event.getFeedId() == null || event.getDelta() == 0) return;
+
+        double weight = switch (event.getKind()) {
+            case LIKE -> CBFRecommendationService.WEIGHT_LIKE;
+            case COMMENT -> CBFRecommendationService.WEIGHT_COMMENT;
+        };
+
+        try {
+            if (event.getKind() == FeedInteractionEvent.Kind.LIKE) {
+                // 급상승 후보 소스(시간 버킷 ZSET)
+                recommendationCandidateService.recordLike(event.getFeedId(), event.getDelta());
+            }
+            long touched = recommendationCacheService.incrementScore(event.getFeedId(), weight * event.getDelta());
+            log.debug("[Rec Delta] feed={}, kind={}, delta={}, groups={}",
+                    event.getFeedId(), event.getKind(), event.getDelta(), touched);
+        } catch (Exception e) {
+            log.warn("[Rec Delta] apply failed feed={}", event.getFeedId(), e);
+        }
+    }
+
+    @Async("recommendationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(FeedCreatedEvent event) {
+        if (event.getFeedId() == null || event.getWriterRegionId() == null) return;
+
+        try {
+            String regionName = userGroupService.getRegionNameById(event.getWriterRegionId());
+            // 좋아요/댓글 0 인 새 글이 배치에서 받을 점수: 신규 가중치 + 같은 지역 가산
+            double score = CBFRecommendationService.WEIGHT_NEW_FEED + CBFRecommendationService.WEIGHT_SAME_REGION;
+            long admitted = recommendationCacheService.admitNewFeed(event.getFeedId(), regionName, score);
+            log.debug("[Rec Admit] feed={}, region={}, groups={}", event.getFeedId(), regionName, admitted);
+        } catch (Exception e) {
+            log.warn("[Rec Admit] admit failed feed={}", event.getFeedId(), e);
+        }
+    }
+}
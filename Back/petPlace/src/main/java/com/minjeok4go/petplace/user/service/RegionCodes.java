@@ -0,0 +1,64 @@
+package com.minjeok4go.petplace.user.service;
+
+import com.minjeok4go.petplace.region.repository.RegionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 지역 id → 지역 코드 사전 (인스턴스 로컬, 불변 스냅샷).
+ *
+ * CBF 의 같은 지역 가산은 이름 기준이라 같은 이름의 지역 id 들을 하나의 코드(그중 가장 작은 id)로 정규화합니다.
+ * 배치(그룹 점수)와 조회 재랭크(FeedFeature.writerRegionCode / 내 지역) 모두 이 사전을 써야 같은 결과가 나옵니다.
+ * 지역 데이터는 거의 바뀌지 않으므로 기동 시 + 매일 배치(03:00) 전에 재로딩.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegionCodes {
+
+    private final RegionRepository regionRepository;
+
+    private volatile Map<Long, Long> codes = Map.of();
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    @Scheduled(cron = "0 50 2 * * *", zone = "Asia/Seoul")
+    public void reload() {
+        try {
+            Map<String, Long> canonical = new HashMap<>();
+            var rows = regionRepository.findAllIdNames();
+            for (RegionRepository.IdName r : rows) {
+                canonical.merge(r.getName(), r.getId(), Math::min);
+            }
+            Map<Long, Long> next = new HashMap<>(rows.size() * 2);
+            for (RegionRepository.IdName r : rows) {
+                next.put(r.getId(), canonical.get(r.getName()));
+            }
+            codes = Map.copyOf(next);
+            log.info("[Region] codes loaded regions={} names={}", next.size(), canonical.size());
+        } catch (Exception e) {
+            // 기존 스냅샷 유지
+            log.warn("[Region] codes reload failed", e);
+        }
+    }
+
+    /** 지역 코드, 지역이 없거나 사전에 없으면 {@link FeedScoringKernel#UNKNOWN_REGION} */
+    public long codeOf(Long regionId) {
+        if (regionId == null) return FeedScoringKernel.UNKNOWN_REGION;
+        return codes.getOrDefault(regionId, FeedScoringKernel.UNKNOWN_REGION);
+    }
+
+    /** 현재 스냅샷 (regionId → 코드, 불변) */
+    public Map<Long, Long> snapshot() {
+        return codes;
+    }
+}
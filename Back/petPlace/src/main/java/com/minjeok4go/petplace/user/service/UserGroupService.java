@@ -11,7 +11,10 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,19 +29,28 @@ public class UserGroupService {
 
     // 성능용(배치에서 region 캐시 리졸버 주입)
     public String determineGroupKey(User user, List<Pet> pets, Function<Long, String> regionResolver) {
-        int age = Period.between(user.getBirthday(), LocalDate.now()).getYears();
-        int ageGroup = (age / 10) * 10;
-        String gender = user.getGender().toString();
-
         String region = (regionResolver != null)
                 ? regionResolver.apply(user.getRegionId())
                 : getRegionNameById(user.getRegionId());
 
-        boolean hasPet = pets != null && !pets.isEmpty();
-        boolean hasDog = hasPet && pets.stream().anyMatch(p -> p.getAnimal() == Animal.DOG);
+        Set<Animal> animals = (pets == null) ? Set.of() : pets.stream()
+                .map(Pet::getAnimal)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return determineGroupKey(user.getBirthday(), user.getGender(), region, animals);
+    }
+
+    // 배치 스캔용(엔티티 없이 프로젝션 값만으로 그룹키 생성)
+    public String determineGroupKey(LocalDate birthday, String gender, String regionName, Set<Animal> animals) {
+        int age = Period.between(birthday, LocalDate.now()).getYears();
+        int ageGroup = (age / 10) * 10;
+
+        boolean hasPet = animals != null && !animals.isEmpty();
+        boolean hasDog = hasPet && animals.contains(Animal.DOG);
         String petStatus = hasDog ? "HASDOG" : hasPet ? "HASPET" : "NOPET";
 
-        return String.format("%d_%s_%s_%s", ageGroup, gender, region, petStatus);
+        return String.format("%d_%s_%s_%s", ageGroup, gender, regionName, petStatus);
     }
 
     public String getRegionNameById(Long regionId) {
@@ -0,0 +1,33 @@
+package com.minjeok4go.petplace.user.service;
+
+//(개인 CBF 프로필 - 재랭크 핫패스에서 읽기 전용으로 사용)
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @param tagIds  선호 태그 id (오름차순 정렬, 희소 벡터의 인덱스)
+ * @param weights tagIds[i] 의 선호 점수
+ * @param animals 보유 동물명 (Animal.name())
+ */
+public record UserProfileVector(long[] tagIds, double[] weights, Set<String> animals) {
+
+    public static final UserProfileVector EMPTY = new UserProfileVector(new long[0], new double[0], Set.of());
+
+    public boolean isEmpty() {
+        return tagIds.length == 0 && animals.isEmpty();
+    }
+
+    /** 태그 선호 점수 (없으면 0) - 정렬 배열 이진 탐색 */
+    public double weightOf(long tagId) {
+        int i = Arrays.binarySearch(tagIds, tagId);
+        return (i >= 0) ? weights[i] : 0.0;
+    }
+
+    public static UserProfileVector of(Map<Long, Double> tagScore, Set<String> animals) {
+        long[] ids = tagScore.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        double[] w = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) w[i] = tagScore.get(ids[i]);
+        return new UserProfileVector(ids, w, animals);
+    }
+}
@@ -0,0 +1,202 @@
+package com.minjeok4go.petplace.image.service;
+
+import com.minjeok4go.petplace.common.constant.RefType;
+import com.minjeok4go.petplace.image.dto.ImageRequest;
+import com.minjeok4go.petplace.image.dto.ImageSyncResult;
+import com.minjeok4go.petplace.image.repository.ImageRepository;
+import com.minjeok4go.petplace.image.repository.ImageRepository.ImageSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * syncImages 의 src 기준 diff (DB 없이 저장소 mock): 같은 src 여러 장은 sort 순서대로 하나씩 매칭
+ * createImages 의 JDBC 배치 바인딩 (sort 기본값)
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageServiceImplTest {
+
+    private static final RefType TYPE = RefType.FEED;
+    private static final Long REF_ID = 10L;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ImageServiceImpl imageService;
+    private final List<ImageRequest> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 배치 INSERT(JDBC) 는 가로채서 요청만 기록하고 id 는 900 부터 부여
+        imageService = spy(new ImageServiceImpl(imageRepository, jdbcTemplate));
+        lenient().doAnswer(inv -> {
+            List<ImageRequest> reqs = inv.getArgument(0);
+            inserted.addAll(reqs);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < reqs.size(); i++) ids.add(900L + i);
+            return ids;
+        }).when(imageService).createImages(anyList());
+    }
+
+    @Test
+    @DisplayName("같은 src 가 여러 장이면 기존 행을 sort 순서대로 재사용하고 sort 만 갱신")
+    void duplicateSrcsReuseRowsInSortOrder() {
+        existing(slot(1, "a", 0), slot(2, "a", 1), slot(3, "b", 2));
+        List<long[]> resorts = captureResorts();
+
+        ImageSyncResult result = imageService.syncImages(TYPE, REF_ID, List.of(req("a"), req("b"), req("a")));
+
+        // a@0 → 1 (그대로), b@1 → 3 (2 → 1), a@2 → 2 (1 → 2)
+        assertThat(inserted).isEmpty();
+        assertThat(result.getAddedIds()).isEmpty();
+        assertThat(result.getRemovedIds()).isEmpty();
+        assertThat(result.getResorted()).isEqualTo(2);
+        assertThat(resorts).containsExactly(new long[]{3, 1}, new long[]{2, 2});
+        verify(imageRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("요청의 같은 src 가 기존보다 많으면 남는 만큼만 INSERT")
+    void extraDuplicateIsInserted() {
+        existing(slot(1, "a", 0));
+
+        ImageSyncResult result = imageService.syncImages(TYPE, REF_ID, List.of(req("a"), req("a")));
+
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getSrc()).isEqualTo("a");
+        assertThat(inserted.get(0).getSort()).isEqualTo(1);
+        assertThat(inserted.get(0).getRefId()).isEqualTo(REF_ID);
+        assertThat(inserted.get(0).getRefType()).isEqualTo(TYPE);
+        assertThat(result.getAddedIds()).containsExactly(900L);
+        assertThat(result.getRemovedIds()).isEmpty();
+        assertThat(result.getResorted()).isZero();
+        assertThat(result.isChanged()).isTrue();
+    }
+
+    @Test
+    @DisplayName("요청의 같은 src 가 기존보다 적으면 뒤쪽 행만 삭제")
+    void missingDuplicateIsDeleted() {
+        existing(slot(1, "a", 0), slot(2, "a", 1), slot(3, "b", 2));
+
+        ImageSyncResult result = imageService.syncImages(TYPE, REF_ID, List.of(req("a"), req("b")));
+
+        assertThat(inserted).isEmpty();
+        assertThat(result.getRemovedIds()).containsExactly(2L);
+        verify(imageRepository).deleteAllByIdInBatch(List.of(2L));
+        // b 는 2 → 1 로 재정렬
+        assertThat(result.getResorted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 쓰기 없음")
+    void unchangedListWritesNothing() {
+        existing(slot(1, "a", 0), slot(2, "b", 1));
+
+        ImageSyncResult result = imageService.syncImages(TYPE, REF_ID, List.of(req("a"), req("b")));
+
+        assertThat(result.isChanged()).isFalse();
+        verify(imageRepository, never()).deleteAllByIdInBatch(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("createImages: sort 가 비어 있으면 요청 순서로 저장 (NPE 없음)")
+    void createImagesDefaultsNullSortToIndex() throws Exception {
+        Connection con = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet keys = mock(ResultSet.class);
+        when(con.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(ps);
+        when(ps.getGeneratedKeys()).thenReturn(keys);
+        when(keys.next()).thenReturn(true, true, true, false);
+        when(keys.getLong(1)).thenReturn(900L, 901L, 902L);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> inv.<ConnectionCallback<?>>getArgument(0).doInConnection(con));
+
+        // spy 가 아닌 실제 구현으로 JDBC 배치 경로 실행
+        List<Long> ids = new ImageServiceImpl(imageRepository, jdbcTemplate).createImages(List.of(
+                ImageRequest.builder().refId(REF_ID).refType(TYPE).src("a").build(),
+                ImageRequest.builder().refId(REF_ID).refType(TYPE).src("b").sort(5).build(),
+                ImageRequest.builder().refId(REF_ID).refType(TYPE).src("c").build()));
+
+        assertThat(ids).containsExactly(900L, 901L, 902L);
+        InOrder order = inOrder(ps);
+        order.verify(ps).setInt(4, 0);
+        order.verify(ps).setInt(4, 5);
+        order.verify(ps).setInt(4, 2);
+        verify(ps, times(3)).addBatch();
+    }
+
+    @Test
+    @DisplayName("src 가 비어 있으면 예외")
+    void blankSrcRejected() {
+        existing();
+
+        assertThatThrownBy(() -> imageService.syncImages(TYPE, REF_ID, List.of(req(" "))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void existing(ImageSlot... slots) {
+        when(imageRepository.findSlotsByRef(TYPE, REF_ID)).thenReturn(Arrays.asList(slots));
+    }
+
+    // UPDATE images SET sort 배치에 넘어간 {id, sort} 기록
+    private List<long[]> captureResorts() {
+        List<long[]> out = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    Collection<long[]> rows = inv.getArgument(1);
+                    out.addAll(rows);
+                    return new int[0][];
+                });
+        return out;
+    }
+
+    private static ImageRequest req(String src) {
+        return ImageRequest.builder().src(src).build(); // sort 생략 → 요청 순서
+    }
+
+    private static ImageSlot slot(long id, String src, int sort) {
+        return new ImageSlot() {
+            @Override public Long getId() { return id; }
+            @Override public String getSrc() { return src; }
+            @Override public Integer getSort() { return sort; }
+        };
+    }
+}
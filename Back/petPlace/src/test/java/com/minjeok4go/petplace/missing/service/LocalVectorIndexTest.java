@@ -0,0 +1,163 @@
+package com.minjeok4go.petplace.missing.service;
+
+import com.minjeok4go.petplace.missing.service.LocalVectorIndex.Hit;
+import com.minjeok4go.petplace.missing.service.LocalVectorIndex.Partition;
+import com.minjeok4go.petplace.missing.service.LocalVectorIndex.Vectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.minjeok4go.petplace.missing.service.LocalVectorIndex.DIM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 로컬 벡터 인덱스 순수 로직 (DB 없이): 파티션 점수/상위 k, 배열 확장/제거, float32 LE 변환
+ */
+class LocalVectorIndexTest {
+
+    private static final double EPS = 1e-6;
+
+    @Test
+    @DisplayName("top-k 는 wFace 가중 점수 내림차순, k 개까지만")
+    void topKOrdersByWeightedScore() {
+        Partition p = new Partition();
+        p.add(vectors(1, unit(0), unit(1)));   // 몸통만 일치 → 1 - wFace
+        p.add(vectors(2, unit(1), unit(0)));   // 얼굴만 일치 → wFace
+        p.add(vectors(3, unit(0), unit(0)));   // 둘 다 일치 → 1
+        p.add(vectors(4, unit(2), unit(2)));   // 불일치 → 0
+
+        List<Hit> hits = p.topK(unit(0), unit(0), 0.6, 3, null);
+
+        assertThat(hits).extracting(Hit::imageId).containsExactly(3L, 2L, 1L);
+        assertThat(hits.get(0).score()).isCloseTo(1.0, within(EPS));
+        assertThat(hits.get(1).score()).isCloseTo(0.6, within(EPS));
+        assertThat(hits.get(2).score()).isCloseTo(0.4, within(EPS));
+    }
+
+    @Test
+    @DisplayName("allowIds 를 주면 그 이미지들만 계산하고 없는 id 는 무시")
+    void topKRestrictedToAllowIds() {
+        Partition p = new Partition();
+        p.add(vectors(1, unit(0), unit(0)));
+        p.add(vectors(2, unit(0), unit(1)));
+        p.add(vectors(3, unit(5), unit(5)));
+
+        List<Hit> hits = p.topK(unit(0), unit(0), 0.6, 10, Set.of(2L, 3L, 999L));
+
+        assertThat(hits).extracting(Hit::imageId).containsExactly(2L, 3L);
+        assertThat(hits.get(0).score()).isCloseTo(0.4, within(EPS));
+        assertThat(hits.get(1).score()).isCloseTo(0.0, within(EPS));
+        assertThat(p.topK(unit(0), unit(0), 0.6, 10, Set.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("초기 용량(256) 을 넘겨도 앞뒤 행의 벡터 위치가 유지됨")
+    void growsPastInitialCapacity() {
+        Partition p = new Partition();
+        int n = 300;
+        for (int i = 0; i < n; i++) {
+            p.add(vectors(1000 + i, unit(i), unit(i)));
+        }
+        p.add(vectors(1000, unit(7), unit(7))); // 같은 이미지 재추가는 무시
+
+        assertThat(p.size()).isEqualTo(n);
+        for (int i : new int[]{0, 255, 256, n - 1}) {
+            List<Hit> hits = p.topK(unit(i), unit(i), 0.6, 1, null);
+            assertThat(hits).hasSize(1);
+            assertThat(hits.get(0).imageId()).isEqualTo(1000L + i);
+            assertThat(hits.get(0).score()).isCloseTo(1.0, within(EPS));
+        }
+        // 위치 인덱스 경로도 확장 후 같은 행을 가리킴
+        List<Hit> allowed = p.topK(unit(280), unit(280), 0.6, 1, Set.of(1280L, 1003L));
+        assertThat(allowed).extracting(Hit::imageId).containsExactly(1280L);
+    }
+
+    @Test
+    @DisplayName("제거하면 마지막 행이 빈 자리로 옮겨지고 위치 인덱스도 따라감")
+    void removeMovesLastRowIntoHole() {
+        Partition p = new Partition();
+        for (int i = 0; i < 4; i++) p.add(vectors(10 + i, unit(i), unit(i)));
+
+        assertThat(p.removeAll(List.of(11L, 99L))).isEqualTo(1);
+
+        assertThat(p.size()).isEqualTo(3);
+        assertThat(p.topK(unit(1), unit(1), 0.6, 3, null)).extracting(Hit::imageId).doesNotContain(11L);
+        // 13 은 1번 자리로 이동 → 전체 스캔 / allowIds 경로 모두 같은 벡터
+        assertThat(p.topK(unit(3), unit(3), 0.6, 1, null).get(0).imageId()).isEqualTo(13L);
+        assertThat(p.topK(unit(3), unit(3), 0.6, 1, Set.of(13L)).get(0).score()).isCloseTo(1.0, within(EPS));
+        // 제거 후 다시 추가 가능
+        p.add(vectors(11, unit(1), unit(1)));
+        assertThat(p.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("점수는 전 차원 내적 (4 누산기 분할에서 빠지는 차원 없음)")
+    void scoreCoversAllDimensions() {
+        Random rnd = new Random(7);
+        float[] body = random(rnd);
+        float[] face = random(rnd);
+        float[] qBody = random(rnd);
+        float[] qFace = random(rnd);
+        Partition p = new Partition();
+        p.add(vectors(1, body, face));
+
+        double expected = 0.3 * dot(qFace, face) + 0.7 * dot(qBody, body);
+
+        assertThat(p.topK(qBody, qFace, 0.3, 1, null).get(0).score()).isCloseTo(expected, within(1e-3));
+    }
+
+    @Test
+    @DisplayName("float32 little-endian 바이트 변환 왕복")
+    void bytesRoundTrip() {
+        float[] v = random(new Random(42));
+        v[0] = 1.0f;
+
+        byte[] bytes = ImageEmbeddingStore.toBytes(v);
+
+        assertThat(bytes).hasSize(DIM * Float.BYTES);
+        // 1.0f = 0x3F800000 → LE 순서 00 00 80 3F
+        assertThat(bytes[0]).isEqualTo((byte) 0x00);
+        assertThat(bytes[1]).isEqualTo((byte) 0x00);
+        assertThat(bytes[2]).isEqualTo((byte) 0x80);
+        assertThat(bytes[3]).isEqualTo((byte) 0x3F);
+        assertThat(ImageEmbeddingStore.fromBytes(bytes)).containsExactly(v);
+    }
+
+    @Test
+    @DisplayName("유사도 서비스 응답(base64) 디코드, 비어 있으면 null")
+    void decodeBase64() {
+        float[] v = random(new Random(3));
+        String b64 = Base64.getEncoder().encodeToString(ImageEmbeddingStore.toBytes(v));
+
+        assertThat(LocalVectorIndex.decode(b64)).containsExactly(v);
+        assertThat(LocalVectorIndex.decode(null)).isNull();
+        assertThat(LocalVectorIndex.decode("")).isNull();
+    }
+
+    private static Vectors vectors(long imageId, float[] body, float[] face) {
+        return new Vectors(imageId, "dog", body, face);
+    }
+
+    private static float[] unit(int k) {
+        float[] v = new float[DIM];
+        v[k] = 1f;
+        return v;
+    }
+
+    private static float[] random(Random rnd) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = (float) rnd.nextGaussian();
+        return v;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double s = 0;
+        for (int i = 0; i < DIM; i++) s += (double) a[i] * b[i];
+        return s;
+    }
+}
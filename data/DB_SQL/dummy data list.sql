@@ -206,6 +206,7 @@ INSERT INTO `tags` (`name`) VALUES
 ('유치원'), ('캣타워'), ('펫시터'), ('입양'), ('보험'),
 ('장난감'), ('케어'), ('리드줄'), ('하네스'), ('이동장'), ('실종');
 
+-- feed_created_at 은 아래 UPDATE 로 feeds.created_at 과 맞춤
 INSERT INTO `feed_tags` (`feed_id`, `tag_id`) VALUES
 (1, 1), (1, 9), (1, 11),
 (2, 1), (2, 6),
@@ -258,6 +259,8 @@ INSERT INTO `feed_tags` (`feed_id`, `tag_id`) VALUES
 (49, 5), (49, 9), (49, 11),
 (50, 5), (50, 16);
 
+UPDATE `feed_tags` ft JOIN `feeds` f ON f.`id` = ft.`feed_id` SET ft.`feed_created_at` = f.`created_at`;
+
 -- 1) feed_id별 선택 횟수 집계
 UPDATE feeds AS f
 JOIN (
@@ -269,4 +272,16 @@ JOIN (
 ) AS a ON f.id = a.feed_id
 SET f.likes = f.likes + a.cnt;
 
+-- 2) feed_id별 살아있는 댓글 수 (comment_count 비정규화 컬럼)
+UPDATE feeds AS f
+JOIN (
+  SELECT
+    feed_id,
+    COUNT(*) AS cnt
+  FROM comments
+  WHERE deleted_at IS NULL
+  GROUP BY feed_id
+) AS c ON f.id = c.feed_id
+SET f.comment_count = c.cnt;
+
 commit;
\ No newline at end of file
@@ -299,9 +299,16 @@ CREATE TABLE `feeds` (
     `deleted_at` DATETIME NULL,
     `likes` INT NOT NULL DEFAULT 0,
     `views` INT NOT NULL DEFAULT 0,
+    `comment_count` INT NOT NULL DEFAULT 0, -- 살아있는 댓글 수 (비정규화, CommentCountService 가 유지/보정)
     PRIMARY KEY (`id`),
     FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
-    FOREIGN KEY (`region_id`) REFERENCES `regions`(`id`)
+    FOREIGN KEY (`region_id`) REFERENCES `regions`(`id`),
+    KEY `idx_feeds_deleted_likes` (`deleted_at`, `likes`), -- 추천 후보: 삭제 제외 인기순
+    -- 타임라인 keyset (created_at, id) 페이지네이션
+    KEY `idx_feeds_deleted_created` (`deleted_at`, `created_at`, `id`),
+    KEY `idx_feeds_region_deleted_created` (`region_id`, `deleted_at`, `created_at`, `id`),
+    KEY `idx_feeds_category_deleted_created` (`category`, `deleted_at`, `created_at`, `id`),
+    KEY `idx_feeds_region_category_deleted_created` (`region_id`, `category`, `deleted_at`, `created_at`, `id`)
 );
 
 -- ✅ Comment
@@ -317,6 +324,8 @@ CREATE TABLE `comments` (
     `updated_at` DATETIME NULL,
     `deleted_at` DATETIME NULL,
     PRIMARY KEY (`id`),
+    KEY `idx_comments_feed_deleted_id` (`feed_id`, `deleted_at`, `id`), -- 피드 댓글 트리 단일 조회
+    KEY `idx_comments_feed_parent_deleted_id` (`feed_id`, `parent_comment_id`, `deleted_at`, `id`), -- 최상위 댓글 미리보기/페이지
     FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
     FOREIGN KEY (`feed_id`) REFERENCES `feeds`(`id`) ON DELETE CASCADE,
     FOREIGN KEY (`parent_comment_id`) REFERENCES `comments`(`id`) ON DELETE CASCADE
@@ -395,7 +404,8 @@ CREATE TABLE `images` (
     `src` VARCHAR(500) NOT NULL,
     `sort` INT NOT NULL,
     `created_at` DATETIME NOT NULL DEFAULT NOW(),
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `idx_images_ref_sort` (`ref_type`, `ref_id`, `sort`)
 );
 
 
@@ -473,9 +483,12 @@ CREATE TABLE `tags` (
 CREATE TABLE `feed_tags` (
     `feed_id` BIGINT NOT NULL,
     `tag_id` BIGINT NOT NULL,
+    `feed_created_at` DATETIME NOT NULL DEFAULT NOW(), -- feeds.created_at 비정규화 (태그 타임라인 정렬용)
     PRIMARY KEY (`feed_id`, `tag_id`),
     FOREIGN KEY (`feed_id`) REFERENCES `feeds`(`id`) ON DELETE CASCADE,
-    FOREIGN KEY (`tag_id`) REFERENCES `tags`(`id`) ON DELETE CASCADE
+    FOREIGN KEY (`tag_id`) REFERENCES `tags`(`id`) ON DELETE CASCADE,
+    -- 태그 타임라인 keyset (feed_created_at, feed_id): 인덱스 역순 스캔으로 filesort 없이 LIMIT 만큼만 읽음
+    KEY `idx_feed_tags_tag_created` (`tag_id`, `feed_created_at`, `feed_id`)
 );
 
 -- ✅ Introduction
@@ -813,7 +826,8 @@ CREATE TABLE `missing_reports` (
     PRIMARY KEY (`id`),
     FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
     FOREIGN KEY (`pet_id`) REFERENCES `pets`(`id`) ON DELETE CASCADE,
-    FOREIGN KEY (`region_id`) REFERENCES `regions`(`id`)
+    FOREIGN KEY (`region_id`) REFERENCES `regions`(`id`),
+    INDEX `idx_missing_reports_status_geo` (`status`, `latitude`, `longitude`)
 ) COMMENT '반려동물 실종 신고 정보';
 
 
@@ -841,7 +855,7 @@ CREATE TABLE `sighting_matches` (
     `sighting_id` BIGINT NOT NULL COMMENT '목격 제보 ID',
     `missing_report_id` BIGINT NOT NULL COMMENT '연결된 실종 신고 ID',
 	`image_id` BIGINT NULL COMMENT '매칭에 사용된 실종신고 이미지 ID(선택)',
-    `score` DECIMAL(5, 4) NOT NULL COMMENT '모델이 계산한 유사도 점수 (0.0000 ~ 1.0000)',
+    `score` DECIMAL(5, 4) NOT NULL COMMENT '매칭 점수: 모델 유사도 × 거리/시간 감쇠 (0.0000 ~ 1.0000)',
     `status` ENUM('PENDING', 'CONFIRMED', 'REJECTED') NOT NULL DEFAULT 'PENDING' COMMENT '매칭 상태 (대기, 주인 확인, 관계 없음)',
     `created_at` DATETIME NOT NULL DEFAULT NOW() COMMENT '매칭 생성일시',
     PRIMARY KEY (`id`),
@@ -895,4 +909,38 @@ CREATE TABLE `notification` (
   KEY `idx_noti_type_target` (`type`, `target_user_id`)
 );
 
+-- AI 인덱싱/목격 매칭 작업 큐 (신고/제보와 같은 트랜잭션에서 등록, 워커가 재시도)
+CREATE TABLE `ai_jobs` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `type` ENUM('INDEX_REPORT', 'SEARCH_SIGHTING', 'DEINDEX_IMAGES') NOT NULL,
+  `ref_id` BIGINT NOT NULL COMMENT '실종 신고 ID 또는 목격 제보 ID',
+  `payload_json` JSON NOT NULL,
+  `status` ENUM('PENDING', 'RUNNING', 'DONE', 'DEAD') NOT NULL DEFAULT 'PENDING',
+  `attempts` INT NOT NULL DEFAULT 0,
+  `next_run_at` DATETIME NOT NULL DEFAULT NOW() COMMENT '다음 실행 가능 시각 (재시도 백오프)',
+  `locked_until` DATETIME NULL COMMENT 'RUNNING 임대 만료 시각',
+  `last_error` VARCHAR(500) NULL,
+  `created_at` DATETIME NOT NULL DEFAULT NOW(),
+  `updated_at` DATETIME NOT NULL DEFAULT NOW() ON UPDATE NOW(),
+
+  PRIMARY KEY (`id`),
+  KEY `idx_ai_jobs_status_next` (`status`, `next_run_at`),
+  KEY `idx_ai_jobs_type_ref` (`type`, `ref_id`)
+) COMMENT 'AI 작업 큐';
+
+-- 실종 신고 이미지 임베딩 (유사도 서비스 인덱싱 결과, 백엔드 로컬 검색용)
+CREATE TABLE `image_embeddings` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '적재 순번 (인스턴스 간 증분 동기화 기준)',
+  `image_id` BIGINT NOT NULL,
+  `species` VARCHAR(10) NOT NULL COMMENT 'dog | cat',
+  `body_vec` VARBINARY(2048) NOT NULL COMMENT '몸통 임베딩 512 x float32 LE',
+  `face_vec` VARBINARY(2048) NOT NULL COMMENT '얼굴 임베딩 512 x float32 LE',
+  `created_at` DATETIME NOT NULL DEFAULT NOW(),
+
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uq_image_embeddings_image` (`image_id`),
+  CONSTRAINT `fk_image_embeddings_image`
+    FOREIGN KEY (`image_id`) REFERENCES `images`(`id`) ON DELETE CASCADE
+) COMMENT '이미지 임베딩';
+
 COMMIT;
\ No newline at end of file